@@ -0,0 +1,154 @@
+package dev.aledlb;
+
+import org.bukkit.Bukkit;
+import org.bukkit.Server;
+import org.bukkit.command.SimpleCommandMap;
+import org.bukkit.entity.Player;
+import org.bukkit.permissions.PermissibleBase;
+import org.bukkit.permissions.Permission;
+import org.bukkit.permissions.PermissionAttachment;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.plugin.SimplePluginManager;
+import org.bukkit.scheduler.BukkitScheduler;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Proxy;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Shared fixtures for the JMH benchmarks: a mocked server and cheap players.
+ * Players are plain proxies rather than Mockito mocks so that stubbing
+ * overhead does not show up in the measured code paths.
+ */
+public final class BenchmarkSupport {
+
+    private BenchmarkSupport() {
+    }
+
+    /**
+     * Installs a mocked server once per JVM.
+     * Permission lookups go through a real {@link SimplePluginManager}.
+     * @return The server.
+     */
+    public static synchronized Server installServer() {
+        if (Bukkit.getServer() == null) {
+            Server server = mock(Server.class);
+            when(server.getLogger()).thenReturn(java.util.logging.Logger.getLogger("Core"));
+            when(server.getScheduler()).thenReturn(mock(BukkitScheduler.class));
+            when(server.getBukkitVersion()).thenReturn("1.17.1-R0.1-SNAPSHOT");
+            when(server.getPluginManager()).thenReturn(new SimplePluginManager(server, new SimpleCommandMap(server)));
+            Bukkit.setServer(server);
+        }
+        return Bukkit.getServer();
+    }
+
+    /**
+     * Creates a player that answers identity calls and nothing else.
+     * @param uuid The player's UUID.
+     * @param name The player's name, also used as display name.
+     * @return The player.
+     */
+    public static Player player(UUID uuid, String name) {
+        return player(uuid, name, Collections.emptyMap());
+    }
+
+    /**
+     * Creates a player whose attachments and permission checks go through a real {@link PermissibleBase}.
+     * @param uuid The player's UUID.
+     * @param name The player's name, also used as display name.
+     * @return The player.
+     */
+    public static Player permissiblePlayer(UUID uuid, String name) {
+        PermissibleBase[] base = new PermissibleBase[1];
+        Map<String, InvocationHandler> handlers = new HashMap<>();
+        handlers.put("addAttachment", (proxy, method, args) -> base[0].addAttachment((Plugin) args[0]));
+        handlers.put("removeAttachment", (proxy, method, args) -> {
+            base[0].removeAttachment((PermissionAttachment) args[0]);
+            return null;
+        });
+        handlers.put("recalculatePermissions", (proxy, method, args) -> {
+            base[0].recalculatePermissions();
+            return null;
+        });
+        handlers.put("hasPermission", (proxy, method, args) -> args[0] instanceof String
+                ? base[0].hasPermission((String) args[0])
+                : base[0].hasPermission((Permission) args[0]));
+        handlers.put("getEffectivePermissions", (proxy, method, args) -> base[0].getEffectivePermissions());
+        Player player = player(uuid, name, handlers);
+        base[0] = new PermissibleBase(player);
+        return player;
+    }
+
+    /**
+     * Creates a player that answers identity calls plus the given methods.
+     * Methods not listed return null, false or zero.
+     * @param uuid The player's UUID.
+     * @param name The player's name, also used as display name.
+     * @param handlers Extra method handlers by method name.
+     * @return The player.
+     */
+    public static Player player(UUID uuid, String name, Map<String, InvocationHandler> handlers) {
+        return (Player) Proxy.newProxyInstance(Player.class.getClassLoader(), new Class<?>[]{Player.class},
+                (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "getUniqueId":
+                            return uuid;
+                        case "getName":
+                        case "getDisplayName":
+                            return name;
+                        case "hashCode":
+                            return uuid.hashCode();
+                        case "equals":
+                            return proxy == args[0];
+                        case "toString":
+                            return name;
+                        default:
+                            break;
+                    }
+                    InvocationHandler handler = handlers.get(method.getName());
+                    if (handler != null) {
+                        return handler.invoke(proxy, method, args);
+                    }
+                    return defaultValue(method.getReturnType());
+                });
+    }
+
+    /**
+     * Gets the zero value of a return type.
+     * @param type The type.
+     * @return null for reference types and void, otherwise the primitive zero.
+     */
+    private static Object defaultValue(Class<?> type) {
+        if (!type.isPrimitive() || type == void.class) {
+            return null;
+        }
+        if (type == boolean.class) {
+            return false;
+        }
+        if (type == long.class) {
+            return 0L;
+        }
+        if (type == double.class) {
+            return 0.0;
+        }
+        if (type == float.class) {
+            return 0.0f;
+        }
+        if (type == char.class) {
+            return '\0';
+        }
+        if (type == short.class) {
+            return (short) 0;
+        }
+        if (type == byte.class) {
+            return (byte) 0;
+        }
+        return 0;
+    }
+}
@@ -0,0 +1,112 @@
+package dev.aledlb.features.chat;
+
+import dev.aledlb.BenchmarkSupport;
+import dev.aledlb.Core;
+import dev.aledlb.utilities.ConfigManager;
+import dev.aledlb.utilities.PermissionManager;
+import dev.aledlb.utilities.PermissionStore;
+import dev.aledlb.utilities.Settings;
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.bukkit.entity.Player;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.nio.file.Files;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Measures the per-message cost of chat formatting. One operation is one
+ * chat message from the next player in a rotating pool, so at 200 messages
+ * per second the formatter spends 200 times the reported time each second.
+ * {@code cached} is the steady state, {@code afterInvalidate} the worst case
+ * where every message follows a permission change, and {@code legacy} the
+ * config read and two String.replace calls the formatter replaced.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ChatFormatterBenchmark {
+    private static final String FORMAT = "&7[%prefix%&7] %player%&8: &f%message%";
+
+    @Param({"50", "200"})
+    public int players;
+
+    private YamlConfiguration config;
+    private PermissionStore store;
+    private ChatFormatter formatter;
+    private Player[] online;
+    private int next;
+
+    @Setup
+    public void setUp() throws Exception {
+        BenchmarkSupport.installServer();
+        config = new YamlConfiguration();
+        config.set("chat-format", FORMAT);
+
+        store = new PermissionStore(Files.createTempDirectory("chat-formatter-bench").toFile(), 100_000);
+        store.load(new YamlConfiguration());
+        store.createGroup("member");
+        store.setGroupPrefix("member", "&a Member");
+
+        online = new Player[players];
+        for (int i = 0; i < players; i++) {
+            UUID uuid = UUID.randomUUID();
+            String name = "Player" + i;
+            store.addUserGroup(uuid, name, "member");
+            online[i] = BenchmarkSupport.player(uuid, name);
+        }
+
+        ConfigManager configManager = mock(ConfigManager.class);
+        when(configManager.getSettings()).thenReturn(Settings.from(config));
+        PermissionManager permissionManager = mock(PermissionManager.class);
+        when(permissionManager.getStore()).thenReturn(store);
+        Core plugin = mock(Core.class);
+        when(plugin.getConfigManager()).thenReturn(configManager);
+        when(plugin.getPermissionManager()).thenReturn(permissionManager);
+        formatter = new ChatFormatter(plugin);
+    }
+
+    @TearDown
+    public void tearDown() {
+        store.shutdown();
+    }
+
+    @Benchmark
+    public String cached() {
+        return formatter.getFormat(nextPlayer());
+    }
+
+    @Benchmark
+    public String afterInvalidate() {
+        Player player = nextPlayer();
+        formatter.invalidate(player.getUniqueId());
+        return formatter.getFormat(player);
+    }
+
+    @Benchmark
+    public String legacy() {
+        Player player = nextPlayer();
+        String format = config.getString("chat-format", "<%player%> %message%");
+        format = format.replace("%player%", player.getDisplayName());
+        format = format.replace("%message%", "%s");
+        return format;
+    }
+
+    private Player nextPlayer() {
+        if (++next == online.length) {
+            next = 0;
+        }
+        return online[next];
+    }
+}
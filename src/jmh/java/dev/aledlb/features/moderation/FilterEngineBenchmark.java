@@ -0,0 +1,110 @@
+package dev.aledlb.features.moderation;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * Compares {@link FilterEngine} with the loop it replaced: {@code matches()}
+ * on every rule pattern in order. The rule set mixes word lists and plain
+ * regexes; most messages are clean, as in real chat, so the sequential loop
+ * has to try every rule.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class FilterEngineBenchmark {
+    private static final String[] CHAT = {
+            "hey does anyone want to trade diamonds for iron",
+            "gg that was a close one",
+            "where is the spawn shop again",
+            "lol",
+            "can someone tp me to the nether hub please",
+            "selling 64 oak logs at the market, msg me"
+    };
+
+    @Param({"20", "100", "400"})
+    public int rules;
+
+    private FilterEngine engine;
+    private Pattern[] sequential;
+    private String[] messages;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        List<String> patterns = new ArrayList<>(rules);
+        for (int rule = 0; rule < rules; rule++) {
+            if (rule % 4 == 3) {
+                patterns.add(".*" + word(random) + "[0-9]{2,}.*");
+            } else {
+                StringBuilder words = new StringBuilder();
+                for (int i = 0; i < 8; i++) {
+                    words.append(i == 0 ? "" : "|").append(word(random));
+                }
+                patterns.add("(?i).*\\b(" + words + ")\\b.*");
+            }
+        }
+
+        engine = new FilterEngine(patterns, false);
+        sequential = new Pattern[patterns.size()];
+        for (int i = 0; i < sequential.length; i++) {
+            sequential[i] = Pattern.compile(patterns.get(i));
+        }
+
+        // One message in ten contains a listed word
+        messages = new String[64];
+        for (int i = 0; i < messages.length; i++) {
+            String message = CHAT[i % CHAT.length];
+            if (i % 10 == 0) {
+                String hit = patterns.get(random.nextInt(patterns.size()));
+                int start = hit.indexOf("\\b(");
+                if (start >= 0) {
+                    message = message + " " + hit.substring(start + 3, hit.indexOf('|', start));
+                }
+            }
+            messages[i] = message;
+        }
+    }
+
+    @Benchmark
+    public int engine() {
+        return engine.match(nextMessage());
+    }
+
+    @Benchmark
+    public int sequentialMatches() {
+        String message = nextMessage();
+        for (int i = 0; i < sequential.length; i++) {
+            if (sequential[i].matcher(message).matches()) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private String nextMessage() {
+        next = (next + 1) & (messages.length - 1);
+        return messages[next];
+    }
+
+    private static String word(Random random) {
+        char[] letters = new char[4 + random.nextInt(4)];
+        for (int i = 0; i < letters.length; i++) {
+            letters[i] = (char) ('a' + random.nextInt(26));
+        }
+        return new String(letters);
+    }
+}
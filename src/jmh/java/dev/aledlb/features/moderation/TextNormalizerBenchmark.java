@@ -0,0 +1,68 @@
+package dev.aledlb.features.moderation;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures what chat-filter.normalize adds to a message check: the
+ * {@link TextNormalizer} pass on its own, and a word-list match with and
+ * without normalization. Run with {@code -prof gc} to see allocations per call.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class TextNormalizerBenchmark {
+    private static final String[] MESSAGES = {
+            "hey does anyone want to trade diamonds for iron",
+            "gg that was a close one",
+            "y0u 4r3 s0 b.a.d at th1s",
+            "ÁccÉnted ｆｕｌｌ wiiiidth text",
+            "heeellooo   everyone!!",
+            "selling 64 oak logs at the market, msg me",
+            "can someone tp me to the nether hub please",
+            "lol"
+    };
+
+    private FilterEngine raw;
+    private FilterEngine normalized;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        List<String> patterns = new ArrayList<>();
+        patterns.add("(?i).*\\b(bad|worse|worst|awful|terrible|horrible)\\b.*");
+        patterns.add("(?i).*\\b(spam|scam|free stuff|click here)\\b.*");
+        patterns.add("(?i).*\\b(noob|n00b|trash|garbage)\\b.*");
+        raw = new FilterEngine(patterns, false);
+        normalized = new FilterEngine(patterns, true);
+    }
+
+    @Benchmark
+    public int normalize() {
+        return TextNormalizer.normalize(nextMessage()).length();
+    }
+
+    @Benchmark
+    public int matchRaw() {
+        return raw.match(nextMessage());
+    }
+
+    @Benchmark
+    public int matchNormalized() {
+        return normalized.match(nextMessage());
+    }
+
+    private String nextMessage() {
+        next = (next + 1) & (MESSAGES.length - 1);
+        return MESSAGES[next];
+    }
+}
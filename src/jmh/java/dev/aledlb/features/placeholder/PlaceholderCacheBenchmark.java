@@ -0,0 +1,174 @@
+package dev.aledlb.features.placeholder;
+
+import dev.aledlb.BenchmarkSupport;
+import dev.aledlb.Core;
+import dev.aledlb.features.chat.ChatFormatter;
+import dev.aledlb.features.player.PlayerData;
+import dev.aledlb.features.player.PlayerDataManager;
+import dev.aledlb.utilities.ConfigManager;
+import dev.aledlb.utilities.PermissionManager;
+import dev.aledlb.utilities.PermissionStore;
+import dev.aledlb.utilities.Settings;
+import org.bukkit.Bukkit;
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.bukkit.entity.Player;
+import org.bukkit.plugin.java.JavaPlugin;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+/**
+ * Measures placeholder requests as a scoreboard or tab plugin issues them.
+ * One operation is one placeholder request; each player in turn asks for
+ * prefix, group, kills, deaths, kdr and playtime. At 10k requests per
+ * second the cache spends 10,000 times the reported time each second. {@code cached} is the steady state, {@code statsChanging} bumps a
+ * kill counter on every request so statistics are reformatted each time,
+ * and {@code uncached} resolves every value from scratch as a cache miss does.
+ * Core is a Mockito mock, so every case also pays for one or two stubbed calls.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class PlaceholderCacheBenchmark {
+    private static final int PLACEHOLDERS = 6;
+
+    @Param({"100", "500"})
+    public int players;
+
+    private PermissionStore store;
+    private PlayerDataManager dataManager;
+    private ChatFormatter formatter;
+    private PlaceholderCache cache;
+    private Player[] online;
+    private int requests;
+    private Player player;
+    private int placeholder;
+
+    @Setup
+    public void setUp() throws Exception {
+        BenchmarkSupport.installServer();
+        File folder = Files.createTempDirectory("placeholder-bench").toFile();
+
+        store = new PermissionStore(new File(folder, "permissions"), 100_000);
+        store.load(new YamlConfiguration());
+        store.createGroup("member");
+        store.setGroupPrefix("member", "&a[Member]");
+
+        JavaPlugin dataPlugin = mock(JavaPlugin.class);
+        when(dataPlugin.getDataFolder()).thenReturn(folder);
+        when(dataPlugin.getConfig()).thenReturn(new YamlConfiguration());
+        when(dataPlugin.getServer()).thenReturn(Bukkit.getServer());
+        dataManager = new PlayerDataManager(dataPlugin);
+
+        ConfigManager configManager = mock(ConfigManager.class);
+        when(configManager.getSettings()).thenReturn(Settings.from(new YamlConfiguration()));
+        PermissionManager permissionManager = mock(PermissionManager.class);
+        when(permissionManager.getStore()).thenReturn(store);
+        Core plugin = mock(Core.class, withSettings().stubOnly());
+        when(plugin.getConfigManager()).thenReturn(configManager);
+        when(plugin.getPermissionManager()).thenReturn(permissionManager);
+        when(plugin.getPlayerDataManager()).thenReturn(dataManager);
+        formatter = new ChatFormatter(plugin);
+        when(plugin.getChatFormatter()).thenReturn(formatter);
+        cache = new PlaceholderCache(plugin);
+
+        online = new Player[players];
+        for (int i = 0; i < players; i++) {
+            UUID uuid = UUID.randomUUID();
+            String name = "Player" + i;
+            store.addUserGroup(uuid, name, "member");
+            PlayerData data = dataManager.getPlayerData(uuid);
+            data.setKills(i * 3);
+            data.setDeaths(i);
+            data.setPlaytime(i * 3_600_000L);
+            online[i] = BenchmarkSupport.player(uuid, name);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        dataManager.shutdown();
+        store.shutdown();
+    }
+
+    @Benchmark
+    public String cached() {
+        advance();
+        return request();
+    }
+
+    @Benchmark
+    public String statsChanging() {
+        advance();
+        dataManager.getCachedPlayerData(player.getUniqueId()).incrementKills();
+        return request();
+    }
+
+    @Benchmark
+    public String uncached() {
+        advance();
+        cache.invalidate(player.getUniqueId());
+        formatter.invalidate(player.getUniqueId());
+        PlayerData data = dataManager.getCachedPlayerData(player.getUniqueId());
+        switch (placeholder) {
+            case 0:
+                return cache.getPrefix(player);
+            case 1:
+                List<String> groups = store.getUser(player.getUniqueId()).getGroups();
+                return groups.isEmpty() ? "" : groups.get(0);
+            case 2:
+                return Integer.toString(data.getKills());
+            case 3:
+                return Integer.toString(data.getDeaths());
+            case 4:
+                return String.format("%.2f", data.getDeaths() == 0
+                        ? (double) data.getKills() : (double) data.getKills() / data.getDeaths());
+            default:
+                return (data.getPlaytime() / 60000) + "m";
+        }
+    }
+
+    private String request() {
+        switch (placeholder) {
+            case 0:
+                return cache.getPrefix(player);
+            case 1:
+                return cache.getGroup(player);
+            case 2:
+                return cache.getKills(player);
+            case 3:
+                return cache.getDeaths(player);
+            case 4:
+                return cache.getKillDeathRatio(player);
+            default:
+                return cache.getPlaytime(player);
+        }
+    }
+
+    /**
+     * Moves to the next placeholder, and to the next player after the last one.
+     */
+    private void advance() {
+        if (++requests == online.length * PLACEHOLDERS) {
+            requests = 0;
+        }
+        player = online[requests / PLACEHOLDERS];
+        placeholder = requests % PLACEHOLDERS;
+    }
+}
@@ -0,0 +1,150 @@
+package dev.aledlb.utilities;
+
+import dev.aledlb.BenchmarkSupport;
+import dev.aledlb.Core;
+import org.bukkit.Bukkit;
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.bukkit.entity.Player;
+import org.bukkit.permissions.PermissionAttachment;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+/**
+ * Measures applying a player's permissions at join, through a real
+ * {@link org.bukkit.permissions.PermissibleBase} and plugin manager.
+ * The player is in the last group of a chain of {@code depth} groups, each
+ * granting {@code nodes} permissions. Every operation is one quit and one
+ * join, so both cases pay for adding and removing an attachment.
+ * {@code join} is the steady state with resolved groups cached,
+ * {@code joinAfterGroupEdit} resolves the groups again first, and
+ * {@code legacy} repeats the code this replaced: config lookups, one
+ * level of parents, and a {@code setPermission} call per node, each of
+ * which recalculates the player's permissions.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class PermissionManagerBenchmark {
+    private static final int DEFAULT_NODES = 5;
+
+    @Param({"1", "5"})
+    public int depth;
+
+    @Param({"25", "100"})
+    public int nodes;
+
+    private Core plugin;
+    private PermissionManager manager;
+    private YamlConfiguration legacyConfig;
+    private Player player;
+
+    @Setup
+    public void setUp() throws Exception {
+        BenchmarkSupport.installServer();
+        File folder = Files.createTempDirectory("permission-bench").toFile();
+        plugin = mock(Core.class, withSettings().stubOnly());
+        when(plugin.getDataFolder()).thenReturn(folder);
+        when(plugin.getConfig()).thenReturn(new YamlConfiguration());
+        when(plugin.getServer()).thenReturn(Bukkit.getServer());
+        when(plugin.isEnabled()).thenReturn(true);
+        manager = new PermissionManager(plugin);
+
+        UUID uuid = UUID.randomUUID();
+        String name = "Player";
+        player = BenchmarkSupport.permissiblePlayer(uuid, name);
+
+        PermissionStore store = manager.getStore();
+        legacyConfig = new YamlConfiguration();
+        List<String> defaults = new ArrayList<>();
+        for (int i = 0; i < DEFAULT_NODES; i++) {
+            String node = "core.default." + i;
+            store.addDefaultPermission(node);
+            defaults.add(node);
+        }
+        legacyConfig.set("default.permissions", defaults);
+
+        for (int group = 0; group < depth; group++) {
+            String groupName = "group" + group;
+            store.createGroup(groupName);
+            List<String> granted = new ArrayList<>();
+            for (int i = 0; i < nodes; i++) {
+                String node = "core." + groupName + ".node" + i;
+                store.addGroupPermission(groupName, node);
+                granted.add(node);
+            }
+            legacyConfig.set("groups." + groupName + ".permissions", granted);
+            if (group > 0) {
+                store.addGroupParent(groupName, "group" + (group - 1));
+                legacyConfig.set("groups." + groupName + ".parents", Collections.singletonList("group" + (group - 1)));
+            }
+        }
+        String top = "group" + (depth - 1);
+        store.addUserGroup(uuid, name, top);
+        legacyConfig.set("users." + name + ".groups", Collections.singletonList(top));
+        legacyConfig.set("users." + name + ".permissions", Collections.singletonList("core.user.node"));
+        store.addUserPermission(uuid, name, "core.user.node");
+    }
+
+    @TearDown
+    public void tearDown() {
+        manager.removePermissions(player);
+        manager.shutdown();
+    }
+
+    @Benchmark
+    public PermissionAttachment join() {
+        manager.removePermissions(player);
+        manager.addPermissions(player);
+        return manager.getPermissionAttachment(player);
+    }
+
+    @Benchmark
+    public PermissionAttachment joinAfterGroupEdit() {
+        manager.removePermissions(player);
+        manager.invalidateAllGroups();
+        manager.addPermissions(player);
+        return manager.getPermissionAttachment(player);
+    }
+
+    @Benchmark
+    public PermissionAttachment legacy() {
+        PermissionAttachment attachment = player.addAttachment(plugin);
+        for (String permission : legacyConfig.getStringList("default.permissions")) {
+            attachment.setPermission(permission, true);
+        }
+        for (String group : legacyConfig.getStringList("users." + player.getName() + ".groups")) {
+            for (String permission : legacyConfig.getStringList("groups." + group + ".permissions")) {
+                attachment.setPermission(permission, true);
+            }
+            for (String parent : legacyConfig.getStringList("groups." + group + ".parents")) {
+                for (String permission : legacyConfig.getStringList("groups." + parent + ".permissions")) {
+                    attachment.setPermission(permission, true);
+                }
+            }
+        }
+        for (String permission : legacyConfig.getStringList("users." + player.getName() + ".permissions")) {
+            attachment.setPermission(permission, true);
+        }
+        player.removeAttachment(attachment);
+        return attachment;
+    }
+}
@@ -9,11 +9,15 @@ import dev.aledlb.commands.staff.item.RemoveLore;
 import dev.aledlb.commands.staff.item.Rename;
 import dev.aledlb.commands.staff.moderation.*;
 import dev.aledlb.commands.staff.player.*;
+import dev.aledlb.features.chat.ChatArchive;
+import dev.aledlb.features.chat.ChatFormatter;
 import dev.aledlb.features.motd.MOTDManager;
 import dev.aledlb.features.placeholder.CorePlaceholderExpansion;
+import dev.aledlb.features.placeholder.PlaceholderCache;
 import dev.aledlb.features.moderation.ChatFilter;
 import dev.aledlb.features.moderation.TempBanManager;
 import dev.aledlb.features.moderation.WarningManager;
+import dev.aledlb.features.nametag.NameTagManager;
 import dev.aledlb.listeners.ChatListener;
 import dev.aledlb.utilities.ConfigManager;
 import dev.aledlb.utilities.PermissionManager;
@@ -54,6 +58,9 @@ import java.util.concurrent.ConcurrentHashMap;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
+import dev.aledlb.features.player.PlayerDataCache;
+import dev.aledlb.features.player.PlayerDataFlusher;
+import dev.aledlb.features.player.PlayerDataListener;
 import dev.aledlb.features.player.PlayerDataManager;
 
 /**
@@ -86,6 +93,10 @@ public final class Core extends JavaPlugin implements CommandExecutor, Listener
     private ChatFilter chatFilter;
     private TempBanManager tempBanManager;
     private WarningManager warningManager;
+    private ChatFormatter chatFormatter;
+    private NameTagManager nameTagManager;
+    private PlaceholderCache placeholderCache;
+    private ChatArchive chatArchive;
     
     // Economy
     private static Economy economy;
@@ -114,7 +125,8 @@ public final class Core extends JavaPlugin implements CommandExecutor, Listener
             configManager = new ConfigManager(this);
             
             // Initialize logger
-            new Logger(configManager.getConfig());
+            new Logger(configManager.getSettings());
+            configManager.subscribe(Logger::applySettings);
             Logger.console("Initializing Core plugin...");
             
             // Initialize managers
@@ -128,6 +140,7 @@ public final class Core extends JavaPlugin implements CommandExecutor, Listener
             
             // Add permissions to online players
             permissionManager.addPermissionsToOnlinePlayers();
+            nameTagManager.start();
             
             // Check for updates
             checkForUpdates();
@@ -154,6 +167,15 @@ public final class Core extends JavaPlugin implements CommandExecutor, Listener
         chatFilter = new ChatFilter(this);
         tempBanManager = new TempBanManager(this);
         warningManager = new WarningManager(this);
+        chatArchive = new ChatArchive(this);
+        chatFormatter = new ChatFormatter(this);
+        nameTagManager = new NameTagManager(this, chatFormatter);
+        placeholderCache = new PlaceholderCache(this);
+        permissionManager.addChangeListener(chatFormatter::invalidate);
+        permissionManager.addChangeListener(placeholderCache::invalidate);
+        permissionManager.addChangeListener(nameTagManager::queue);
+        permissionManager.addChangeListener(kitManager::invalidatePermissions);
+        configManager.subscribe(settings -> chatFilter.reload());
     }
 
     /**
@@ -200,9 +222,12 @@ public final class Core extends JavaPlugin implements CommandExecutor, Listener
         // Register events
         getServer().getPluginManager().registerEvents(this, this);
         getServer().getPluginManager().registerEvents(motdManager, this);
-        getServer().getPluginManager().registerEvents(new PlayerEvent(this), this);
-        getServer().getPluginManager().registerEvents(new ChatListener(dataManager), this);
+        getServer().getPluginManager().registerEvents(new PlayerEvent(this, chatFormatter), this);
+        getServer().getPluginManager().registerEvents(new ChatListener(dataManager, chatArchive), this);
+        getServer().getPluginManager().registerEvents(new PlayerDataListener(this, dataManager), this);
         getServer().getPluginManager().registerEvents(chatFilter, this);
+        getServer().getPluginManager().registerEvents(nameTagManager, this);
+        getServer().getPluginManager().registerEvents(placeholderCache, this);
 
         // Register commands
         registerCommands();
@@ -281,7 +306,7 @@ public final class Core extends JavaPlugin implements CommandExecutor, Listener
      * Registers player commands
      */
     private void registerPlayerCommands() {
-        getCommand("chathistory").setExecutor(new ChatHistoryCommand(dataManager));
+        getCommand("chathistory").setExecutor(new ChatHistoryCommand(this, dataManager, chatArchive));
         getCommand("inventorybackup").setExecutor(new InventoryBackupCommand(dataManager));
         getCommand("location").setExecutor(new LocationHistoryCommand(dataManager));
         getCommand("playerstats").setExecutor(new PlayerStatsCommand(dataManager));
@@ -325,8 +350,14 @@ public final class Core extends JavaPlugin implements CommandExecutor, Listener
         if (!isEnabled) return;
         
         try {
+            nameTagManager.shutdown();
+            motdManager.shutdown();
+            kitManager.shutdown();
             permissionManager.removeAllPermissions();
-            configManager.saveConfigs();
+            permissionManager.shutdown();
+            dataManager.shutdown();
+            chatArchive.shutdown();
+            configManager.shutdown();
             HandlerList.unregisterAll((Plugin) this);
             Logger.console("Core plugin has been disabled");
             Logger.close();
@@ -349,6 +380,18 @@ public final class Core extends JavaPlugin implements CommandExecutor, Listener
     @Override
     public boolean onCommand(CommandSender sender, Command cmd, String label, String[] args) {
         if (cmd.getName().equalsIgnoreCase("core")) {
+            if (args.length > 0 && args[0].equalsIgnoreCase("migrate-storage")) {
+                return migrateStorage(sender, args);
+            }
+
+            if (args.length > 0 && args[0].equalsIgnoreCase("status")) {
+                return status(sender);
+            }
+
+            if (args.length > 0 && args[0].equalsIgnoreCase("reload")) {
+                return reload(sender);
+            }
+
             sender.sendMessage(ChatColor.DARK_AQUA + "====== " + ChatColor.GREEN + "Core Plugin" + ChatColor.DARK_AQUA + " ======");
             sender.sendMessage(ChatColor.AQUA + "Developed by: " + ChatColor.YELLOW + "aledlb");
             sender.sendMessage("");
@@ -388,10 +431,17 @@ public final class Core extends JavaPlugin implements CommandExecutor, Listener
             // Player Commands
             sender.sendMessage(ChatColor.GREEN + "Player Commands:");
             sender.sendMessage(ChatColor.AQUA + "/chathistory" + ChatColor.WHITE + " - View chat history");
+            sender.sendMessage(ChatColor.AQUA + "/chathistory search <term> [player] [since]" + ChatColor.WHITE + " - Search the chat archive");
             sender.sendMessage(ChatColor.AQUA + "/inventorybackup" + ChatColor.WHITE + " - Backup your inventory");
             sender.sendMessage(ChatColor.AQUA + "/location" + ChatColor.WHITE + " - View your location history");
             sender.sendMessage(ChatColor.AQUA + "/playerstats" + ChatColor.WHITE + " - View player statistics");
 
+            // Admin Commands
+            sender.sendMessage(ChatColor.GREEN + "Admin Commands:");
+            sender.sendMessage(ChatColor.AQUA + "/core status" + ChatColor.WHITE + " - Show player data cache and persistence statistics");
+            sender.sendMessage(ChatColor.AQUA + "/core reload" + ChatColor.WHITE + " - Reload the configuration files");
+            sender.sendMessage(ChatColor.AQUA + "/core migrate-storage <from> <to>" + ChatColor.WHITE + " - Copy player data between yaml and sqlite storage");
+
             sender.sendMessage(ChatColor.DARK_AQUA + "=================================");
 
             return true;
@@ -400,6 +450,99 @@ public final class Core extends JavaPlugin implements CommandExecutor, Listener
         return false;
     }
 
+    /**
+     * Handles /core reload, re-reading the configuration files and notifying settings subscribers
+     * @param sender The command sender
+     * @return true if the command was handled
+     */
+    private boolean reload(CommandSender sender) {
+        if (!sender.hasPermission("core.reload")) {
+            sender.sendMessage(ChatColor.RED + "You don't have permission to use this command.");
+            return true;
+        }
+
+        configManager.reloadConfigs();
+        sender.sendMessage(ChatColor.GREEN + "Configuration reloaded.");
+        return true;
+    }
+
+    /**
+     * Handles /core status, showing player data cache and write-behind statistics
+     * @param sender The command sender
+     * @return true if the command was handled
+     */
+    private boolean status(CommandSender sender) {
+        if (!sender.hasPermission("core.status")) {
+            sender.sendMessage(ChatColor.RED + "You don't have permission to use this command.");
+            return true;
+        }
+
+        PlayerDataCache cache = dataManager.getCache();
+        PlayerDataFlusher flusher = dataManager.getFlusher();
+        long lookups = cache.getHits() + cache.getMisses();
+        double hitRatio = lookups == 0 ? 0 : (double) cache.getHits() * 100 / lookups;
+
+        sender.sendMessage(ChatColor.DARK_AQUA + "====== " + ChatColor.GREEN + "Core Status" + ChatColor.DARK_AQUA + " ======");
+        sender.sendMessage(ChatColor.GREEN + "Player Data Cache:");
+        sender.sendMessage(ChatColor.AQUA + "Entries: " + ChatColor.WHITE + cache.size() + "/" + cache.getMaxSize()
+                + ChatColor.GRAY + " (" + cache.pinnedCount() + " online)");
+        sender.sendMessage(ChatColor.AQUA + "Hits: " + ChatColor.WHITE + cache.getHits()
+                + ChatColor.AQUA + " Misses: " + ChatColor.WHITE + cache.getMisses()
+                + ChatColor.GRAY + String.format(" (%.1f%% hit ratio)", hitRatio));
+        sender.sendMessage(ChatColor.AQUA + "Evictions: " + ChatColor.WHITE + cache.getEvictions());
+        sender.sendMessage(ChatColor.GREEN + "Player Data Storage (" + dataManager.getStore().getName() + "):");
+        sender.sendMessage(ChatColor.AQUA + "Flushes: " + ChatColor.WHITE + flusher.getFlushCount()
+                + ChatColor.AQUA + " Writes: " + ChatColor.WHITE + flusher.getWriteCount()
+                + ChatColor.AQUA + " Coalesced: " + ChatColor.WHITE + flusher.getCoalescedCount());
+        sender.sendMessage(ChatColor.AQUA + "Pending writes: " + ChatColor.WHITE + flusher.getQueueDepth());
+        if (chatArchive.isEnabled()) {
+            sender.sendMessage(ChatColor.GREEN + "Chat Archive:");
+            sender.sendMessage(ChatColor.AQUA + "Indexed: " + ChatColor.WHITE + chatArchive.getIndexedCount()
+                    + ChatColor.AQUA + " Segments: " + ChatColor.WHITE + chatArchive.getSegmentCount());
+            sender.sendMessage(ChatColor.AQUA + "Pending writes: " + ChatColor.WHITE + chatArchive.getQueueDepth()
+                    + ChatColor.AQUA + " Dropped: " + ChatColor.WHITE + chatArchive.getDroppedCount());
+        }
+        return true;
+    }
+
+    /**
+     * Handles /core migrate-storage, copying player data between backends off the main thread
+     * @param sender The command sender
+     * @param args The command arguments
+     * @return true if the command was handled
+     */
+    private boolean migrateStorage(CommandSender sender, String[] args) {
+        if (!sender.hasPermission("core.storage")) {
+            sender.sendMessage(ChatColor.RED + "You don't have permission to use this command.");
+            return true;
+        }
+
+        if (args.length < 3) {
+            sender.sendMessage(ChatColor.RED + "Usage: /core migrate-storage <yaml|sqlite> <yaml|sqlite>");
+            return true;
+        }
+
+        String from = args[1];
+        String to = args[2];
+        sender.sendMessage(ChatColor.YELLOW + "Migrating player data from " + from + " to " + to + "...");
+
+        getServer().getScheduler().runTaskAsynchronously(this, () -> {
+            String result;
+            try {
+                long start = System.currentTimeMillis();
+                int migrated = dataManager.migrateStorage(from, to);
+                result = ChatColor.GREEN + "Migrated " + migrated + " players in " + (System.currentTimeMillis() - start) + "ms.";
+            } catch (Exception e) {
+                Logger.severe("Player data migration failed: " + e.getMessage());
+                result = ChatColor.RED + "Migration failed: " + e.getMessage();
+            }
+
+            String message = result;
+            getServer().getScheduler().runTask(this, () -> sender.sendMessage(message));
+        });
+        return true;
+    }
+
     public static int getMcVersion() {
         String bukkitVersionString = Bukkit.getBukkitVersion();
         Matcher m = VERSION_PATTERN.matcher((bukkitVersionString));
@@ -443,6 +586,46 @@ public final class Core extends JavaPlugin implements CommandExecutor, Listener
         return permissionManager;
     }
 
+    /**
+     * Gets the chat formatter
+     * @return The chat formatter instance
+     */
+    public ChatFormatter getChatFormatter() {
+        return chatFormatter;
+    }
+
+    /**
+     * Gets the kit manager
+     * @return The kit manager instance
+     */
+    public KitManager getKitManager() {
+        return kitManager;
+    }
+
+    /**
+     * Gets the placeholder cache
+     * @return The placeholder cache instance
+     */
+    public PlaceholderCache getPlaceholderCache() {
+        return placeholderCache;
+    }
+
+    /**
+     * Gets the player data manager
+     * @return The player data manager instance
+     */
+    public PlayerDataManager getPlayerDataManager() {
+        return dataManager;
+    }
+
+    /**
+     * Gets the name tag manager
+     * @return The name tag manager instance
+     */
+    public NameTagManager getNameTagManager() {
+        return nameTagManager;
+    }
+
     /**
      * Gets the configuration manager
      * @return The configuration manager instance
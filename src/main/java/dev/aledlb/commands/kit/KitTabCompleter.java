@@ -8,7 +8,6 @@ import org.bukkit.command.CommandSender;
 import org.bukkit.command.TabCompleter;
 import org.bukkit.entity.Player;
 
-import java.io.File;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
@@ -69,28 +68,11 @@ public class KitTabCompleter implements TabCompleter {
     }
 
     /**
-     * Gets a list of kit names from the kits folder
+     * Gets a list of kit names from the kit registry
      * @return List of kit names
      */
     private List<String> getKitNames() {
-        try {
-            File kitsFolder = new File(plugin.getDataFolder(), "kits");
-            File[] kitFiles = kitsFolder.listFiles();
-            List<String> kitNames = new ArrayList<>();
-
-            if (kitFiles != null) {
-                for (File file : kitFiles) {
-                    if (file.isFile() && file.getName().endsWith(".yml")) {
-                        kitNames.add(file.getName().replace(".yml", ""));
-                    }
-                }
-            }
-
-            return kitNames;
-        } catch (Exception e) {
-            Logger.severe("Error getting kit names: " + e.getMessage());
-            return new ArrayList<>();
-        }
+        return plugin.getKitManager().getRegistry().getKitNames();
     }
 
     /**
@@ -1,14 +1,11 @@
 package dev.aledlb.commands.kit;
 
-import dev.aledlb.Core;
 import dev.aledlb.features.kits.KitManager;
 import dev.aledlb.utilities.Logger;
 import org.bukkit.ChatColor;
 import org.bukkit.command.CommandSender;
 import org.bukkit.entity.Player;
 
-import java.io.File;
-import java.util.Arrays;
 import java.util.List;
 
 /**
@@ -27,7 +24,6 @@ public class ListKitCommand implements KitSubCommand {
     private static final String SUCCESS_LIST = SUCCESS_PREFIX + "Found %d kit(s):";
 
     private final KitManager kitManager;
-    private final Core plugin;
 
     /**
      * Creates a new ListKitCommand instance
@@ -35,7 +31,6 @@ public class ListKitCommand implements KitSubCommand {
      */
     public ListKitCommand(KitManager kitManager) {
         this.kitManager = kitManager;
-        this.plugin = Core.getInstance();
     }
 
     @Override
@@ -46,22 +41,14 @@ public class ListKitCommand implements KitSubCommand {
                 return true;
             }
 
-            File kitsFolder = new File(plugin.getDataFolder(), "kits");
-            File[] kitFiles = kitsFolder.listFiles();
-
-            if (kitFiles == null || kitFiles.length == 0) {
+            List<String> kitNames = kitManager.getRegistry().getKitNames();
+            if (kitNames.isEmpty()) {
                 player.sendMessage(ERROR_NO_KITS);
                 return true;
             }
 
             player.sendMessage(HEADER);
-            Logger.player(player, String.format(SUCCESS_LIST, kitFiles.length));
-
-            List<String> kitNames = Arrays.stream(kitFiles)
-                .filter(file -> file.isFile() && file.getName().endsWith(".yml"))
-                .map(file -> file.getName().replace(".yml", ""))
-                .sorted()
-                .toList();
+            Logger.player(player, String.format(SUCCESS_LIST, kitNames.size()));
 
             for (String kitName : kitNames) {
                 player.sendMessage(HIGHLIGHT + "- " + INFO_PREFIX + kitName);
@@ -2,6 +2,7 @@ package dev.aledlb.commands.permissions;
 
 import dev.aledlb.Core;
 import dev.aledlb.utilities.Logger;
+import dev.aledlb.utilities.PermissionStore;
 import org.bukkit.Bukkit;
 import org.bukkit.ChatColor;
 import org.bukkit.OfflinePlayer;
@@ -15,7 +16,6 @@ import java.util.Arrays;
 import java.util.List;
 import java.util.UUID;
 
-import static dev.aledlb.listeners.PlayerEvent.updateNameTag;
 
 /**
  * Handles all permission-related commands for the Core plugin.
@@ -97,8 +97,9 @@ public class PermissionCommands implements CommandExecutor {
         // Get the target player
         OfflinePlayer targetPlayer = null;
         try {
-            // Try to get player by name first
-            targetPlayer = Bukkit.getOfflinePlayer(args[0]);
+            // Try the permission store's name index first, then the server's
+            UUID known = store().findUser(args[0]);
+            targetPlayer = known != null ? Bukkit.getOfflinePlayer(known) : Bukkit.getOfflinePlayer(args[0]);
             
             // If not found, try to parse as UUID
             if (targetPlayer == null || !targetPlayer.hasPlayedBefore()) {
@@ -170,6 +171,14 @@ public class PermissionCommands implements CommandExecutor {
             return listFamily(sender, groupName);
         }
 
+        // Handle create and delete commands
+        if (args.length > 1 && args[1].equalsIgnoreCase("create")) {
+            return createGroup(groupName, sender);
+        }
+        if (args.length > 1 && args[1].equalsIgnoreCase("delete")) {
+            return deleteGroup(groupName, sender);
+        }
+
         if (args.length < 3) {
             usage(sender, "group");
             return true;
@@ -241,21 +250,16 @@ public class PermissionCommands implements CommandExecutor {
         sender.sendMessage(HEADER);
         
         // Check if group exists
-        if (!plugin.getConfigManager().getConfig().contains("groups." + groupName)) {
+        if (!store().hasGroup(groupName)) {
             sender.sendMessage(ERROR_PREFIX + "Group " + HIGHLIGHT + groupName + ERROR_PREFIX + " does not exist.");
             return true;
         }
         
-        List<String> groups = plugin.getConfigManager().getConfig().getStringList("users." + player.getName() + ".groups");
-        if (groups.contains(groupName)) {
+        if (!store().addUserGroup(player.getUniqueId(), player.getName(), groupName)) {
             sender.sendMessage(SUCCESS_PREFIX + "Player " + HIGHLIGHT + player.getName() + SUCCESS_PREFIX + " is already in group " + HIGHLIGHT + groupName + SUCCESS_PREFIX + ".");
             return true;
         }
         
-        groups.add(groupName);
-        plugin.getConfigManager().getConfig().set("users." + player.getName() + ".groups", groups);
-        plugin.getConfigManager().saveConfig("config");
-        
         sender.sendMessage(SUCCESS_PREFIX + "Added player " + HIGHLIGHT + player.getName() + SUCCESS_PREFIX + " to group " + HIGHLIGHT + groupName + SUCCESS_PREFIX + ".");
         
         // Update permissions for online players
@@ -276,16 +280,11 @@ public class PermissionCommands implements CommandExecutor {
     private boolean removeGroup(OfflinePlayer player, String groupName, CommandSender sender) {
         sender.sendMessage(HEADER);
         
-        List<String> groups = plugin.getConfigManager().getConfig().getStringList("users." + player.getName() + ".groups");
-        if (!groups.contains(groupName)) {
+        if (!store().removeUserGroup(player.getUniqueId(), player.getName(), groupName)) {
             sender.sendMessage(SUCCESS_PREFIX + "Player " + HIGHLIGHT + player.getName() + SUCCESS_PREFIX + " is not in group " + HIGHLIGHT + groupName + SUCCESS_PREFIX + ".");
             return true;
         }
         
-        groups.remove(groupName);
-        plugin.getConfigManager().getConfig().set("users." + player.getName() + ".groups", groups);
-        plugin.getConfigManager().saveConfig("config");
-        
         sender.sendMessage(SUCCESS_PREFIX + "Removed player " + HIGHLIGHT + player.getName() + SUCCESS_PREFIX + " from group " + HIGHLIGHT + groupName + SUCCESS_PREFIX + ".");
         
         // Update permissions for online players
@@ -296,6 +295,54 @@ public class PermissionCommands implements CommandExecutor {
         return true;
     }
 
+    /**
+     * Creates an empty group
+     * @param groupName The group name
+     * @param sender The command sender
+     * @return true if successful
+     */
+    private boolean createGroup(String groupName, CommandSender sender) {
+        sender.sendMessage(HEADER);
+        
+        if (!store().createGroup(groupName)) {
+            sender.sendMessage(ERROR_PREFIX + "Group " + HIGHLIGHT + groupName + ERROR_PREFIX + " already exists.");
+            return true;
+        }
+        
+        sender.sendMessage(SUCCESS_PREFIX + "Created group " + HIGHLIGHT + groupName + SUCCESS_PREFIX + ".");
+        
+        // Players may already list the group, so resolve it again
+        plugin.getPermissionManager().updateGroup(groupName);
+        
+        return true;
+    }
+
+    /**
+     * Deletes a group, removing it from its members and child groups
+     * @param groupName The group name
+     * @param sender The command sender
+     * @return true if successful
+     */
+    private boolean deleteGroup(String groupName, CommandSender sender) {
+        sender.sendMessage(HEADER);
+        
+        if (!store().deleteGroup(groupName)) {
+            sender.sendMessage(ERROR_PREFIX + "Group " + HIGHLIGHT + groupName + ERROR_PREFIX + " does not exist.");
+            return true;
+        }
+        
+        sender.sendMessage(SUCCESS_PREFIX + "Deleted group " + HIGHLIGHT + groupName + SUCCESS_PREFIX + ".");
+        
+        // Deleting a group changes the lineage of its children, so re-resolve everything
+        plugin.getPermissionManager().invalidateAllGroups();
+        plugin.getPermissionManager().addPermissionsToOnlinePlayers();
+        plugin.getChatFormatter().invalidateAll();
+        plugin.getPlaceholderCache().invalidateAll();
+        plugin.getNameTagManager().refreshAll();
+        
+        return true;
+    }
+
     /**
      * Adds a parent group to a group
      * @param groupName The group name
@@ -307,70 +354,35 @@ public class PermissionCommands implements CommandExecutor {
         sender.sendMessage(HEADER);
         
         // Check if both groups exist
-        if (!plugin.getConfigManager().getConfig().contains("groups." + groupName)) {
+        if (!store().hasGroup(groupName)) {
             sender.sendMessage(ERROR_PREFIX + "Group " + HIGHLIGHT + groupName + ERROR_PREFIX + " does not exist.");
             return true;
         }
         
-        if (!plugin.getConfigManager().getConfig().contains("groups." + parentName)) {
+        if (!store().hasGroup(parentName)) {
             sender.sendMessage(ERROR_PREFIX + "Parent group " + HIGHLIGHT + parentName + ERROR_PREFIX + " does not exist.");
             return true;
         }
         
         // Check for circular inheritance
-        if (wouldCreateCircularInheritance(groupName, parentName)) {
+        if (plugin.getPermissionManager().wouldCreateCycle(groupName, parentName)) {
             sender.sendMessage(ERROR_PREFIX + "Cannot add " + HIGHLIGHT + parentName + ERROR_PREFIX + " as parent of " + HIGHLIGHT + groupName + ERROR_PREFIX + " as it would create circular inheritance.");
             return true;
         }
         
-        List<String> parents = plugin.getConfigManager().getConfig().getStringList("groups." + groupName + ".parents");
-        if (parents.contains(parentName)) {
+        if (!store().addGroupParent(groupName, parentName)) {
             sender.sendMessage(SUCCESS_PREFIX + "Group " + HIGHLIGHT + groupName + SUCCESS_PREFIX + " already has parent " + HIGHLIGHT + parentName + SUCCESS_PREFIX + ".");
             return true;
         }
         
-        parents.add(parentName);
-        plugin.getConfigManager().getConfig().set("groups." + groupName + ".parents", parents);
-        plugin.getConfigManager().saveConfig("config");
-        
         sender.sendMessage(SUCCESS_PREFIX + "Group " + HIGHLIGHT + groupName + SUCCESS_PREFIX + " now has parent " + HIGHLIGHT + parentName + SUCCESS_PREFIX + ".");
         
         // Update permissions for all online players
-        plugin.getPermissionManager().reloadPermissionsWithoutSaving();
+        plugin.getPermissionManager().updateGroup(groupName);
         
         return true;
     }
 
-    /**
-     * Checks if adding a parent would create circular inheritance
-     * @param groupName The group name
-     * @param parentName The parent group name
-     * @return true if circular inheritance would be created
-     */
-    private boolean wouldCreateCircularInheritance(String groupName, String parentName) {
-        // Check if parent is already a child of the group
-        List<String> children = new ArrayList<>();
-        for (String group : plugin.getConfigManager().getConfig().getConfigurationSection("groups").getKeys(false)) {
-            if (plugin.getConfigManager().getConfig().getStringList("groups." + group + ".parents").contains(groupName)) {
-                children.add(group);
-            }
-        }
-        
-        // Check if any child of the group is the parent or has the parent as a parent
-        for (String child : children) {
-            if (child.equals(parentName)) {
-                return true;
-            }
-            
-            List<String> childParents = plugin.getConfigManager().getConfig().getStringList("groups." + child + ".parents");
-            if (childParents.contains(parentName)) {
-                return true;
-            }
-        }
-        
-        return false;
-    }
-
     /**
      * Removes a parent group from a group
      * @param groupName The group name
@@ -381,20 +393,15 @@ public class PermissionCommands implements CommandExecutor {
     private boolean removeGroupParent(String groupName, String parentName, CommandSender sender) {
         sender.sendMessage(HEADER);
         
-        List<String> parents = plugin.getConfigManager().getConfig().getStringList("groups." + groupName + ".parents");
-        if (!parents.contains(parentName)) {
+        if (!store().removeGroupParent(groupName, parentName)) {
             sender.sendMessage(SUCCESS_PREFIX + "Group " + HIGHLIGHT + groupName + SUCCESS_PREFIX + " does not have parent " + HIGHLIGHT + parentName + SUCCESS_PREFIX + ".");
             return true;
         }
         
-        parents.remove(parentName);
-        plugin.getConfigManager().getConfig().set("groups." + groupName + ".parents", parents);
-        plugin.getConfigManager().saveConfig("config");
-        
         sender.sendMessage(SUCCESS_PREFIX + "Removed parent " + HIGHLIGHT + parentName + SUCCESS_PREFIX + " from group " + HIGHLIGHT + groupName + SUCCESS_PREFIX + ".");
         
         // Update permissions for all online players
-        plugin.getPermissionManager().reloadPermissionsWithoutSaving();
+        plugin.getPermissionManager().updateGroup(groupName);
         
         return true;
     }
@@ -410,25 +417,20 @@ public class PermissionCommands implements CommandExecutor {
         sender.sendMessage(HEADER);
         
         // Check if group exists
-        if (!plugin.getConfigManager().getConfig().contains("groups." + groupName)) {
+        if (!store().hasGroup(groupName)) {
             sender.sendMessage(ERROR_PREFIX + "Group " + HIGHLIGHT + groupName + ERROR_PREFIX + " does not exist.");
             return true;
         }
         
-        List<String> permissions = plugin.getConfigManager().getConfig().getStringList("groups." + groupName + ".permissions");
-        if (permissions.contains(permission)) {
+        if (!store().addGroupPermission(groupName, permission)) {
             sender.sendMessage(SUCCESS_PREFIX + "Group " + HIGHLIGHT + groupName + SUCCESS_PREFIX + " already has permission " + HIGHLIGHT + permission + SUCCESS_PREFIX + ".");
             return true;
         }
         
-        permissions.add(permission);
-        plugin.getConfigManager().getConfig().set("groups." + groupName + ".permissions", permissions);
-        plugin.getConfigManager().saveConfig("config");
-        
         sender.sendMessage(SUCCESS_PREFIX + "Added permission " + HIGHLIGHT + permission + SUCCESS_PREFIX + " to group " + HIGHLIGHT + groupName + SUCCESS_PREFIX + ".");
         
         // Update permissions for all online players
-        plugin.getPermissionManager().reloadPermissionsWithoutSaving();
+        plugin.getPermissionManager().updateGroup(groupName);
         
         return true;
     }
@@ -443,20 +445,15 @@ public class PermissionCommands implements CommandExecutor {
     private boolean removeGroupPermission(String groupName, String permission, CommandSender sender) {
         sender.sendMessage(HEADER);
         
-        List<String> permissions = plugin.getConfigManager().getConfig().getStringList("groups." + groupName + ".permissions");
-        if (!permissions.contains(permission)) {
+        if (!store().removeGroupPermission(groupName, permission)) {
             sender.sendMessage(SUCCESS_PREFIX + "Group " + HIGHLIGHT + groupName + SUCCESS_PREFIX + " does not have permission " + HIGHLIGHT + permission + SUCCESS_PREFIX + ".");
             return true;
         }
         
-        permissions.remove(permission);
-        plugin.getConfigManager().getConfig().set("groups." + groupName + ".permissions", permissions);
-        plugin.getConfigManager().saveConfig("config");
-        
         sender.sendMessage(SUCCESS_PREFIX + "Removed permission " + HIGHLIGHT + permission + SUCCESS_PREFIX + " from group " + HIGHLIGHT + groupName + SUCCESS_PREFIX + ".");
         
         // Update permissions for all online players
-        plugin.getPermissionManager().reloadPermissionsWithoutSaving();
+        plugin.getPermissionManager().updateGroup(groupName);
         
         return true;
     }
@@ -473,29 +470,22 @@ public class PermissionCommands implements CommandExecutor {
         
         if (player == null) {
             // Add to default permissions
-            List<String> permissions = plugin.getConfigManager().getConfig().getStringList("default.permissions");
-            if (permissions.contains(permission)) {
+            if (!store().addDefaultPermission(permission)) {
                 sender.sendMessage(SUCCESS_PREFIX + "Permission " + HIGHLIGHT + permission + SUCCESS_PREFIX + " is already a default permission.");
                 return true;
             }
             
-            permissions.add(permission);
-            plugin.getConfigManager().getConfig().set("default.permissions", permissions);
-            plugin.getConfigManager().saveConfig("config");
-            
             sender.sendMessage(SUCCESS_PREFIX + "Added permission " + HIGHLIGHT + permission + SUCCESS_PREFIX + " to " + HIGHLIGHT + "all players" + SUCCESS_PREFIX + ".");
+
+            // Update permissions for all online players
+            plugin.getPermissionManager().updateDefaults();
         } else {
             // Add to player permissions
-            List<String> permissions = plugin.getConfigManager().getConfig().getStringList("users." + player.getName() + ".permissions");
-            if (permissions.contains(permission)) {
+            if (!store().addUserPermission(player.getUniqueId(), player.getName(), permission)) {
                 sender.sendMessage(SUCCESS_PREFIX + "Player " + HIGHLIGHT + player.getName() + SUCCESS_PREFIX + " already has permission " + HIGHLIGHT + permission + SUCCESS_PREFIX + ".");
                 return true;
             }
             
-            permissions.add(permission);
-            plugin.getConfigManager().getConfig().set("users." + player.getName() + ".permissions", permissions);
-            plugin.getConfigManager().saveConfig("config");
-            
             sender.sendMessage(SUCCESS_PREFIX + "Added permission " + HIGHLIGHT + permission + SUCCESS_PREFIX + " to player " + HIGHLIGHT + player.getName() + SUCCESS_PREFIX + ".");
             
             // Update permissions for online players
@@ -519,32 +509,22 @@ public class PermissionCommands implements CommandExecutor {
         
         if (player == null) {
             // Remove from default permissions
-            List<String> permissions = plugin.getConfigManager().getConfig().getStringList("default.permissions");
-            if (!permissions.contains(permission)) {
+            if (!store().removeDefaultPermission(permission)) {
                 sender.sendMessage(SUCCESS_PREFIX + "Permission " + HIGHLIGHT + permission + SUCCESS_PREFIX + " is not a default permission.");
                 return true;
             }
             
-            permissions.remove(permission);
-            plugin.getConfigManager().getConfig().set("default.permissions", permissions);
-            plugin.getConfigManager().saveConfig("config");
-            
             sender.sendMessage(SUCCESS_PREFIX + "Removed permission " + HIGHLIGHT + permission + SUCCESS_PREFIX + " from " + HIGHLIGHT + "all players" + SUCCESS_PREFIX + ".");
             
             // Update permissions for all online players
-            plugin.getPermissionManager().reloadPermissionsWithoutSaving();
+            plugin.getPermissionManager().updateDefaults();
         } else {
             // Remove from player permissions
-            List<String> permissions = plugin.getConfigManager().getConfig().getStringList("users." + player.getName() + ".permissions");
-            if (!permissions.contains(permission)) {
+            if (!store().removeUserPermission(player.getUniqueId(), player.getName(), permission)) {
                 sender.sendMessage(SUCCESS_PREFIX + "Player " + HIGHLIGHT + player.getName() + SUCCESS_PREFIX + " does not have permission " + HIGHLIGHT + permission + SUCCESS_PREFIX + ".");
                 return true;
             }
             
-            permissions.remove(permission);
-            plugin.getConfigManager().getConfig().set("users." + player.getName() + ".permissions", permissions);
-            plugin.getConfigManager().saveConfig("config");
-            
             sender.sendMessage(SUCCESS_PREFIX + "Removed permission " + HIGHLIGHT + permission + SUCCESS_PREFIX + " from player " + HIGHLIGHT + player.getName() + SUCCESS_PREFIX + ".");
             
             // Update permissions for online players
@@ -567,13 +547,15 @@ public class PermissionCommands implements CommandExecutor {
         sender.sendMessage(HEADER);
         
         // Check if group exists
-        if (!plugin.getConfigManager().getConfig().contains("groups." + groupName)) {
+        if (!store().hasGroup(groupName)) {
             sender.sendMessage(ERROR_PREFIX + "Group " + HIGHLIGHT + groupName + ERROR_PREFIX + " does not exist.");
             return true;
         }
         
-        plugin.getConfigManager().getConfig().set("groups." + groupName + ".prefix", prefix);
-        plugin.getConfigManager().saveConfig("config");
+        store().setGroupPrefix(groupName, prefix);
+        plugin.getChatFormatter().invalidateAll();
+        plugin.getPlaceholderCache().invalidateAll();
+        plugin.getNameTagManager().refreshAll();
         
         sender.sendMessage(SUCCESS_PREFIX + "Set prefix of group " + HIGHLIGHT + groupName + SUCCESS_PREFIX + " to " + HIGHLIGHT + prefix + SUCCESS_PREFIX + ".");
         
@@ -589,7 +571,7 @@ public class PermissionCommands implements CommandExecutor {
         sender.sendMessage(HEADER);
         sender.sendMessage(INFO_PREFIX + "Default permissions: ");
         
-        List<String> permissions = plugin.getConfigManager().getConfig().getStringList("default.permissions");
+        List<String> permissions = store().getDefaultPermissions();
         if (permissions.isEmpty()) {
             sender.sendMessage(INFO_PREFIX + "No default permissions set.");
         } else {
@@ -613,7 +595,7 @@ public class PermissionCommands implements CommandExecutor {
         String groupName = args[0];
         
         // Check if group exists
-        if (!plugin.getConfigManager().getConfig().contains("groups." + groupName)) {
+        if (!store().hasGroup(groupName)) {
             sender.sendMessage(ERROR_PREFIX + "Group " + HIGHLIGHT + groupName + ERROR_PREFIX + " does not exist.");
             return true;
         }
@@ -622,7 +604,7 @@ public class PermissionCommands implements CommandExecutor {
         
         // List permissions
         sender.sendMessage(INFO_PREFIX + "Group permissions: ");
-        List<String> permissions = plugin.getConfigManager().getConfig().getStringList("groups." + groupName + ".permissions");
+        List<String> permissions = store().getGroup(groupName).getPermissions();
         if (permissions.isEmpty()) {
             sender.sendMessage(INFO_PREFIX + "No permissions set for this group.");
         } else {
@@ -634,10 +616,9 @@ public class PermissionCommands implements CommandExecutor {
         // List members
         sender.sendMessage(INFO_PREFIX + "Members: ");
         List<String> members = new ArrayList<>();
-        for (String user : plugin.getConfigManager().getConfig().getConfigurationSection("users").getKeys(false)) {
-            if (plugin.getConfigManager().getConfig().getStringList("users." + user + ".groups").contains(groupName)) {
-                members.add(user);
-            }
+        for (UUID member : store().getMembers(groupName)) {
+            String name = store().getUser(member).getName();
+            members.add(name != null ? name : member.toString());
         }
         
         if (members.isEmpty()) {
@@ -658,24 +639,14 @@ public class PermissionCommands implements CommandExecutor {
         sender.sendMessage(HEADER);
         sender.sendMessage(INFO_PREFIX + "Groups:");
         
-        if (!plugin.getConfigManager().getConfig().contains("groups")) {
+        if (store().getGroupNames().isEmpty()) {
             sender.sendMessage(INFO_PREFIX + "No groups defined.");
             return true;
         }
         
-        for (String group : plugin.getConfigManager().getConfig().getConfigurationSection("groups").getKeys(false)) {
-            int users = 0;
-            int perms = 0;
-            
-            // Count users
-            for (String user : plugin.getConfigManager().getConfig().getConfigurationSection("users").getKeys(false)) {
-                if (plugin.getConfigManager().getConfig().getStringList("users." + user + ".groups").contains(group)) {
-                    users++;
-                }
-            }
-            
-            // Count permissions
-            perms = plugin.getConfigManager().getConfig().getStringList("groups." + group + ".permissions").size();
+        for (String group : store().getGroupNames()) {
+            int users = store().getMembers(group).size();
+            int perms = store().getGroup(group).getPermissions().size();
             
             sender.sendMessage(INFO_PREFIX + "- " + HIGHLIGHT + group + INFO_PREFIX + " (" + perms + " permissions, " + users + " members)");
         }
@@ -693,7 +664,7 @@ public class PermissionCommands implements CommandExecutor {
         sender.sendMessage(HEADER);
         
         // Check if group exists
-        if (!plugin.getConfigManager().getConfig().contains("groups." + groupName)) {
+        if (!store().hasGroup(groupName)) {
             sender.sendMessage(ERROR_PREFIX + "Group " + HIGHLIGHT + groupName + ERROR_PREFIX + " does not exist.");
             return true;
         }
@@ -703,8 +674,8 @@ public class PermissionCommands implements CommandExecutor {
         // List children
         sender.sendMessage(INFO_PREFIX + "Children: ");
         List<String> children = new ArrayList<>();
-        for (String group : plugin.getConfigManager().getConfig().getConfigurationSection("groups").getKeys(false)) {
-            if (plugin.getConfigManager().getConfig().getStringList("groups." + group + ".parents").contains(groupName)) {
+        for (String group : store().getGroupNames()) {
+            if (store().getGroup(group).getParents().contains(groupName)) {
                 children.add(group);
             }
         }
@@ -717,7 +688,7 @@ public class PermissionCommands implements CommandExecutor {
         
         // List parents
         sender.sendMessage(INFO_PREFIX + "Parents: ");
-        List<String> parents = plugin.getConfigManager().getConfig().getStringList("groups." + groupName + ".parents");
+        List<String> parents = store().getGroup(groupName).getParents();
         
         if (parents.isEmpty()) {
             sender.sendMessage(INFO_PREFIX + "No parents for this group.");
@@ -737,10 +708,11 @@ public class PermissionCommands implements CommandExecutor {
     private boolean listPermissions(OfflinePlayer player, CommandSender sender) {
         sender.sendMessage(HEADER);
         sender.sendMessage(INFO_PREFIX + "User: " + HIGHLIGHT + player.getName());
+        PermissionStore.User user = store().getUser(player.getUniqueId());
         
         // List default permissions
         sender.sendMessage(INFO_PREFIX + "Default permissions: ");
-        List<String> defaultPermissions = plugin.getConfigManager().getConfig().getStringList("default.permissions");
+        List<String> defaultPermissions = store().getDefaultPermissions();
         if (defaultPermissions.isEmpty()) {
             sender.sendMessage(INFO_PREFIX + "No default permissions set.");
         } else {
@@ -751,7 +723,7 @@ public class PermissionCommands implements CommandExecutor {
         
         // List user permissions
         sender.sendMessage(INFO_PREFIX + "User permissions: ");
-        List<String> userPermissions = plugin.getConfigManager().getConfig().getStringList("users." + player.getName() + ".permissions");
+        List<String> userPermissions = user.getPermissions();
         if (userPermissions.isEmpty()) {
             sender.sendMessage(INFO_PREFIX + "No user-specific permissions set.");
         } else {
@@ -762,7 +734,7 @@ public class PermissionCommands implements CommandExecutor {
         
         // List groups
         sender.sendMessage(INFO_PREFIX + "Groups: ");
-        List<String> groups = plugin.getConfigManager().getConfig().getStringList("users." + player.getName() + ".groups");
+        List<String> groups = user.getGroups();
         if (groups.isEmpty()) {
             sender.sendMessage(INFO_PREFIX + "User is not in any groups.");
         } else {
@@ -784,8 +756,9 @@ public class PermissionCommands implements CommandExecutor {
     private boolean addGroupMember(String playerName, String groupName, CommandSender sender) {
         OfflinePlayer targetPlayer = null;
         try {
-            // Try to get player by name first
-            targetPlayer = Bukkit.getOfflinePlayer(playerName);
+            // Try the permission store's name index first, then the server's
+            UUID known = store().findUser(playerName);
+            targetPlayer = known != null ? Bukkit.getOfflinePlayer(known) : Bukkit.getOfflinePlayer(playerName);
             
             // If not found, try to parse as UUID
             if (targetPlayer == null || !targetPlayer.hasPlayedBefore()) {
@@ -819,8 +792,9 @@ public class PermissionCommands implements CommandExecutor {
     private boolean removeGroupMember(String playerName, String groupName, CommandSender sender) {
         OfflinePlayer targetPlayer = null;
         try {
-            // Try to get player by name first
-            targetPlayer = Bukkit.getOfflinePlayer(playerName);
+            // Try the permission store's name index first, then the server's
+            UUID known = store().findUser(playerName);
+            targetPlayer = known != null ? Bukkit.getOfflinePlayer(known) : Bukkit.getOfflinePlayer(playerName);
             
             // If not found, try to parse as UUID
             if (targetPlayer == null || !targetPlayer.hasPlayedBefore()) {
@@ -844,6 +818,14 @@ public class PermissionCommands implements CommandExecutor {
         return removeGroup(targetPlayer, groupName, sender);
     }
 
+    /**
+     * Gets the permission store
+     * @return The permission store
+     */
+    private PermissionStore store() {
+        return plugin.getPermissionManager().getStore();
+    }
+
     /**
      * Shifts the arguments array by removing the first element
      * @param args The arguments array
@@ -865,7 +847,7 @@ public class PermissionCommands implements CommandExecutor {
             case "main":
                 sender.sendMessage(INFO_PREFIX + "Permission Commands:");
                 sender.sendMessage(INFO_PREFIX + "/permission user <player> <add|remove|addgroup|removegroup|info> [permission|group]");
-                sender.sendMessage(INFO_PREFIX + "/permission group <group> <add|remove|prefix|info|addmember|removemember|family|addparent|removeparent> [permission|prefix|player|parent]");
+                sender.sendMessage(INFO_PREFIX + "/permission group <group> <create|delete|add|remove|prefix|info|addmember|removemember|family|addparent|removeparent> [permission|prefix|player|parent]");
                 sender.sendMessage(INFO_PREFIX + "/permission listgroups");
                 sender.sendMessage(INFO_PREFIX + "/permission reload");
                 sender.sendMessage(INFO_PREFIX + "/permission default <add|remove|info> [permission]");
@@ -880,6 +862,8 @@ public class PermissionCommands implements CommandExecutor {
                 break;
             case "group":
                 sender.sendMessage(INFO_PREFIX + "Group Commands:");
+                sender.sendMessage(INFO_PREFIX + "/permission group <group> create");
+                sender.sendMessage(INFO_PREFIX + "/permission group <group> delete");
                 sender.sendMessage(INFO_PREFIX + "/permission group <group> add <permission>");
                 sender.sendMessage(INFO_PREFIX + "/permission group <group> remove <permission>");
                 sender.sendMessage(INFO_PREFIX + "/permission group <group> prefix <prefix>");
@@ -24,7 +24,7 @@ public class PermissionTabCompleter implements TabCompleter {
 
     private static final String[] MAIN_COMMANDS = {"user", "group", "listgroups", "reload", "default"};
     private static final String[] USER_COMMANDS = {"add", "remove", "addgroup", "removegroup", "info"};
-    private static final String[] GROUP_COMMANDS = {"add", "remove", "prefix", "info", "addmember", "removemember", "family", "addparent", "removeparent"};
+    private static final String[] GROUP_COMMANDS = {"create", "delete", "add", "remove", "prefix", "info", "addmember", "removemember", "family", "addparent", "removeparent"};
     private static final String[] DEFAULT_COMMANDS = {"add", "remove", "info"};
 
     private final Core plugin;
@@ -187,11 +187,7 @@ public class PermissionTabCompleter implements TabCompleter {
      * @return List of suggested groups
      */
     private List<String> suggestGroups(String input) {
-        if (!plugin.getConfigManager().getConfig().contains("groups")) {
-            return new ArrayList<>();
-        }
-
-        return plugin.getConfigManager().getConfig().getConfigurationSection("groups").getKeys(false).stream()
+        return plugin.getPermissionManager().getStore().getGroupNames().stream()
                 .filter(group -> group.toLowerCase().startsWith(input.toLowerCase()))
                 .collect(Collectors.toList());
     }
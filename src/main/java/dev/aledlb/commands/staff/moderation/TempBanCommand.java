@@ -1,6 +1,7 @@
 package dev.aledlb.commands.staff.moderation;
 
 import dev.aledlb.features.moderation.TempBanManager;
+import dev.aledlb.utilities.Durations;
 import dev.aledlb.utilities.Logger;
 import org.bukkit.Bukkit;
 import org.bukkit.ChatColor;
@@ -64,7 +65,7 @@ public class TempBanCommand implements CommandExecutor {
         String durationStr = args[1];
         long duration;
         try {
-            duration = parseDuration(durationStr);
+            duration = Durations.parse(durationStr);
         } catch (IllegalArgumentException e) {
             sender.sendMessage(ChatColor.RED + "Invalid duration format: " + durationStr);
             sender.sendMessage(ChatColor.YELLOW + "Valid formats: 1h, 1d, 1w, 1m");
@@ -95,54 +96,6 @@ public class TempBanCommand implements CommandExecutor {
         return true;
     }
 
-    /**
-     * Parses a duration string into milliseconds.
-     * @param durationStr The duration string to parse (e.g., "1h", "1d", "1w", "1m").
-     * @return The duration in milliseconds.
-     * @throws IllegalArgumentException if the duration format is invalid.
-     */
-    private long parseDuration(String durationStr) {
-        if (durationStr == null || durationStr.isEmpty()) {
-            throw new IllegalArgumentException("Duration cannot be empty");
-        }
-
-        // Extract the number and unit
-        String numberStr = durationStr.substring(0, durationStr.length() - 1);
-        String unit = durationStr.substring(durationStr.length() - 1).toLowerCase();
-
-        // Parse the number
-        int number;
-        try {
-            number = Integer.parseInt(numberStr);
-        } catch (NumberFormatException e) {
-            throw new IllegalArgumentException("Invalid number in duration: " + numberStr);
-        }
-
-        // Convert to milliseconds
-        long milliseconds;
-        switch (unit) {
-            case "s": // seconds
-                milliseconds = number * 1000L;
-                break;
-            case "m": // minutes
-                milliseconds = number * 60 * 1000L;
-                break;
-            case "h": // hours
-                milliseconds = number * 60 * 60 * 1000L;
-                break;
-            case "d": // days
-                milliseconds = number * 24 * 60 * 60 * 1000L;
-                break;
-            case "w": // weeks
-                milliseconds = number * 7 * 24 * 60 * 60 * 1000L;
-                break;
-            default:
-                throw new IllegalArgumentException("Invalid duration unit: " + unit);
-        }
-
-        return milliseconds;
-    }
-
     /**
      * Formats a duration in milliseconds to a human-readable string.
      * @param durationMs The duration in milliseconds.
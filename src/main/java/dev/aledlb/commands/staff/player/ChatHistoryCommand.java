@@ -1,7 +1,10 @@
 package dev.aledlb.commands.staff.player;
 
+import dev.aledlb.features.chat.ChatArchive;
 import dev.aledlb.features.player.PlayerData;
 import dev.aledlb.features.player.PlayerDataManager;
+import dev.aledlb.utilities.Durations;
+import dev.aledlb.utilities.HistoryView;
 import dev.aledlb.utilities.Logger;
 import org.bukkit.Bukkit;
 import org.bukkit.ChatColor;
@@ -9,6 +12,7 @@ import org.bukkit.command.Command;
 import org.bukkit.command.CommandExecutor;
 import org.bukkit.command.CommandSender;
 import org.bukkit.entity.Player;
+import org.bukkit.plugin.java.JavaPlugin;
 
 import java.text.SimpleDateFormat;
 import java.util.Date;
@@ -17,25 +21,37 @@ import java.util.UUID;
 
 /**
  * Command to manage player chat history.
- * Usage: /chathistory <player> [list|clear]
+ * Usage: /chathistory <player> [list|clear] [--since <time>]
+ *        /chathistory search <term> [player] [since]
  */
 public class ChatHistoryCommand implements CommandExecutor {
     private static final String PERMISSION = "core.chathistory";
-    private static final String USAGE = "/chathistory <player> [list|clear]";
+    private static final String USAGE = "/chathistory <player> [list|clear] [--since <time>]";
+    private static final String SINCE_FLAG = "--since";
+    private static final int MAX_SINCE_RESULTS = 500;
+    private static final String SEARCH_USAGE = "/chathistory search <term> [player] [since]";
+    private static final String SEARCH_HEADER = ChatColor.GOLD + "=== Chat Archive: %s ===";
+    private static final int MAX_SEARCH_RESULTS = 50;
     private static final String ERROR_PREFIX = ChatColor.RED + "Error: " + ChatColor.GRAY;
     private static final String SUCCESS_PREFIX = ChatColor.GREEN + "Success: " + ChatColor.GRAY;
     private static final String INFO_PREFIX = ChatColor.YELLOW + "Info: " + ChatColor.GRAY;
     private static final String HEADER = ChatColor.GOLD + "=== Chat History for %s ===";
     
+    private final JavaPlugin plugin;
     private final PlayerDataManager dataManager;
+    private final ChatArchive chatArchive;
     private final SimpleDateFormat dateFormat;
 
     /**
      * Creates a new ChatHistoryCommand instance.
+     * @param plugin The plugin instance.
      * @param dataManager The player data manager.
+     * @param chatArchive The server-wide chat archive.
      */
-    public ChatHistoryCommand(PlayerDataManager dataManager) {
+    public ChatHistoryCommand(JavaPlugin plugin, PlayerDataManager dataManager, ChatArchive chatArchive) {
+        this.plugin = plugin;
         this.dataManager = dataManager;
+        this.chatArchive = chatArchive;
         this.dateFormat = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss");
     }
 
@@ -51,6 +67,11 @@ public class ChatHistoryCommand implements CommandExecutor {
             return true;
         }
 
+        if (args[0].equalsIgnoreCase("search")) {
+            searchArchive(sender, args);
+            return true;
+        }
+
         String targetName = args[0];
         UUID uuid = null;
 
@@ -74,7 +95,18 @@ public class ChatHistoryCommand implements CommandExecutor {
             return true;
         }
 
-        if (args.length == 1 || (args.length == 2 && args[1].equalsIgnoreCase("list"))) {
+        int sinceIndex = args.length >= 3 ? args.length - 2 : -1;
+        if (sinceIndex > 0 && args[sinceIndex].equalsIgnoreCase(SINCE_FLAG)
+                && (sinceIndex == 1 || args[1].equalsIgnoreCase("list"))) {
+            long since;
+            try {
+                since = System.currentTimeMillis() - Durations.parse(args[sinceIndex + 1]);
+            } catch (IllegalArgumentException e) {
+                sender.sendMessage(ERROR_PREFIX + e.getMessage());
+                return true;
+            }
+            listChatHistorySince(sender, data, targetName, since);
+        } else if (args.length == 1 || (args.length == 2 && args[1].equalsIgnoreCase("list"))) {
             listChatHistory(sender, data, targetName);
         } else if (args.length == 2 && args[1].equalsIgnoreCase("clear")) {
             clearChatHistory(sender, data, targetName);
@@ -92,7 +124,7 @@ public class ChatHistoryCommand implements CommandExecutor {
      * @param targetName The target player's name.
      */
     private void listChatHistory(CommandSender sender, PlayerData data, String targetName) {
-        List<String> messages = data.getChatHistory();
+        HistoryView<String> messages = data.getChatHistory();
         
         if (messages.isEmpty()) {
             sender.sendMessage(INFO_PREFIX + "No chat history found for " + targetName);
@@ -100,16 +132,116 @@ public class ChatHistoryCommand implements CommandExecutor {
         }
 
         sender.sendMessage(String.format(HEADER, targetName));
-        
-        for (String message : messages) {
-            String[] parts = message.split("\\|", 2);
-            if (parts.length == 2) {
-                long timestamp = Long.parseLong(parts[0]);
-                String content = parts[1];
-                String date = dateFormat.format(new Date(timestamp));
-                sender.sendMessage(ChatColor.GRAY + "[" + date + "] " + ChatColor.WHITE + content);
+        messages.forEachStamped((timestamp, message) -> sendEntry(sender, timestamp, message));
+    }
+
+    /**
+     * Lists the messages a player sent since a point in time.
+     * Older ranges are read from the player's chat log off the main thread.
+     * @param sender The command sender.
+     * @param data The player data.
+     * @param targetName The target player's name.
+     * @param since The earliest timestamp to include.
+     */
+    private void listChatHistorySince(CommandSender sender, PlayerData data, String targetName, long since) {
+        dataManager.getChatHistorySince(data, since, MAX_SINCE_RESULTS).whenComplete((slice, error) ->
+                Bukkit.getScheduler().runTask(plugin, () -> {
+                    if (error != null) {
+                        Logger.severe("Could not read chat history for " + targetName + ": " + error.getMessage());
+                        sender.sendMessage(ERROR_PREFIX + "Could not read chat history for " + targetName);
+                        return;
+                    }
+
+                    if (slice.size() == 0) {
+                        sender.sendMessage(INFO_PREFIX + "No chat history found for " + targetName + " in that period");
+                        return;
+                    }
+
+                    sender.sendMessage(String.format(HEADER, targetName));
+                    for (int i = 0; i < slice.size(); i++) {
+                        sendEntry(sender, slice.getTimestamp(i), slice.getMessage(i));
+                    }
+                }));
+    }
+
+    /**
+     * Searches the server-wide chat archive.
+     * The optional arguments are a player name and a duration such as 10m, in either order.
+     * @param sender The command sender.
+     * @param args The command arguments, starting with "search".
+     */
+    private void searchArchive(CommandSender sender, String[] args) {
+        if (args.length < 2 || args.length > 4) {
+            sender.sendMessage(ERROR_PREFIX + "Usage: " + SEARCH_USAGE);
+            return;
+        }
+
+        if (!chatArchive.isEnabled()) {
+            sender.sendMessage(ERROR_PREFIX + "The chat archive is disabled in config.yml");
+            return;
+        }
+
+        String term = args[1];
+        UUID player = null;
+        long since = 0;
+
+        for (int i = 2; i < args.length; i++) {
+            if (args[i].matches("\\d+[smhdwSMHDW]")) {
+                try {
+                    since = System.currentTimeMillis() - Durations.parse(args[i]);
+                } catch (IllegalArgumentException e) {
+                    sender.sendMessage(ERROR_PREFIX + e.getMessage());
+                    return;
+                }
+            } else {
+                player = Bukkit.getOfflinePlayer(args[i]).getUniqueId();
             }
         }
+
+        long start = System.currentTimeMillis();
+        chatArchive.search(term, player, since, MAX_SEARCH_RESULTS).whenComplete((results, error) ->
+                Bukkit.getScheduler().runTask(plugin, () -> {
+                    if (error != null) {
+                        Logger.severe("Chat archive search for '" + term + "' failed: " + error.getMessage());
+                        sender.sendMessage(ERROR_PREFIX + "Could not search the chat archive");
+                        return;
+                    }
+                    sendSearchResults(sender, term, results, System.currentTimeMillis() - start);
+                }));
+    }
+
+    /**
+     * Sends chat archive search results.
+     * @param sender The command sender.
+     * @param term The searched term.
+     * @param results The matching messages, oldest first.
+     * @param tookMillis How long the search took.
+     */
+    private void sendSearchResults(CommandSender sender, String term, List<ChatArchive.Result> results, long tookMillis) {
+        if (results.isEmpty()) {
+            sender.sendMessage(INFO_PREFIX + "No archived messages match '" + term + "'");
+            return;
+        }
+
+        sender.sendMessage(String.format(SEARCH_HEADER, term));
+        for (ChatArchive.Result result : results) {
+            String name = Bukkit.getOfflinePlayer(result.getUuid()).getName();
+            String date = dateFormat.format(new Date(result.getTimestamp()));
+            sender.sendMessage(ChatColor.GRAY + "[" + date + "] " + ChatColor.YELLOW + (name != null ? name : result.getUuid())
+                    + ChatColor.GRAY + ": " + ChatColor.WHITE + result.getMessage());
+        }
+        sender.sendMessage(INFO_PREFIX + "Showing the " + results.size() + " most recent matches (" + tookMillis + "ms)");
+    }
+
+    /**
+     * Sends a single chat history entry.
+     * @param sender The command sender.
+     * @param timestamp The time the message was sent.
+     * @param message The message.
+     */
+    private void sendEntry(CommandSender sender, long timestamp, String message) {
+        String date = dateFormat.format(new Date(timestamp));
+        sender.sendMessage(ChatColor.GRAY + "[" + date + "] " + ChatColor.WHITE + message);
     }
 
     /**
@@ -119,8 +251,7 @@ public class ChatHistoryCommand implements CommandExecutor {
      * @param targetName The target player's name.
      */
     private void clearChatHistory(CommandSender sender, PlayerData data, String targetName) {
-        data.clearChatHistory();
-        dataManager.savePlayerData(data);
+        dataManager.clearChatHistory(data);
         sender.sendMessage(SUCCESS_PREFIX + "Cleared chat history for " + targetName);
     }
-} 
\ No newline at end of file
+}
@@ -2,6 +2,7 @@ package dev.aledlb.commands.staff.player;
 
 import dev.aledlb.features.player.PlayerData;
 import dev.aledlb.features.player.PlayerDataManager;
+import dev.aledlb.utilities.HistoryView;
 import org.bukkit.Bukkit;
 import org.bukkit.ChatColor;
 import org.bukkit.command.Command;
@@ -102,7 +103,7 @@ public class InventoryBackupCommand implements CommandExecutor {
     private void saveBackup(CommandSender sender, Player player) {
         PlayerData data = dataManager.getPlayerData(player.getUniqueId());
         data.addInventoryBackup(player.getInventory().getContents());
-        dataManager.savePlayerData(data);
+        dataManager.markDirty(data);
         sender.sendMessage(SUCCESS_SAVE);
     }
 
@@ -114,7 +115,7 @@ public class InventoryBackupCommand implements CommandExecutor {
      */
     private void restoreBackup(CommandSender sender, Player player, int backupNumber) {
         PlayerData data = dataManager.getPlayerData(player.getUniqueId());
-        List<ItemStack[]> backups = data.getInventoryBackups();
+        List<ItemStack[]> backups = data.getInventoryBackups().toList();
         
         if (backups.isEmpty()) {
             sender.sendMessage(ERROR_NO_BACKUPS);
@@ -137,7 +138,7 @@ public class InventoryBackupCommand implements CommandExecutor {
      */
     private void listBackups(CommandSender sender, UUID uuid) {
         PlayerData data = dataManager.getPlayerData(uuid);
-        List<ItemStack[]> backups = data.getInventoryBackups();
+        HistoryView<ItemStack[]> backups = data.getInventoryBackups();
         
         if (backups.isEmpty()) {
             sender.sendMessage(ERROR_NO_BACKUPS);
@@ -145,9 +146,10 @@ public class InventoryBackupCommand implements CommandExecutor {
         }
 
         sender.sendMessage(HEADER);
-        for (int i = 0; i < backups.size(); i++) {
-            String timestamp = dateFormat.format(new Date(data.getLastBackup()));
-            sender.sendMessage(String.format(BACKUP_FORMAT, i, timestamp));
-        }
+        int[] index = {0};
+        backups.forEachStamped((takenAt, backup) -> {
+            String timestamp = dateFormat.format(new Date(takenAt));
+            sender.sendMessage(String.format(BACKUP_FORMAT, index[0]++, timestamp));
+        });
     }
 } 
\ No newline at end of file
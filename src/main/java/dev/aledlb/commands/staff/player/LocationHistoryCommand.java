@@ -102,7 +102,7 @@ public class LocationHistoryCommand implements CommandExecutor {
      */
     private void listLocations(CommandSender sender, UUID uuid) {
         PlayerData data = dataManager.getPlayerData(uuid);
-        List<Location> locations = data.getLocationHistory();
+        List<Location> locations = data.getLocationHistory().toList();
         
         if (locations.isEmpty()) {
             sender.sendMessage(ERROR_NO_HISTORY);
@@ -124,7 +124,7 @@ public class LocationHistoryCommand implements CommandExecutor {
      */
     private void teleportToLocation(Player player, UUID targetUuid, int index) {
         PlayerData data = dataManager.getPlayerData(targetUuid);
-        List<Location> locations = data.getLocationHistory();
+        List<Location> locations = data.getLocationHistory().toList();
         
         if (locations.isEmpty()) {
             player.sendMessage(ERROR_NO_HISTORY);
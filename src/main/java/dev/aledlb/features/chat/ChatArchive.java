@@ -0,0 +1,796 @@
+package dev.aledlb.features.chat;
+
+import dev.aledlb.utilities.Logger;
+import org.bukkit.configuration.file.FileConfiguration;
+import org.bukkit.plugin.java.JavaPlugin;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Server-wide chat archive.
+ * Messages are queued from the chat thread and written by a single
+ * background thread to segmented append-only files under chatarchive/.
+ * An in-memory inverted index maps each word to the ascending ids of the
+ * messages containing it, so searches only touch matching messages and
+ * read their text back from disk by offset. Full segments are rotated and
+ * the oldest are deleted once the segment count or age limit is reached.
+ */
+public class ChatArchive {
+    private static final String FOLDER = "chatarchive";
+    private static final String SEGMENT_PREFIX = "segment-";
+    private static final String SEGMENT_EXTENSION = ".log";
+    private static final int QUEUE_CAPACITY = 65536;
+    private static final int WRITE_BATCH_SIZE = 1024;
+    private static final int RECORD_HEADER = 4 + 8 + 16;
+    private static final int MAX_MESSAGE_BYTES = 4096;
+    private static final int MIN_TOKEN_LENGTH = 2;
+    private static final int MAX_TOKEN_LENGTH = 32;
+    private static final long DEFAULT_SEGMENT_SIZE_MB = 16;
+    private static final int DEFAULT_MAX_SEGMENTS = 64;
+    private static final long DEFAULT_RETENTION_DAYS = 30;
+
+    private final File folder;
+    private final boolean enabled;
+    private final long segmentBytes;
+    private final int maxSegments;
+    private final long retentionMillis;
+    private final BlockingQueue<Pending> queue;
+    private final AtomicLong dropped;
+    private final ExecutorService searchExecutor;
+    private final ReentrantReadWriteLock lock;
+    private Thread writerThread;
+    private volatile boolean running;
+
+    // Index state, guarded by lock
+    private final List<Segment> segments;
+    private final Map<String, IntList> postings;
+    private final Map<UUID, Integer> playerIds;
+    private final List<UUID> players;
+    private final List<IntList> playerPostings;
+    private long[] timestamps;
+    private int[] messagePlayers;
+    private Segment[] messageSegments;
+    private long[] offsets;
+    private int baseId;
+    private int nextId;
+
+    // Writer thread state
+    private Segment current;
+    private DataOutputStream out;
+
+    /**
+     * Creates a new ChatArchive instance and starts the writer thread.
+     * @param plugin The plugin instance.
+     */
+    public ChatArchive(JavaPlugin plugin) {
+        FileConfiguration config = plugin.getConfig();
+        this.folder = new File(plugin.getDataFolder(), FOLDER);
+        this.enabled = config.getBoolean("chat-archive.enabled", true);
+        this.segmentBytes = Math.max(1, config.getLong("chat-archive.segment-size", DEFAULT_SEGMENT_SIZE_MB)) * 1024 * 1024;
+        this.maxSegments = Math.max(1, config.getInt("chat-archive.max-segments", DEFAULT_MAX_SEGMENTS));
+        this.retentionMillis = TimeUnit.DAYS.toMillis(config.getLong("chat-archive.retention-days", DEFAULT_RETENTION_DAYS));
+        this.queue = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+        this.dropped = new AtomicLong();
+        this.searchExecutor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "Core-ChatArchive-Search");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.lock = new ReentrantReadWriteLock();
+        this.segments = new ArrayList<>();
+        this.postings = new HashMap<>();
+        this.playerIds = new HashMap<>();
+        this.players = new ArrayList<>();
+        this.playerPostings = new ArrayList<>();
+        this.timestamps = new long[1024];
+        this.messagePlayers = new int[1024];
+        this.messageSegments = new Segment[1024];
+        this.offsets = new long[1024];
+
+        if (!enabled) {
+            return;
+        }
+
+        if (!folder.exists()) {
+            folder.mkdirs();
+        }
+
+        running = true;
+        writerThread = new Thread(this::runWriter, "Core-ChatArchive-Writer");
+        writerThread.setDaemon(true);
+        writerThread.start();
+    }
+
+    /**
+     * Queues a chat message for archiving. Never blocks the calling thread;
+     * if the writer has fallen too far behind the message is dropped and counted.
+     * @param uuid The sender's UUID.
+     * @param message The message.
+     */
+    public void record(UUID uuid, String message) {
+        if (!running) {
+            return;
+        }
+        if (!queue.offer(new Pending(System.currentTimeMillis(), uuid, message))) {
+            dropped.incrementAndGet();
+        }
+    }
+
+    /**
+     * Searches the archive for messages containing every word of a query.
+     * @param query The words to look for.
+     * @param player Only match this sender, or null for everyone.
+     * @param since The earliest timestamp to include.
+     * @param limit The maximum number of results, counted from the newest.
+     * @return A future completed with the matching messages, oldest first.
+     */
+    public CompletableFuture<List<Result>> search(String query, UUID player, long since, int limit) {
+        if (!enabled) {
+            return CompletableFuture.completedFuture(new ArrayList<>());
+        }
+        return CompletableFuture.supplyAsync(() -> readResults(findMatches(query, player, since, limit)), searchExecutor);
+    }
+
+    /**
+     * Stops accepting messages, writes everything still queued and closes the current segment.
+     */
+    public void shutdown() {
+        running = false;
+        searchExecutor.shutdownNow();
+        if (writerThread == null) {
+            return;
+        }
+
+        writerThread.interrupt();
+        try {
+            writerThread.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Checks whether archiving is enabled.
+     * @return true if enabled.
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Gets the number of messages currently indexed.
+     * @return The indexed message count.
+     */
+    public int getIndexedCount() {
+        lock.readLock().lock();
+        try {
+            return nextId - baseId;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Gets the number of segment files currently kept.
+     * @return The segment count.
+     */
+    public int getSegmentCount() {
+        lock.readLock().lock();
+        try {
+            return segments.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Gets the number of messages dropped because the write queue was full.
+     * @return The dropped message count.
+     */
+    public long getDroppedCount() {
+        return dropped.get();
+    }
+
+    /**
+     * Gets the number of messages waiting to be written.
+     * @return The queue depth.
+     */
+    public int getQueueDepth() {
+        return queue.size();
+    }
+
+    /**
+     * Writer thread main loop: rebuilds the index from disk, then writes queued messages in batches.
+     */
+    private void runWriter() {
+        loadSegments();
+
+        List<Pending> batch = new ArrayList<>(WRITE_BATCH_SIZE);
+        while (running || !queue.isEmpty()) {
+            try {
+                Pending first = queue.poll(1, TimeUnit.SECONDS);
+                if (first == null) {
+                    applyRetention();
+                    continue;
+                }
+                batch.add(first);
+            } catch (InterruptedException e) {
+                // Shutdown: fall through and drain what is left
+            }
+
+            queue.drainTo(batch, WRITE_BATCH_SIZE - batch.size());
+            if (!batch.isEmpty()) {
+                writeBatch(batch);
+                batch.clear();
+            }
+        }
+
+        closeSegment();
+    }
+
+    /**
+     * Scans existing segment files and rebuilds the in-memory index.
+     */
+    private void loadSegments() {
+        File[] files = folder.listFiles((dir, name) -> name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_EXTENSION));
+        if (files == null || files.length == 0) {
+            return;
+        }
+
+        List<Segment> found = new ArrayList<>();
+        for (File file : files) {
+            String number = file.getName().substring(SEGMENT_PREFIX.length(), file.getName().length() - SEGMENT_EXTENSION.length());
+            try {
+                found.add(new Segment(Long.parseLong(number), file));
+            } catch (NumberFormatException e) {
+                Logger.warning("Skipping chat archive file with invalid name: " + file.getName());
+            }
+        }
+        found.sort((a, b) -> Long.compare(a.number, b.number));
+
+        long start = System.currentTimeMillis();
+        for (Segment segment : found) {
+            loadSegment(segment);
+        }
+        applyRetention();
+        Logger.console("Indexed " + getIndexedCount() + " archived chat messages in " + (System.currentTimeMillis() - start) + "ms");
+    }
+
+    /**
+     * Reads every record of a segment into the index.
+     * @param segment The segment to read.
+     */
+    private void loadSegment(Segment segment) {
+        long offset = 0;
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(segment.file)))) {
+            while (true) {
+                int length;
+                try {
+                    length = in.readInt();
+                } catch (EOFException e) {
+                    break;
+                }
+                if (length < 0 || length > MAX_MESSAGE_BYTES) {
+                    Logger.warning("Chat archive " + segment.file.getName() + " is corrupt at offset " + offset + ", ignoring the rest");
+                    break;
+                }
+
+                long timestamp = in.readLong();
+                UUID uuid = new UUID(in.readLong(), in.readLong());
+                byte[] bytes = new byte[length];
+                in.readFully(bytes);
+
+                lock.writeLock().lock();
+                try {
+                    if (segment.firstId < 0) {
+                        segment.firstId = nextId;
+                        segments.add(segment);
+                    }
+                    index(segment, offset, timestamp, uuid, new String(bytes, StandardCharsets.UTF_8));
+                } finally {
+                    lock.writeLock().unlock();
+                }
+                segment.lastTimestamp = timestamp;
+                offset += RECORD_HEADER + length;
+            }
+        } catch (EOFException e) {
+            Logger.warning("Chat archive " + segment.file.getName() + " ends with a partial record, ignoring it");
+        } catch (IOException e) {
+            Logger.severe("Could not read chat archive " + segment.file.getName() + ": " + e.getMessage());
+        }
+        segment.size = offset;
+
+        if (segment.firstId < 0) {
+            // Nothing readable in this segment
+            segment.file.delete();
+        }
+    }
+
+    /**
+     * Appends a batch of messages to the current segment, then indexes them.
+     * @param batch The messages to write.
+     */
+    private void writeBatch(List<Pending> batch) {
+        long[] written = new long[batch.size()];
+        Segment[] writtenTo = new Segment[batch.size()];
+        boolean rotated = false;
+
+        try {
+            for (int i = 0; i < batch.size(); i++) {
+                if (current == null || current.size >= segmentBytes) {
+                    rotate();
+                    rotated = true;
+                }
+
+                Pending pending = batch.get(i);
+                byte[] bytes = pending.message.getBytes(StandardCharsets.UTF_8);
+                if (bytes.length > MAX_MESSAGE_BYTES) {
+                    bytes = Arrays.copyOf(bytes, MAX_MESSAGE_BYTES);
+                }
+
+                out.writeInt(bytes.length);
+                out.writeLong(pending.timestamp);
+                out.writeLong(pending.uuid.getMostSignificantBits());
+                out.writeLong(pending.uuid.getLeastSignificantBits());
+                out.write(bytes);
+
+                written[i] = current.size;
+                writtenTo[i] = current;
+                current.size += RECORD_HEADER + bytes.length;
+                current.lastTimestamp = pending.timestamp;
+            }
+            out.flush();
+        } catch (IOException e) {
+            Logger.severe("Could not write " + batch.size() + " messages to the chat archive: " + e.getMessage());
+            closeSegment();
+            return;
+        }
+
+        // Only index records that have reached the file, so searches can read them back
+        lock.writeLock().lock();
+        try {
+            for (int i = 0; i < batch.size(); i++) {
+                Segment segment = writtenTo[i];
+                if (segment.firstId < 0) {
+                    segment.firstId = nextId;
+                    segments.add(segment);
+                }
+                Pending pending = batch.get(i);
+                index(segment, written[i], pending.timestamp, pending.uuid, pending.message);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        if (rotated) {
+            applyRetention();
+        }
+    }
+
+    /**
+     * Closes the current segment and opens a new one.
+     * @throws IOException If the new segment could not be opened.
+     */
+    private void rotate() throws IOException {
+        closeSegment();
+
+        long number = System.currentTimeMillis();
+        lock.readLock().lock();
+        try {
+            if (!segments.isEmpty()) {
+                number = Math.max(number, segments.get(segments.size() - 1).number + 1);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        File file = new File(folder, SEGMENT_PREFIX + number + SEGMENT_EXTENSION);
+        current = new Segment(number, file);
+        out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file, true)));
+    }
+
+    /**
+     * Closes the current segment, if any.
+     */
+    private void closeSegment() {
+        if (out != null) {
+            try {
+                out.close();
+            } catch (IOException e) {
+                Logger.warning("Could not close chat archive segment: " + e.getMessage());
+            }
+        }
+        out = null;
+        current = null;
+    }
+
+    /**
+     * Deletes the oldest closed segments beyond the count or age limit and drops them from the index.
+     */
+    private void applyRetention() {
+        long cutoff = System.currentTimeMillis() - retentionMillis;
+        List<Segment> expired = new ArrayList<>();
+
+        lock.writeLock().lock();
+        try {
+            Iterator<Segment> iterator = segments.iterator();
+            while (iterator.hasNext()) {
+                Segment segment = iterator.next();
+                boolean overCount = segments.size() > maxSegments;
+                if (segment == current || (!overCount && segment.lastTimestamp >= cutoff)) {
+                    break;
+                }
+                expired.add(segment);
+                iterator.remove();
+            }
+
+            if (expired.isEmpty()) {
+                return;
+            }
+
+            int newBase = segments.isEmpty() ? nextId : segments.get(0).firstId;
+            dropBelow(newBase);
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        for (Segment segment : expired) {
+            if (!segment.file.delete()) {
+                Logger.warning("Could not delete expired chat archive " + segment.file.getName());
+            }
+        }
+        Logger.debug("Deleted " + expired.size() + " expired chat archive segments");
+    }
+
+    /**
+     * Adds a message to the index. Must hold the write lock.
+     * @param segment The segment the message was written to.
+     * @param offset The record's offset in the segment.
+     * @param timestamp The time the message was sent.
+     * @param uuid The sender's UUID.
+     * @param message The message.
+     */
+    private void index(Segment segment, long offset, long timestamp, UUID uuid, String message) {
+        int slot = nextId - baseId;
+        if (slot == timestamps.length) {
+            int grown = timestamps.length * 2;
+            timestamps = Arrays.copyOf(timestamps, grown);
+            messagePlayers = Arrays.copyOf(messagePlayers, grown);
+            messageSegments = Arrays.copyOf(messageSegments, grown);
+            offsets = Arrays.copyOf(offsets, grown);
+        }
+
+        Integer playerId = playerIds.get(uuid);
+        if (playerId == null) {
+            playerId = players.size();
+            playerIds.put(uuid, playerId);
+            players.add(uuid);
+            playerPostings.add(new IntList());
+        }
+
+        int id = nextId++;
+        timestamps[slot] = timestamp;
+        messagePlayers[slot] = playerId;
+        messageSegments[slot] = segment;
+        offsets[slot] = offset;
+        playerPostings.get(playerId).add(id);
+
+        for (String token : tokenize(message)) {
+            postings.computeIfAbsent(token, key -> new IntList()).add(id);
+        }
+    }
+
+    /**
+     * Drops every indexed message with an id below a new base. Must hold the write lock.
+     * @param newBase The lowest id to keep.
+     */
+    private void dropBelow(int newBase) {
+        int shift = newBase - baseId;
+        if (shift <= 0) {
+            return;
+        }
+
+        int live = nextId - newBase;
+        System.arraycopy(timestamps, shift, timestamps, 0, live);
+        System.arraycopy(messagePlayers, shift, messagePlayers, 0, live);
+        System.arraycopy(messageSegments, shift, messageSegments, 0, live);
+        System.arraycopy(offsets, shift, offsets, 0, live);
+        Arrays.fill(messageSegments, live, live + shift, null);
+        baseId = newBase;
+
+        postings.values().removeIf(list -> {
+            list.removeBelow(newBase);
+            return list.size() == 0;
+        });
+        for (IntList list : playerPostings) {
+            list.removeBelow(newBase);
+        }
+    }
+
+    /**
+     * Finds the newest messages matching a query under the read lock.
+     * @param query The words to look for.
+     * @param player Only match this sender, or null for everyone.
+     * @param since The earliest timestamp to include.
+     * @param limit The maximum number of matches.
+     * @return The matches, newest first.
+     */
+    private List<Match> findMatches(String query, UUID player, long since, int limit) {
+        List<Match> matches = new ArrayList<>();
+        Set<String> terms = tokenize(query);
+        if (terms.isEmpty()) {
+            return matches;
+        }
+
+        lock.readLock().lock();
+        try {
+            List<IntList> lists = new ArrayList<>();
+            for (String term : terms) {
+                IntList list = postings.get(term);
+                if (list == null) {
+                    return matches;
+                }
+                lists.add(list);
+            }
+
+            int playerId = -1;
+            if (player != null) {
+                Integer id = playerIds.get(player);
+                if (id == null) {
+                    return matches;
+                }
+                playerId = id;
+                lists.add(playerPostings.get(id));
+            }
+
+            // Walk the shortest list newest first and probe the others
+            lists.sort((a, b) -> Integer.compare(a.size(), b.size()));
+            IntList driver = lists.get(0);
+
+            for (int i = driver.size() - 1; i >= 0 && matches.size() < limit; i--) {
+                int id = driver.get(i);
+                if (id < baseId) {
+                    break;
+                }
+
+                int slot = id - baseId;
+                if (timestamps[slot] < since) {
+                    break;
+                }
+                if (playerId >= 0 && messagePlayers[slot] != playerId) {
+                    continue;
+                }
+
+                boolean inAll = true;
+                for (int j = 1; j < lists.size() && inAll; j++) {
+                    inAll = lists.get(j).contains(id);
+                }
+                if (inAll) {
+                    matches.add(new Match(messageSegments[slot], offsets[slot], timestamps[slot], players.get(messagePlayers[slot])));
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return matches;
+    }
+
+    /**
+     * Reads the text of matched messages back from their segments.
+     * @param matches The matches, newest first.
+     * @return The results, oldest first.
+     */
+    private List<Result> readResults(List<Match> matches) {
+        List<Result> results = new ArrayList<>(matches.size());
+        Map<Segment, RandomAccessFile> open = new HashMap<>();
+
+        try {
+            for (int i = matches.size() - 1; i >= 0; i--) {
+                Match match = matches.get(i);
+                try {
+                    RandomAccessFile in = open.get(match.segment);
+                    if (in == null) {
+                        in = new RandomAccessFile(match.segment.file, "r");
+                        open.put(match.segment, in);
+                    }
+
+                    in.seek(match.offset);
+                    int length = in.readInt();
+                    in.skipBytes(RECORD_HEADER - 4);
+                    byte[] bytes = new byte[length];
+                    in.readFully(bytes);
+                    results.add(new Result(match.timestamp, match.uuid, new String(bytes, StandardCharsets.UTF_8)));
+                } catch (IOException e) {
+                    // The segment expired between matching and reading
+                }
+            }
+        } finally {
+            for (RandomAccessFile in : open.values()) {
+                try {
+                    in.close();
+                } catch (IOException ignored) {
+                }
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Splits text into distinct lower-case words.
+     * @param text The text to split.
+     * @return The words, in order of first appearance.
+     */
+    private static Set<String> tokenize(String text) {
+        Set<String> tokens = new LinkedHashSet<>();
+        StringBuilder token = new StringBuilder();
+
+        for (int i = 0; i <= text.length(); i++) {
+            char c = i < text.length() ? text.charAt(i) : ' ';
+            if (Character.isLetterOrDigit(c)) {
+                if (token.length() < MAX_TOKEN_LENGTH) {
+                    token.append(Character.toLowerCase(c));
+                }
+            } else if (token.length() > 0) {
+                if (token.length() >= MIN_TOKEN_LENGTH) {
+                    tokens.add(token.toString());
+                }
+                token.setLength(0);
+            }
+        }
+        return tokens;
+    }
+
+    /**
+     * A message waiting to be written.
+     */
+    private static class Pending {
+        private final long timestamp;
+        private final UUID uuid;
+        private final String message;
+
+        private Pending(long timestamp, UUID uuid, String message) {
+            this.timestamp = timestamp;
+            this.uuid = uuid;
+            this.message = message;
+        }
+    }
+
+    /**
+     * An archive file and the range of message ids it holds.
+     */
+    private static class Segment {
+        private final long number;
+        private final File file;
+        private volatile long size;
+        private volatile long lastTimestamp;
+        private int firstId = -1;
+
+        private Segment(long number, File file) {
+            this.number = number;
+            this.file = file;
+        }
+    }
+
+    /**
+     * A matched message's location on disk.
+     */
+    private static class Match {
+        private final Segment segment;
+        private final long offset;
+        private final long timestamp;
+        private final UUID uuid;
+
+        private Match(Segment segment, long offset, long timestamp, UUID uuid) {
+            this.segment = segment;
+            this.offset = offset;
+            this.timestamp = timestamp;
+            this.uuid = uuid;
+        }
+    }
+
+    /**
+     * An archived message returned by a search.
+     */
+    public static class Result {
+        private final long timestamp;
+        private final UUID uuid;
+        private final String message;
+
+        private Result(long timestamp, UUID uuid, String message) {
+            this.timestamp = timestamp;
+            this.uuid = uuid;
+            this.message = message;
+        }
+
+        /**
+         * Gets the time the message was sent.
+         * @return The timestamp.
+         */
+        public long getTimestamp() {
+            return timestamp;
+        }
+
+        /**
+         * Gets the sender's UUID.
+         * @return The sender's UUID.
+         */
+        public UUID getUuid() {
+            return uuid;
+        }
+
+        /**
+         * Gets the message.
+         * @return The message.
+         */
+        public String getMessage() {
+            return message;
+        }
+    }
+
+    /**
+     * Growable list of ascending message ids.
+     */
+    private static class IntList {
+        private int[] values = new int[4];
+        private int size;
+
+        private void add(int value) {
+            if (size > 0 && values[size - 1] == value) {
+                return;
+            }
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        private int get(int index) {
+            return values[index];
+        }
+
+        private int size() {
+            return size;
+        }
+
+        private boolean contains(int value) {
+            return Arrays.binarySearch(values, 0, size, value) >= 0;
+        }
+
+        private void removeBelow(int value) {
+            int index = Arrays.binarySearch(values, 0, size, value);
+            int cut = index >= 0 ? index : -index - 1;
+            if (cut == 0) {
+                return;
+            }
+            System.arraycopy(values, cut, values, 0, size - cut);
+            size -= cut;
+        }
+    }
+}
@@ -0,0 +1,251 @@
+package dev.aledlb.features.chat;
+
+import dev.aledlb.Core;
+import dev.aledlb.utilities.PermissionStore;
+import dev.aledlb.utilities.Settings;
+import org.bukkit.ChatColor;
+import org.bukkit.entity.Player;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Formats chat messages from a template compiled once from {@code chat-format}.
+ * The template is a list of literal segments and slots for {@code %prefix%},
+ * {@code %player%} (display name), {@code %name%} and {@code %message%}.
+ * Each player's fully resolved format is cached until their permissions or
+ * groups change, so formatting a message is a map lookup.
+ */
+public class ChatFormatter {
+    private static final String MESSAGE_ARGUMENT = "%2$s";
+
+    private final Core plugin;
+    private final Map<UUID, Resolved> cache;
+    private volatile Segment[] template;
+
+    /**
+     * Creates a new ChatFormatter instance.
+     * @param plugin The Core plugin instance.
+     */
+    public ChatFormatter(Core plugin) {
+        this.plugin = plugin;
+        this.cache = new ConcurrentHashMap<>();
+        reload(plugin.getConfigManager().getSettings());
+        plugin.getConfigManager().subscribe(this::reload);
+    }
+
+    /**
+     * Recompiles the template and drops all cached formats.
+     * @param settings The parsed plugin configuration.
+     */
+    public void reload(Settings settings) {
+        template = compile(settings.getChatFormat());
+        cache.clear();
+    }
+
+    /**
+     * Gets the chat format for a player, suitable for {@code AsyncPlayerChatEvent#setFormat}.
+     * @param player The player.
+     * @return The format, with the message as its second argument.
+     */
+    public String getFormat(Player player) {
+        return resolve(player).format;
+    }
+
+    /**
+     * Gets a player's colorized group prefix.
+     * @param player The player.
+     * @return The prefix, or an empty string if the player has none.
+     */
+    public String getPrefix(Player player) {
+        return resolve(player).prefix;
+    }
+
+    /**
+     * Drops a player's cached format.
+     * @param uuid The player's UUID.
+     */
+    public void invalidate(UUID uuid) {
+        cache.remove(uuid);
+    }
+
+    /**
+     * Drops every cached format, for example after a group prefix changes.
+     */
+    public void invalidateAll() {
+        cache.clear();
+    }
+
+    /**
+     * Gets the cached entry for a player, resolving it if missing or stale.
+     * @param player The player.
+     * @return The resolved entry.
+     */
+    private Resolved resolve(Player player) {
+        String displayName = player.getDisplayName();
+        Resolved resolved = cache.get(player.getUniqueId());
+        if (resolved != null && resolved.displayName.equals(displayName)) {
+            return resolved;
+        }
+
+        // Resolve inside compute so a concurrent invalidate cannot be overwritten by a stale entry
+        return cache.compute(player.getUniqueId(), (uuid, current) ->
+                current != null && current.displayName.equals(displayName) ? current : build(player, displayName));
+    }
+
+    /**
+     * Fills the template for a player.
+     * @param player The player.
+     * @param displayName The player's current display name.
+     * @return The resolved entry.
+     */
+    private Resolved build(Player player, String displayName) {
+        Segment[] segments = template;
+        String prefix = lookupPrefix(player);
+        StringBuilder format = new StringBuilder();
+        for (Segment segment : segments) {
+            switch (segment.type) {
+                case LITERAL:
+                    format.append(segment.text);
+                    break;
+                case PREFIX:
+                    format.append(escape(prefix));
+                    break;
+                case DISPLAY_NAME:
+                    format.append(escape(displayName));
+                    break;
+                case NAME:
+                    format.append(escape(player.getName()));
+                    break;
+                case MESSAGE:
+                    format.append(MESSAGE_ARGUMENT);
+                    break;
+            }
+        }
+        return new Resolved(displayName, prefix, format.toString());
+    }
+
+    /**
+     * Reads the prefix of a player's first group from the permission store.
+     * @param player The player.
+     * @return The colorized prefix.
+     */
+    private String lookupPrefix(Player player) {
+        PermissionStore store = plugin.getPermissionManager().getStore();
+        List<String> groups = store.getUser(player.getUniqueId()).getGroups();
+        if (groups.isEmpty()) {
+            return "";
+        }
+        return ChatColor.translateAlternateColorCodes('&', store.getGroup(groups.get(0)).getPrefix());
+    }
+
+    /**
+     * Splits a format string into literal segments and slots.
+     * @param format The format string.
+     * @return The compiled template.
+     */
+    private static Segment[] compile(String format) {
+        List<Segment> segments = new ArrayList<>();
+        StringBuilder literal = new StringBuilder();
+        int i = 0;
+
+        while (i < format.length()) {
+            SlotType slot = null;
+            int end = -1;
+            if (format.charAt(i) == '%') {
+                end = format.indexOf('%', i + 1);
+                if (end > i) {
+                    slot = SlotType.fromKey(format.substring(i + 1, end));
+                }
+            }
+
+            if (slot == null) {
+                literal.append(format.charAt(i));
+                i++;
+                continue;
+            }
+
+            if (literal.length() > 0) {
+                segments.add(Segment.literal(literal.toString()));
+                literal.setLength(0);
+            }
+            segments.add(new Segment(slot, null));
+            i = end + 1;
+        }
+
+        if (literal.length() > 0) {
+            segments.add(Segment.literal(literal.toString()));
+        }
+        return segments.toArray(new Segment[0]);
+    }
+
+    /**
+     * Escapes a value for use inside a {@link String#format} pattern.
+     * @param text The text.
+     * @return The escaped text.
+     */
+    private static String escape(String text) {
+        return text.indexOf('%') < 0 ? text : text.replace("%", "%%");
+    }
+
+    /**
+     * Kinds of template segment.
+     */
+    private enum SlotType {
+        LITERAL(null),
+        PREFIX("prefix"),
+        DISPLAY_NAME("player"),
+        NAME("name"),
+        MESSAGE("message");
+
+        private final String key;
+
+        SlotType(String key) {
+            this.key = key;
+        }
+
+        private static SlotType fromKey(String key) {
+            for (SlotType type : values()) {
+                if (key.equalsIgnoreCase(type.key)) {
+                    return type;
+                }
+            }
+            return null;
+        }
+    }
+
+    /**
+     * A literal piece of the template or a slot filled per player.
+     */
+    private static class Segment {
+        private final SlotType type;
+        private final String text;
+
+        private Segment(SlotType type, String text) {
+            this.type = type;
+            this.text = text;
+        }
+
+        private static Segment literal(String text) {
+            return new Segment(SlotType.LITERAL, escape(ChatColor.translateAlternateColorCodes('&', text)));
+        }
+    }
+
+    /**
+     * A player's resolved prefix and format, valid while their display name is unchanged.
+     */
+    private static class Resolved {
+        private final String displayName;
+        private final String prefix;
+        private final String format;
+
+        private Resolved(String displayName, String prefix, String format) {
+            this.displayName = displayName;
+            this.prefix = prefix;
+            this.format = format;
+        }
+    }
+}
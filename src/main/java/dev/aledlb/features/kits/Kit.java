@@ -0,0 +1,179 @@
+package dev.aledlb.features.kits;
+
+import dev.aledlb.features.player.KitUsage;
+import org.bukkit.configuration.file.FileConfiguration;
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.bukkit.entity.Player;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.PlayerInventory;
+
+import java.util.List;
+
+/**
+ * An immutable kit: deserialized item templates for the inventory, armor and off-hand,
+ * plus its claim restrictions (cooldown, one-time and daily limit).
+ * Templates are never handed out directly; every read returns copies.
+ */
+public final class Kit {
+    private final String name;
+    private final ItemStack[] inventory;
+    private final ItemStack[] armor;
+    private final ItemStack offHand;
+    private final int id;
+    private final long cooldownMillis;
+    private final boolean oneTime;
+    private final int dailyLimit;
+
+    private Kit(String name, ItemStack[] inventory, ItemStack[] armor, ItemStack offHand,
+                long cooldownSeconds, boolean oneTime, int dailyLimit) {
+        this.name = name;
+        this.inventory = inventory;
+        this.armor = armor;
+        this.offHand = offHand;
+        this.id = KitUsage.idOf(name);
+        this.cooldownMillis = Math.max(0, cooldownSeconds) * 1000;
+        this.oneTime = oneTime;
+        this.dailyLimit = Math.max(0, dailyLimit);
+    }
+
+    /**
+     * Creates a kit from a player's current inventory.
+     * @param name The kit name.
+     * @param player The player.
+     * @return The kit.
+     */
+    public static Kit fromPlayer(String name, Player player) {
+        PlayerInventory playerInventory = player.getInventory();
+        return new Kit(name, copy(playerInventory.getContents()), copy(playerInventory.getArmorContents()),
+                copy(playerInventory.getItemInOffHand()), 0, false, 0);
+    }
+
+    /**
+     * Reads a kit from its configuration.
+     * @param name The kit name.
+     * @param config The kit file's configuration.
+     * @return The kit.
+     */
+    public static Kit fromConfig(String name, FileConfiguration config) {
+        return new Kit(name, toItems(config.getList("inventory")), toItems(config.getList("armor")),
+                config.getItemStack("offhand"), config.getLong("cooldown", 0),
+                config.getBoolean("one-time", false), config.getInt("daily-limit", 0));
+    }
+
+    /**
+     * Serializes the kit in the kit file format.
+     * @return The configuration.
+     */
+    public FileConfiguration toConfig() {
+        FileConfiguration config = new YamlConfiguration();
+        config.set("inventory", inventory);
+        config.set("armor", armor);
+        config.set("offhand", offHand);
+        config.set("cooldown", cooldownMillis / 1000);
+        config.set("one-time", oneTime);
+        config.set("daily-limit", dailyLimit);
+        return config;
+    }
+
+    /**
+     * Gets the kit name.
+     * @return The name.
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Gets the kit's id for indexing per-player usage.
+     * @return The kit id.
+     */
+    public int getId() {
+        return id;
+    }
+
+    /**
+     * Gets the time a player must wait between claims.
+     * @return The cooldown in milliseconds, or 0 for none.
+     */
+    public long getCooldownMillis() {
+        return cooldownMillis;
+    }
+
+    /**
+     * Gets whether each player may claim the kit only once.
+     * @return True for a one-time kit.
+     */
+    public boolean isOneTime() {
+        return oneTime;
+    }
+
+    /**
+     * Gets how many times a player may claim the kit per day.
+     * @return The daily limit, or 0 for no limit.
+     */
+    public int getDailyLimit() {
+        return dailyLimit;
+    }
+
+    /**
+     * Gets whether the kit has no inventory contents.
+     * @return True if the kit is empty.
+     */
+    public boolean isEmpty() {
+        return inventory.length == 0;
+    }
+
+    /**
+     * Gets copies of the inventory items.
+     * @return The inventory contents.
+     */
+    public ItemStack[] getInventory() {
+        return copy(inventory);
+    }
+
+    /**
+     * Gets copies of the armor items.
+     * @return The armor contents.
+     */
+    public ItemStack[] getArmor() {
+        return copy(armor);
+    }
+
+    /**
+     * Gets a copy of the off-hand item.
+     * @return The off-hand item, or null if none.
+     */
+    public ItemStack getOffHand() {
+        return copy(offHand);
+    }
+
+    /**
+     * Gets the inventory templates for read-only use, such as building previews.
+     * @return The inventory templates; must not be modified.
+     */
+    ItemStack[] inventoryTemplates() {
+        return inventory;
+    }
+
+    private static ItemStack[] toItems(List<?> list) {
+        if (list == null) {
+            return new ItemStack[0];
+        }
+        return list.stream()
+                .filter(item -> item instanceof ItemStack)
+                .map(item -> (ItemStack) item)
+                .toArray(ItemStack[]::new);
+    }
+
+    private static ItemStack[] copy(ItemStack[] items) {
+        ItemStack[] copies = new ItemStack[items.length];
+        for (int i = 0; i < items.length; i++) {
+            copies[i] = copy(items[i]);
+        }
+        return copies;
+    }
+
+    private static ItemStack copy(ItemStack item) {
+        return item != null ? item.clone() : null;
+    }
+}
@@ -0,0 +1,308 @@
+package dev.aledlb.features.kits;
+
+import dev.aledlb.Core;
+import dev.aledlb.features.player.KitUsage;
+import dev.aledlb.features.player.PlayerData;
+import dev.aledlb.utilities.TimingWheel;
+import org.bukkit.entity.Player;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.HashSet;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.BiConsumer;
+
+/**
+ * Enforces kit cooldowns, one-time kits and daily limits.
+ * Claims are recorded in each player's {@link KitUsage} and saved with their
+ * player data. Cooldown expirations for online players are tracked by one
+ * timing wheel advanced once a second, so thousands of running cooldowns cost
+ * no scheduler tasks of their own.
+ */
+public class KitCooldowns {
+    private static final String BYPASS_PERMISSION = "core.kit.cooldown.bypass";
+    private static final long TICK_MILLIS = 1000;
+    private static final int BUCKETS = 512;
+
+    private static final String DENIED_COOLDOWN = "&cYou can use this kit again in %s.";
+    private static final String DENIED_ONE_TIME = "&cYou have already claimed this kit.";
+    private static final String DENIED_DAILY_LIMIT = "&cYou have reached today's limit for this kit.";
+    private static final String STATUS_COOLDOWN = "&cAvailable in %s";
+    private static final String STATUS_ONE_TIME = "&cAlready claimed";
+    private static final String STATUS_DAILY_LIMIT = "&cDaily limit reached";
+
+    private final Core plugin;
+    private final KitRegistry registry;
+    private final TimingWheel<Expiry> wheel;
+    private final Set<Expiry> scheduled;
+    private final BiConsumer<Player, Kit> onReady;
+    private BukkitTask task;
+
+    /**
+     * Creates a new KitCooldowns instance.
+     * @param plugin The Core plugin instance.
+     * @param registry The kit registry.
+     * @param onReady Called when an online player's cooldown for a kit runs out.
+     */
+    public KitCooldowns(Core plugin, KitRegistry registry, BiConsumer<Player, Kit> onReady) {
+        this.plugin = plugin;
+        this.registry = registry;
+        this.wheel = new TimingWheel<>(TICK_MILLIS, BUCKETS, System.currentTimeMillis(), this::expire);
+        this.scheduled = new HashSet<>();
+        this.onReady = onReady;
+    }
+
+    /**
+     * Starts advancing the timing wheel.
+     */
+    public void start() {
+        long period = TICK_MILLIS / 50;
+        task = plugin.getServer().getScheduler().runTaskTimer(plugin,
+                () -> wheel.advance(System.currentTimeMillis()), period, period);
+    }
+
+    /**
+     * Stops advancing the timing wheel.
+     */
+    public void shutdown() {
+        if (task != null) {
+            task.cancel();
+            task = null;
+        }
+    }
+
+    /**
+     * Checks whether a player may claim a kit now.
+     * @param player The player.
+     * @param kit The kit.
+     * @return The reason the claim is refused, or null if it is allowed.
+     */
+    public String getDenial(Player player, Kit kit) {
+        return describe(player, kit, System.currentTimeMillis(), DENIED_ONE_TIME, DENIED_DAILY_LIMIT, DENIED_COOLDOWN);
+    }
+
+    /**
+     * Gets the lore line describing why a kit is unavailable, for the kit menu.
+     * @param player The player.
+     * @param kit The kit.
+     * @param now The current time in milliseconds.
+     * @return The colorized status line, or null if the kit is available.
+     */
+    public String getStatus(Player player, Kit kit, long now) {
+        String status = describe(player, kit, now, STATUS_ONE_TIME, STATUS_DAILY_LIMIT, STATUS_COOLDOWN);
+        return status != null ? status.replace('&', '§') : null;
+    }
+
+    /**
+     * Gets when a kit's status line next reads differently without a new claim,
+     * so the kit menu can keep showing it until then.
+     * @param player The player.
+     * @param kit The kit.
+     * @param now The current time in milliseconds.
+     * @return The time in milliseconds, or {@link Long#MAX_VALUE} if only a claim changes it.
+     */
+    public long getStatusChange(Player player, Kit kit, long now) {
+        switch (restrictionOf(player, kit, now)) {
+            case DAILY_LIMIT:
+                return LocalDate.now().plusDays(1).atStartOfDay(ZoneId.systemDefault()).toInstant().toEpochMilli();
+            case COOLDOWN:
+                long remaining = remaining(usageOf(player.getUniqueId()), kit, now);
+                return now + remaining - changesAt(remaining);
+            default:
+                return Long.MAX_VALUE;
+        }
+    }
+
+    /**
+     * Picks the message for the first restriction that stops a claim.
+     * @param player The player.
+     * @param kit The kit.
+     * @param now The current time in milliseconds.
+     * @param oneTime The message for an already claimed one-time kit.
+     * @param dailyLimit The message for a reached daily limit.
+     * @param cooldown The message for a running cooldown, formatted with the remaining time.
+     * @return The message, or null if the kit can be claimed.
+     */
+    private String describe(Player player, Kit kit, long now, String oneTime, String dailyLimit, String cooldown) {
+        switch (restrictionOf(player, kit, now)) {
+            case ONE_TIME:
+                return oneTime;
+            case DAILY_LIMIT:
+                return dailyLimit;
+            case COOLDOWN:
+                return String.format(cooldown, formatDuration(remaining(usageOf(player.getUniqueId()), kit, now)));
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * Finds the first restriction that stops a claim.
+     * @param player The player.
+     * @param kit The kit.
+     * @param now The current time in milliseconds.
+     * @return The restriction, or {@link Restriction#NONE} if the kit can be claimed.
+     */
+    private Restriction restrictionOf(Player player, Kit kit, long now) {
+        if (!isRestricted(kit) || player.hasPermission(BYPASS_PERMISSION)) {
+            return Restriction.NONE;
+        }
+
+        KitUsage usage = usageOf(player.getUniqueId());
+        if (kit.isOneTime() && usage.getTotalClaims(kit.getId()) > 0) {
+            return Restriction.ONE_TIME;
+        }
+        if (kit.getDailyLimit() > 0 && usage.getClaimsOn(kit.getId(), today()) >= kit.getDailyLimit()) {
+            return Restriction.DAILY_LIMIT;
+        }
+        return remaining(usage, kit, now) > 0 ? Restriction.COOLDOWN : Restriction.NONE;
+    }
+
+    /**
+     * Records a claim and schedules the cooldown expiry.
+     * @param player The player.
+     * @param kit The kit.
+     */
+    public void recordClaim(Player player, Kit kit) {
+        long now = System.currentTimeMillis();
+        PlayerData data = plugin.getPlayerDataManager().getPlayerData(player.getUniqueId());
+        data.getKitUsage().recordClaim(kit.getId(), now, today());
+        plugin.getPlayerDataManager().markDirty(data);
+
+        if (kit.getCooldownMillis() > 0) {
+            schedule(player.getUniqueId(), kit.getId(), now + kit.getCooldownMillis());
+        }
+    }
+
+    /**
+     * Schedules expiries for a player's running cooldowns, for example when they join.
+     * @param player The player.
+     */
+    public void scheduleActive(Player player) {
+        KitUsage usage = usageOf(player.getUniqueId());
+        long now = System.currentTimeMillis();
+        for (int kitId : usage.getClaimedKits()) {
+            Kit kit = registry.getKit(KitUsage.nameOf(kitId));
+            if (kit == null || kit.getCooldownMillis() == 0) {
+                continue;
+            }
+            long deadline = usage.getLastClaim(kitId) + kit.getCooldownMillis();
+            if (deadline > now) {
+                schedule(player.getUniqueId(), kitId, deadline);
+            }
+        }
+    }
+
+    private void schedule(UUID uuid, int kitId, long deadline) {
+        Expiry expiry = new Expiry(uuid, kitId, deadline);
+        if (scheduled.add(expiry)) {
+            wheel.schedule(expiry, deadline);
+        }
+    }
+
+    /**
+     * Handles a wheel timeout, notifying the player if the cooldown really ended.
+     * @param expiry The expired entry.
+     */
+    private void expire(Expiry expiry) {
+        scheduled.remove(expiry);
+        Player player = plugin.getServer().getPlayer(expiry.uuid);
+        Kit kit = registry.getKit(KitUsage.nameOf(expiry.kitId));
+        if (player == null || kit == null || kit.getCooldownMillis() == 0) {
+            return;
+        }
+
+        // A later claim or a changed cooldown makes this entry stale
+        long deadline = usageOf(expiry.uuid).getLastClaim(expiry.kitId) + kit.getCooldownMillis();
+        if (deadline == expiry.deadline) {
+            onReady.accept(player, kit);
+        }
+    }
+
+    private KitUsage usageOf(UUID uuid) {
+        return plugin.getPlayerDataManager().getPlayerData(uuid).getKitUsage();
+    }
+
+    private static boolean isRestricted(Kit kit) {
+        return kit.getCooldownMillis() > 0 || kit.isOneTime() || kit.getDailyLimit() > 0;
+    }
+
+    private static long remaining(KitUsage usage, Kit kit, long now) {
+        if (kit.getCooldownMillis() == 0) {
+            return 0;
+        }
+        long lastClaim = usage.getLastClaim(kit.getId());
+        return lastClaim == 0 ? 0 : lastClaim + kit.getCooldownMillis() - now;
+    }
+
+    private static int today() {
+        return (int) LocalDate.now().toEpochDay();
+    }
+
+    /**
+     * Formats a duration as days, hours, minutes and seconds, omitting smaller units for long waits.
+     * @param millis The duration in milliseconds.
+     * @return The formatted duration.
+     */
+    private static String formatDuration(long millis) {
+        long seconds = (millis + 999) / 1000;
+        long minutes = seconds / 60;
+        long hours = minutes / 60;
+        long days = hours / 24;
+
+        if (days > 0) {
+            return days + "d " + hours % 24 + "h";
+        } else if (hours > 0) {
+            return hours + "h " + minutes % 60 + "m";
+        } else if (minutes > 0) {
+            return minutes + "m " + seconds % 60 + "s";
+        }
+        return seconds + "s";
+    }
+
+    /**
+     * Gets the remaining duration at which {@link #formatDuration} next reads differently.
+     * @param millis The duration in milliseconds; must be positive.
+     * @return The shorter duration, in milliseconds, at which the formatted text changes.
+     */
+    private static long changesAt(long millis) {
+        long seconds = (millis + 999) / 1000;
+        long unit = seconds >= 86_400 ? 3600 : seconds >= 3600 ? 60 : 1;
+        return (seconds / unit * unit - 1) * 1000;
+    }
+
+    private enum Restriction {
+        NONE, ONE_TIME, DAILY_LIMIT, COOLDOWN
+    }
+
+    /**
+     * A scheduled cooldown expiry.
+     */
+    private static class Expiry {
+        private final UUID uuid;
+        private final int kitId;
+        private final long deadline;
+
+        private Expiry(UUID uuid, int kitId, long deadline) {
+            this.uuid = uuid;
+            this.kitId = kitId;
+            this.deadline = deadline;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Expiry)) return false;
+            Expiry other = (Expiry) o;
+            return kitId == other.kitId && deadline == other.deadline && uuid.equals(other.uuid);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(uuid, kitId, deadline);
+        }
+    }
+}
@@ -3,24 +3,20 @@ package dev.aledlb.features.kits;
 import dev.aledlb.Core;
 import dev.aledlb.utilities.Logger;
 import org.bukkit.Bukkit;
-import org.bukkit.ChatColor;
-import org.bukkit.Material;
-import org.bukkit.configuration.file.FileConfiguration;
-import org.bukkit.configuration.file.YamlConfiguration;
 import org.bukkit.entity.Player;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.EventPriority;
 import org.bukkit.event.Listener;
 import org.bukkit.event.inventory.InventoryClickEvent;
-import org.bukkit.inventory.Inventory;
+import org.bukkit.event.inventory.InventoryDragEvent;
+import org.bukkit.event.player.PlayerJoinEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
 import org.bukkit.inventory.ItemStack;
-import org.bukkit.inventory.meta.ItemMeta;
 import org.bukkit.plugin.Plugin;
 
 import java.io.File;
-import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.List;
+import java.util.UUID;
 import java.util.stream.Collectors;
 
 /**
@@ -29,13 +25,11 @@ import java.util.stream.Collectors;
  * - Managing kit GUI
  * - Handling kit permissions
  * - Managing kit contents
+ * Kits are served from the in-memory {@link KitRegistry}.
  */
 public class KitManager implements Listener {
 
     private static final String KITS_FOLDER = "kits";
-    private static final String GUI_TITLE = "Kits";
-    private static final int GUI_SIZE = 9;
-    private static final int MAX_PREVIEW_ITEMS = 10;
 
     private static final String ERROR_KIT_EXISTS = "&cA kit with that name already exists.";
     private static final String ERROR_KIT_NOT_FOUND = "&cNo kit with that name exists.";
@@ -51,8 +45,12 @@ public class KitManager implements Listener {
     private static final String SUCCESS_LOAD = "&aKit %s loaded successfully.";
     private static final String SUCCESS_SAVE = "&aKit %s saved successfully.";
     private static final String SUCCESS_DELETE = "&aKit %s deleted successfully.";
+    private static final String INFO_KIT_READY = "&aKit %s is available again.";
 
     private final Core plugin;
+    private final KitRegistry registry;
+    private final KitCooldowns cooldowns;
+    private final KitMenu menu;
 
     /**
      * Creates a new KitManager instance
@@ -62,6 +60,46 @@ public class KitManager implements Listener {
         this.plugin = plugin;
         Bukkit.getPluginManager().registerEvents(this, plugin);
         createKitsFolder();
+        this.registry = new KitRegistry(plugin, new File(plugin.getDataFolder(), KITS_FOLDER));
+        registry.start();
+        this.cooldowns = new KitCooldowns(plugin, registry, this::onCooldownEnd);
+        cooldowns.start();
+        this.menu = new KitMenu(registry, cooldowns);
+        registry.addListener(menu::refresh);
+    }
+
+    /**
+     * Drops a player's cached kit visibility after their permissions change
+     * @param uuid The player's UUID
+     */
+    public void invalidatePermissions(UUID uuid) {
+        menu.invalidate(uuid);
+    }
+
+    /**
+     * Stops tracking cooldowns and watching the kits folder
+     */
+    public void shutdown() {
+        cooldowns.shutdown();
+        registry.shutdown();
+    }
+
+    /**
+     * Tells a player a kit is available again
+     * @param player The player
+     * @param kit The kit
+     */
+    private void onCooldownEnd(Player player, Kit kit) {
+        Logger.player(player, String.format(INFO_KIT_READY, kit.getName()));
+        menu.refreshSlot(player, kit);
+    }
+
+    /**
+     * Gets the kit registry
+     * @return The kit registry
+     */
+    public KitRegistry getRegistry() {
+        return registry;
     }
 
     /**
@@ -83,18 +121,12 @@ public class KitManager implements Listener {
      */
     public void saveKit(Player player, String kitName) {
         try {
-            File kitFile = new File(plugin.getDataFolder() + File.separator + KITS_FOLDER, kitName + ".yml");
-            if (kitFile.exists()) {
+            if (registry.getKit(kitName) != null || registry.fileFor(kitName).exists()) {
                 Logger.player(player, ERROR_KIT_EXISTS);
                 return;
             }
 
-            FileConfiguration kitConfig = new YamlConfiguration();
-            kitConfig.set("inventory", player.getInventory().getContents());
-            kitConfig.set("armor", player.getInventory().getArmorContents());
-            kitConfig.set("offhand", player.getInventory().getItemInOffHand());
-
-            kitConfig.save(kitFile);
+            registry.save(Kit.fromPlayer(kitName, player));
             Logger.player(player, String.format(SUCCESS_SAVE, kitName));
         } catch (Exception e) {
             Logger.player(player, String.format(ERROR_SAVE, e.getMessage()));
@@ -109,13 +141,12 @@ public class KitManager implements Listener {
      */
     public void deleteKit(Player player, String kitName) {
         try {
-            File kitFile = new File(plugin.getDataFolder() + File.separator + KITS_FOLDER, kitName + ".yml");
-            if (!kitFile.exists()) {
+            if (registry.getKit(kitName) == null && !registry.fileFor(kitName).exists()) {
                 Logger.player(player, ERROR_KIT_NOT_FOUND);
                 return;
             }
 
-            if (!kitFile.delete()) {
+            if (!registry.delete(kitName)) {
                 Logger.player(player, ERROR_DELETE);
                 return;
             }
@@ -128,28 +159,14 @@ public class KitManager implements Listener {
     }
 
     /**
-     * Shows the kits GUI to a player
+     * Shows the first page of the kits GUI to a player
      * @param player The player to show the GUI to
      */
     public void showKitsGUI(Player player) {
         try {
-            Inventory kitsGUI = Bukkit.createInventory(null, GUI_SIZE, GUI_TITLE);
-            File kitsFolder = new File(plugin.getDataFolder(), KITS_FOLDER);
-            File[] kitFiles = kitsFolder.listFiles();
-
-            if (kitFiles == null || kitFiles.length == 0) {
+            if (!menu.open(player, 0)) {
                 Logger.player(player, ERROR_NO_KITS);
-                return;
             }
-
-            for (File kitFile : kitFiles) {
-                String kitName = kitFile.getName().replace(".yml", "");
-                FileConfiguration kitConfig = YamlConfiguration.loadConfiguration(kitFile);
-                ItemStack kitItem = createKitPreviewItem(kitName, kitConfig);
-                kitsGUI.addItem(kitItem);
-            }
-
-            player.openInventory(kitsGUI);
         } catch (Exception e) {
             Logger.player(player, ERROR_NO_KITS);
             Logger.severe("Error showing kits GUI: " + e.getMessage());
@@ -157,58 +174,49 @@ public class KitManager implements Listener {
     }
 
     /**
-     * Creates a preview item for a kit
-     * @param kitName The name of the kit
-     * @param kitConfig The kit's configuration
-     * @return The preview item
+     * Handles kit selection and page navigation in the GUI
+     * @param event The inventory click event
      */
-    private ItemStack createKitPreviewItem(String kitName, FileConfiguration kitConfig) {
-        ItemStack kitItem = new ItemStack(Material.CHEST);
-        ItemMeta meta = kitItem.getItemMeta();
-        if (meta != null) {
-            meta.setDisplayName(ChatColor.GREEN + kitName);
-            List<String> lore = new ArrayList<>();
-
-            List<?> rawInventoryItems = kitConfig.getList("inventory");
-            if (rawInventoryItems != null && !rawInventoryItems.isEmpty()) {
-                for (int i = 0; i < Math.min(rawInventoryItems.size(), MAX_PREVIEW_ITEMS); i++) {
-                    Object item = rawInventoryItems.get(i);
-                    if (item instanceof ItemStack) {
-                        ItemStack itemStack = (ItemStack) item;
-                        lore.add(ChatColor.YELLOW + itemStack.getType().toString() + " x" + itemStack.getAmount());
-                    }
-                }
-                if (rawInventoryItems.size() > MAX_PREVIEW_ITEMS) {
-                    lore.add(ChatColor.GRAY + "...and more");
-                }
-            } else {
-                lore.add(ChatColor.RED + "Empty Kit");
-            }
+    @EventHandler(priority = EventPriority.HIGH)
+    public void onKitSelect(InventoryClickEvent event) {
+        if (!(event.getInventory().getHolder() instanceof KitMenu.Page)) return;
 
-            meta.setLore(lore);
-            kitItem.setItemMeta(meta);
+        event.setCancelled(true);
+        if (event.getClickedInventory() != event.getInventory()) return;
+
+        Player player = (Player) event.getWhoClicked();
+        KitMenu.Page page = (KitMenu.Page) event.getInventory().getHolder();
+        int target = page.getTarget(event.getRawSlot());
+        if (target >= 0) {
+            menu.open(player, target);
+            return;
+        }
+
+        String kitName = page.getKitName(event.getRawSlot());
+        if (kitName != null) {
+            loadKitForPlayer(player, kitName);
         }
-        return kitItem;
     }
 
     /**
-     * Handles kit selection from the GUI
-     * @param event The inventory click event
+     * Prevents items being dragged into the GUI
+     * @param event The inventory drag event
      */
     @EventHandler(priority = EventPriority.HIGH)
-    public void onKitSelect(InventoryClickEvent event) {
-        if (!event.getView().getTitle().equals(GUI_TITLE)) return;
-
-        event.setCancelled(true);
-        ItemStack clickedItem = event.getCurrentItem();
-        if (clickedItem == null || clickedItem.getType() != Material.CHEST) return;
+    public void onKitDrag(InventoryDragEvent event) {
+        if (event.getInventory().getHolder() instanceof KitMenu.Page) {
+            event.setCancelled(true);
+        }
+    }
 
-        Player player = (Player) event.getWhoClicked();
-        ItemMeta meta = clickedItem.getItemMeta();
-        if (meta == null) return;
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onJoin(PlayerJoinEvent event) {
+        cooldowns.scheduleActive(event.getPlayer());
+    }
 
-        String kitName = ChatColor.stripColor(meta.getDisplayName());
-        loadKitForPlayer(player, kitName);
+    @EventHandler
+    public void onQuit(PlayerQuitEvent event) {
+        menu.invalidate(event.getPlayer().getUniqueId());
     }
 
     /**
@@ -218,8 +226,8 @@ public class KitManager implements Listener {
      */
     public void loadKitForPlayer(Player player, String kitName) {
         try {
-            File kitFile = new File(plugin.getDataFolder() + File.separator + KITS_FOLDER, kitName + ".yml");
-            if (!kitFile.exists()) {
+            Kit kit = registry.getKit(kitName);
+            if (kit == null) {
                 Logger.player(player, ERROR_KIT_MISSING);
                 return;
             }
@@ -234,8 +242,15 @@ public class KitManager implements Listener {
                 return;
             }
 
-            FileConfiguration kitConfig = YamlConfiguration.loadConfiguration(kitFile);
-            loadKitContents(player, kitConfig);
+            String denial = cooldowns.getDenial(player, kit);
+            if (denial != null) {
+                Logger.player(player, denial);
+                return;
+            }
+
+            loadKitContents(player, kit);
+            cooldowns.recordClaim(player, kit);
+            menu.invalidateStatus(player.getUniqueId());
             Logger.player(player, String.format(SUCCESS_LOAD, kitName));
         } catch (Exception e) {
             Logger.player(player, String.format(ERROR_LOAD, e.getMessage()));
@@ -246,33 +261,24 @@ public class KitManager implements Listener {
     /**
      * Loads the contents of a kit into a player's inventory
      * @param player The player to load the contents for
-     * @param kitConfig The kit's configuration
+     * @param kit The kit
      */
-    private void loadKitContents(Player player, FileConfiguration kitConfig) {
+    private void loadKitContents(Player player, Kit kit) {
         // Load inventory contents
-        List<?> inventoryList = kitConfig.getList("inventory");
-        if (inventoryList != null && !inventoryList.isEmpty()) {
-            ItemStack[] inventoryContents = inventoryList.stream()
-                .filter(item -> item instanceof ItemStack)
-                .map(item -> (ItemStack) item)
-                .toArray(ItemStack[]::new);
-            player.getInventory().setContents(inventoryContents);
+        if (!kit.isEmpty()) {
+            player.getInventory().setContents(kit.getInventory());
         } else {
             Logger.player(player, ERROR_CORRUPT_DATA);
         }
 
         // Load armor contents
-        List<?> armorList = kitConfig.getList("armor");
-        if (armorList != null && !armorList.isEmpty()) {
-            ItemStack[] armorContents = armorList.stream()
-                .filter(item -> item instanceof ItemStack)
-                .map(item -> (ItemStack) item)
-                .toArray(ItemStack[]::new);
+        ItemStack[] armorContents = kit.getArmor();
+        if (armorContents.length > 0) {
             player.getInventory().setArmorContents(armorContents);
         }
 
         // Load off-hand item
-        ItemStack offHand = kitConfig.getItemStack("offhand");
+        ItemStack offHand = kit.getOffHand();
         if (offHand != null) {
             player.getInventory().setItemInOffHand(offHand);
         }
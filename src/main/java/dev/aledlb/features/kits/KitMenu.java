@@ -0,0 +1,374 @@
+package dev.aledlb.features.kits;
+
+import org.bukkit.Bukkit;
+import org.bukkit.ChatColor;
+import org.bukkit.Material;
+import org.bukkit.entity.Player;
+import org.bukkit.inventory.Inventory;
+import org.bukkit.inventory.InventoryHolder;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.meta.ItemMeta;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Paged kit browser.
+ * Preview items are rendered once per registry change. Pages are built once
+ * per distinct set of visible kits and shared by every player who can see
+ * exactly those kits, so opening the menu is a cache lookup. The only
+ * per-player state is a bitmap of the kits the player may use, cached until
+ * their permissions or the kits change. A player with kits on cooldown gets a
+ * copy of the page in which only those kits' items are re-rendered; the copy
+ * is kept until the player claims a kit, a cooldown ends, or a status line it
+ * shows would read differently, such as a countdown reaching its next unit.
+ */
+public class KitMenu {
+    private static final String TITLE = "Kits";
+    private static final int ROW_SIZE = 9;
+    private static final int KITS_PER_PAGE = 45;
+    private static final int PREVIOUS_SLOT = 45;
+    private static final int INDICATOR_SLOT = 49;
+    private static final int NEXT_SLOT = 53;
+    private static final int MAX_PREVIEW_ITEMS = 10;
+
+    private final KitRegistry registry;
+    private final KitCooldowns cooldowns;
+    private final Map<UUID, BitSet> visibility;
+    private final Map<BitSet, Page[]> pagesByVisibility;
+    private final Map<UUID, PersonalPages> personalPages;
+    private List<Kit> kits;
+    private ItemStack[] previews;
+
+    /**
+     * Creates a new KitMenu instance.
+     * @param registry The kit registry.
+     * @param cooldowns The kit cooldowns, for marking unavailable kits.
+     */
+    public KitMenu(KitRegistry registry, KitCooldowns cooldowns) {
+        this.registry = registry;
+        this.cooldowns = cooldowns;
+        this.visibility = new HashMap<>();
+        this.pagesByVisibility = new HashMap<>();
+        this.personalPages = new HashMap<>();
+        refresh();
+    }
+
+    /**
+     * Re-renders previews after the kits changed and drops every cached page and bitmap.
+     */
+    public void refresh() {
+        kits = new ArrayList<>(registry.getKits());
+        previews = new ItemStack[kits.size()];
+        for (int i = 0; i < previews.length; i++) {
+            previews[i] = createPreviewItem(kits.get(i));
+        }
+        pagesByVisibility.clear();
+        visibility.clear();
+        personalPages.clear();
+    }
+
+    /**
+     * Drops a player's cached visibility and pages, for example after their permissions change.
+     * @param uuid The player's UUID.
+     */
+    public void invalidate(UUID uuid) {
+        visibility.remove(uuid);
+        personalPages.remove(uuid);
+    }
+
+    /**
+     * Drops a player's cached pages after they claim a kit, so the next open shows its new status.
+     * @param uuid The player's UUID.
+     */
+    public void invalidateStatus(UUID uuid) {
+        personalPages.remove(uuid);
+    }
+
+    /**
+     * Opens a page of the menu for a player.
+     * @param player The player.
+     * @param index The page index; clamped to the available pages.
+     * @return False if the player cannot use any kit.
+     */
+    public boolean open(Player player, int index) {
+        Page[] pages = pagesFor(player);
+        if (pages.length == 0) {
+            return false;
+        }
+        Page page = pages[Math.max(0, Math.min(index, pages.length - 1))];
+        player.openInventory(personalize(player, page).inventory);
+        return true;
+    }
+
+    /**
+     * Restores a kit's normal item in a player's open menu once its cooldown has ended,
+     * and drops their cached pages so the next open is rebuilt.
+     * @param player The player.
+     * @param kit The kit.
+     */
+    public void refreshSlot(Player player, Kit kit) {
+        personalPages.remove(player.getUniqueId());
+        InventoryHolder holder = player.getOpenInventory().getTopInventory().getHolder();
+        if (!(holder instanceof Page) || ((Page) holder).shared == null) {
+            return;
+        }
+
+        Page page = (Page) holder;
+        for (int slot = 0; slot < page.kits.length; slot++) {
+            if (page.kits[slot].getName().equals(kit.getName())) {
+                page.inventory.setItem(slot, page.shared.inventory.getItem(slot));
+            }
+        }
+    }
+
+    /**
+     * Returns the shared page, or a copy of it if some of its kits are unavailable to the player.
+     * The result is cached until one of the player's status lines changes.
+     * @param player The player.
+     * @param page The shared page.
+     * @return The page to show.
+     */
+    private Page personalize(Player player, Page page) {
+        long now = System.currentTimeMillis();
+        PersonalPages cached = personalPages.get(player.getUniqueId());
+        if (cached == null || now >= cached.validUntil) {
+            cached = new PersonalPages();
+            personalPages.put(player.getUniqueId(), cached);
+        }
+
+        Page personal = cached.pages.get(page);
+        if (personal == null) {
+            personal = buildPersonal(player, page, now, cached);
+            cached.pages.put(page, personal);
+        }
+        return personal;
+    }
+
+    /**
+     * Builds the page a player sees, noting in the cache when its status lines change.
+     * @param player The player.
+     * @param page The shared page.
+     * @param now The current time in milliseconds.
+     * @param cached The player's cached pages.
+     * @return The shared page, or a copy with status lines on the unavailable kits.
+     */
+    private Page buildPersonal(Player player, Page page, long now, PersonalPages cached) {
+        Page personal = null;
+
+        for (int slot = 0; slot < page.kits.length; slot++) {
+            String status = cooldowns.getStatus(player, page.kits[slot], now);
+            if (status == null) {
+                continue;
+            }
+            cached.validUntil = Math.min(cached.validUntil, cooldowns.getStatusChange(player, page.kits[slot], now));
+
+            if (personal == null) {
+                personal = new Page(page.index, page.pageCount, page.kits, page);
+                personal.title = page.title;
+                personal.inventory = Bukkit.createInventory(personal, page.inventory.getSize(), page.title);
+                personal.inventory.setContents(page.inventory.getContents());
+            }
+            personal.inventory.setItem(slot, withStatus(page.inventory.getItem(slot), status));
+        }
+        return personal != null ? personal : page;
+    }
+
+    /**
+     * Copies a preview item with a status line appended to its lore.
+     * @param preview The preview item.
+     * @param status The status line.
+     * @return The copy.
+     */
+    private static ItemStack withStatus(ItemStack preview, String status) {
+        ItemStack item = preview.clone();
+        ItemMeta meta = item.getItemMeta();
+        if (meta != null) {
+            List<String> lore = meta.hasLore() ? new ArrayList<>(meta.getLore()) : new ArrayList<>();
+            lore.add("");
+            lore.add(status);
+            meta.setLore(lore);
+            item.setItemMeta(meta);
+        }
+        return item;
+    }
+
+    /**
+     * Gets the bitmap of kits a player may use, computing it on first use.
+     * @param player The player.
+     * @return The visible kit bitmap; must not be modified.
+     */
+    private BitSet visibilityFor(Player player) {
+        BitSet visible = visibility.get(player.getUniqueId());
+        if (visible != null) {
+            return visible;
+        }
+
+        visible = new BitSet(kits.size());
+        boolean all = player.hasPermission("core.kit.*");
+        for (int i = 0; i < kits.size(); i++) {
+            if (all || player.hasPermission("core.kit." + kits.get(i).getName())) {
+                visible.set(i);
+            }
+        }
+        visibility.put(player.getUniqueId(), visible);
+        return visible;
+    }
+
+    /**
+     * Gets the shared pages for a player's visible kits, building them on first use.
+     * @param player The player.
+     * @return The pages.
+     */
+    private Page[] pagesFor(Player player) {
+        return pagesByVisibility.computeIfAbsent(visibilityFor(player), this::buildPages);
+    }
+
+    /**
+     * Lays out the visible kits into pages.
+     * @param visible The visible kit bitmap.
+     * @return The pages.
+     */
+    private Page[] buildPages(BitSet visible) {
+        int count = visible.cardinality();
+        int pageCount = (count + KITS_PER_PAGE - 1) / KITS_PER_PAGE;
+        Page[] pages = new Page[pageCount];
+        int kit = visible.nextSetBit(0);
+
+        for (int index = 0; index < pageCount; index++) {
+            int onPage = Math.min(KITS_PER_PAGE, count - index * KITS_PER_PAGE);
+            int size = pageCount == 1 ? Math.max(ROW_SIZE, (onPage + ROW_SIZE - 1) / ROW_SIZE * ROW_SIZE) : KITS_PER_PAGE + ROW_SIZE;
+            String title = pageCount == 1 ? TITLE : TITLE + " (" + (index + 1) + "/" + pageCount + ")";
+            Page page = new Page(index, pageCount, new Kit[onPage], null);
+            page.inventory = Bukkit.createInventory(page, size, title);
+            page.title = title;
+
+            for (int slot = 0; slot < onPage; slot++) {
+                page.kits[slot] = kits.get(kit);
+                page.inventory.setItem(slot, previews[kit]);
+                kit = visible.nextSetBit(kit + 1);
+            }
+            if (pageCount > 1) {
+                addNavigation(page, pageCount);
+            }
+            pages[index] = page;
+        }
+        return pages;
+    }
+
+    private static void addNavigation(Page page, int pageCount) {
+        if (page.index > 0) {
+            page.inventory.setItem(PREVIOUS_SLOT, createButton(Material.ARROW, ChatColor.YELLOW + "Previous page"));
+        }
+        page.inventory.setItem(INDICATOR_SLOT, createButton(Material.PAPER,
+                ChatColor.GRAY + "Page " + (page.index + 1) + " of " + pageCount));
+        if (page.index < pageCount - 1) {
+            page.inventory.setItem(NEXT_SLOT, createButton(Material.ARROW, ChatColor.YELLOW + "Next page"));
+        }
+    }
+
+    private static ItemStack createButton(Material material, String name) {
+        ItemStack button = new ItemStack(material);
+        ItemMeta meta = button.getItemMeta();
+        if (meta != null) {
+            meta.setDisplayName(name);
+            button.setItemMeta(meta);
+        }
+        return button;
+    }
+
+    /**
+     * Creates a preview item for a kit
+     * @param kit The kit
+     * @return The preview item
+     */
+    private static ItemStack createPreviewItem(Kit kit) {
+        ItemStack kitItem = new ItemStack(Material.CHEST);
+        ItemMeta meta = kitItem.getItemMeta();
+        if (meta != null) {
+            meta.setDisplayName(ChatColor.GREEN + kit.getName());
+            List<String> lore = new ArrayList<>();
+
+            ItemStack[] items = kit.inventoryTemplates();
+            if (items.length > 0) {
+                for (int i = 0; i < Math.min(items.length, MAX_PREVIEW_ITEMS); i++) {
+                    lore.add(ChatColor.YELLOW + items[i].getType().toString() + " x" + items[i].getAmount());
+                }
+                if (items.length > MAX_PREVIEW_ITEMS) {
+                    lore.add(ChatColor.GRAY + "...and more");
+                }
+            } else {
+                lore.add(ChatColor.RED + "Empty Kit");
+            }
+
+            meta.setLore(lore);
+            kitItem.setItemMeta(meta);
+        }
+        return kitItem;
+    }
+
+    /**
+     * A player's pages, keyed by the shared page they were built from.
+     */
+    private static class PersonalPages {
+        private final Map<Page, Page> pages = new HashMap<>();
+        private long validUntil = Long.MAX_VALUE;
+    }
+
+    /**
+     * One page of the menu; the holder of its inventory, so clicks can be mapped back to kits.
+     * Shared pages are reused by every viewer; a personal copy is made only for a
+     * player who has kits on the page they cannot claim yet.
+     */
+    public static class Page implements InventoryHolder {
+        private final int index;
+        private final int pageCount;
+        private final Kit[] kits;
+        private final Page shared;
+        private String title;
+        private Inventory inventory;
+
+        private Page(int index, int pageCount, Kit[] kits, Page shared) {
+            this.index = index;
+            this.pageCount = pageCount;
+            this.kits = kits;
+            this.shared = shared;
+        }
+
+        /**
+         * Gets the kit shown in a slot.
+         * @param slot The raw slot.
+         * @return The kit name, or null if the slot holds no kit.
+         */
+        public String getKitName(int slot) {
+            return slot >= 0 && slot < kits.length ? kits[slot].getName() : null;
+        }
+
+        /**
+         * Gets the page a navigation slot leads to.
+         * @param slot The raw slot.
+         * @return The target page index, or -1 if the slot is not an active button.
+         */
+        public int getTarget(int slot) {
+            if (pageCount < 2) {
+                return -1;
+            }
+            if (slot == PREVIOUS_SLOT && index > 0) {
+                return index - 1;
+            }
+            if (slot == NEXT_SLOT && index < pageCount - 1) {
+                return index + 1;
+            }
+            return -1;
+        }
+
+        @Override
+        public Inventory getInventory() {
+            return inventory;
+        }
+    }
+}
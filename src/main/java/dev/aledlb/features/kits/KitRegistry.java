@@ -0,0 +1,281 @@
+package dev.aledlb.features.kits;
+
+import dev.aledlb.utilities.Logger;
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.bukkit.plugin.Plugin;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * In-memory registry of every kit in the kits folder.
+ * Kits are parsed once at startup and published as an immutable, name-sorted
+ * snapshot, so listing, completing and claiming kits never touches the disk.
+ * A watch service picks up files changed outside the plugin; each changed
+ * file is re-parsed on the main thread and swapped into a new snapshot.
+ * Listeners are told on the main thread whenever the snapshot changes.
+ */
+public class KitRegistry {
+    private static final String EXTENSION = ".yml";
+
+    private final Plugin plugin;
+    private final File folder;
+    private final Set<String> pendingReloads;
+    private final List<Runnable> listeners;
+    private volatile Snapshot snapshot;
+    private WatchService watchService;
+    private Thread watcher;
+
+    /**
+     * Creates a new KitRegistry instance.
+     * @param plugin The plugin instance.
+     * @param folder The kits folder.
+     */
+    public KitRegistry(Plugin plugin, File folder) {
+        this.plugin = plugin;
+        this.folder = folder;
+        this.pendingReloads = ConcurrentHashMap.newKeySet();
+        this.listeners = new CopyOnWriteArrayList<>();
+        this.snapshot = Snapshot.EMPTY;
+    }
+
+    /**
+     * Loads every kit and starts watching the folder for changes.
+     */
+    public void start() {
+        loadAll();
+
+        try {
+            watchService = FileSystems.getDefault().newWatchService();
+            folder.toPath().register(watchService, StandardWatchEventKinds.ENTRY_CREATE,
+                    StandardWatchEventKinds.ENTRY_MODIFY, StandardWatchEventKinds.ENTRY_DELETE);
+        } catch (IOException e) {
+            Logger.warning("Could not watch the kits folder, external changes need a restart: " + e.getMessage());
+            return;
+        }
+
+        watcher = new Thread(this::watch, "Core-Kit-Watcher");
+        watcher.setDaemon(true);
+        watcher.start();
+    }
+
+    /**
+     * Stops watching the kits folder.
+     */
+    public void shutdown() {
+        if (watchService != null) {
+            try {
+                watchService.close();
+            } catch (IOException e) {
+                Logger.warning("Failed to close kits folder watcher: " + e.getMessage());
+            }
+        }
+        if (watcher != null) {
+            watcher.interrupt();
+        }
+    }
+
+    /**
+     * Registers a callback run on the main thread after kits are added, changed or removed.
+     * @param listener The callback.
+     */
+    public void addListener(Runnable listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Gets a kit by name.
+     * @param name The kit name.
+     * @return The kit, or null if none exists.
+     */
+    public Kit getKit(String name) {
+        return snapshot.kits.get(name);
+    }
+
+    /**
+     * Gets every kit, sorted by name.
+     * @return An unmodifiable view of the kits.
+     */
+    public Collection<Kit> getKits() {
+        return snapshot.kits.values();
+    }
+
+    /**
+     * Gets every kit name, sorted.
+     * @return An unmodifiable list of names.
+     */
+    public List<String> getKitNames() {
+        return snapshot.names;
+    }
+
+    /**
+     * Writes a kit to disk and adds it to the registry.
+     * @param kit The kit.
+     * @throws IOException If the file could not be written.
+     */
+    public void save(Kit kit) throws IOException {
+        kit.toConfig().save(fileFor(kit.getName()));
+        put(kit.getName(), kit);
+    }
+
+    /**
+     * Deletes a kit's file and removes it from the registry.
+     * @param name The kit name.
+     * @return True if the file was deleted.
+     */
+    public boolean delete(String name) {
+        if (!fileFor(name).delete()) {
+            return false;
+        }
+        put(name, null);
+        return true;
+    }
+
+    /**
+     * Gets the file a kit is stored in.
+     * @param name The kit name.
+     * @return The kit file.
+     */
+    public File fileFor(String name) {
+        return new File(folder, name + EXTENSION);
+    }
+
+    /**
+     * Parses every kit file into a fresh snapshot.
+     */
+    private void loadAll() {
+        Map<String, Kit> kits = new TreeMap<>();
+        File[] files = folder.listFiles((dir, fileName) -> fileName.endsWith(EXTENSION));
+        if (files != null) {
+            for (File file : files) {
+                Kit kit = parse(file);
+                if (kit != null) {
+                    kits.put(kit.getName(), kit);
+                }
+            }
+        }
+        publish(new Snapshot(kits));
+        Logger.info("Loaded " + kits.size() + " kits");
+    }
+
+    /**
+     * Re-reads one kit file, or drops the kit if the file is gone.
+     * @param name The kit name.
+     */
+    private void reload(String name) {
+        pendingReloads.remove(name);
+        File file = fileFor(name);
+        put(name, file.isFile() ? parse(file) : null);
+        Logger.debug("Reloaded kit " + name);
+    }
+
+    /**
+     * Publishes a snapshot with one kit added, replaced or removed.
+     * @param name The kit name.
+     * @param kit The kit, or null to remove it.
+     */
+    private void put(String name, Kit kit) {
+        Map<String, Kit> kits = new TreeMap<>(snapshot.kits);
+        if (kit != null) {
+            kits.put(name, kit);
+        } else {
+            kits.remove(name);
+        }
+        publish(new Snapshot(kits));
+    }
+
+    /**
+     * Replaces the snapshot and notifies listeners.
+     * @param next The new snapshot.
+     */
+    private void publish(Snapshot next) {
+        snapshot = next;
+        for (Runnable listener : listeners) {
+            try {
+                listener.run();
+            } catch (Exception e) {
+                Logger.severe("Error handling kit change: " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Parses a kit file.
+     * @param file The kit file.
+     * @return The kit, or null if the file could not be read.
+     */
+    private Kit parse(File file) {
+        String name = file.getName().substring(0, file.getName().length() - EXTENSION.length());
+        try {
+            return Kit.fromConfig(name, YamlConfiguration.loadConfiguration(file));
+        } catch (Exception e) {
+            Logger.severe("Error loading kit " + name + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Watcher thread loop: queues a main-thread reload for each changed kit file.
+     */
+    private void watch() {
+        try {
+            while (true) {
+                WatchKey key = watchService.take();
+                for (WatchEvent<?> event : key.pollEvents()) {
+                    if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                        plugin.getServer().getScheduler().runTask(plugin, this::loadAll);
+                        continue;
+                    }
+
+                    String fileName = ((Path) event.context()).getFileName().toString();
+                    if (!fileName.endsWith(EXTENSION)) {
+                        continue;
+                    }
+
+                    // Editors often fire several events per save; reload once
+                    String name = fileName.substring(0, fileName.length() - EXTENSION.length());
+                    if (pendingReloads.add(name)) {
+                        plugin.getServer().getScheduler().runTask(plugin, () -> reload(name));
+                    }
+                }
+                if (!key.reset()) {
+                    Logger.warning("Kits folder is no longer accessible, stopped watching it");
+                    return;
+                }
+            }
+        } catch (InterruptedException | ClosedWatchServiceException e) {
+            // Shutting down
+        }
+    }
+
+    /**
+     * Immutable view of all kits at one point in time.
+     */
+    private static class Snapshot {
+        private static final Snapshot EMPTY = new Snapshot(new TreeMap<>());
+
+        private final Map<String, Kit> kits;
+        private final List<String> names;
+
+        private Snapshot(Map<String, Kit> kits) {
+            this.kits = Collections.unmodifiableMap(kits);
+            this.names = Collections.unmodifiableList(new ArrayList<>(kits.keySet()));
+        }
+    }
+}
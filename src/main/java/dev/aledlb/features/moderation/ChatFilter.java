@@ -8,9 +8,11 @@ import org.bukkit.entity.Player;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.Listener;
 import org.bukkit.event.player.AsyncPlayerChatEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
 
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.regex.Pattern;
@@ -18,13 +20,15 @@ import java.util.regex.PatternSyntaxException;
 
 /**
  * Manages chat filtering with customizable rules.
+ * Rules are checked in the order they were added, through a compiled {@link FilterEngine}.
+ * The chat thread reads an immutable {@link RuleSet} that is replaced as a whole on every
+ * change, and rule edits are saved through the debounced {@code ConfigManager}.
  */
 public class ChatFilter implements Listener {
     private final Core plugin;
-    private final Map<String, FilterRule> filterRules;
-    private final Map<Player, Long> lastMessageTime;
-    private final Map<Player, String> lastMessage;
-    private static final long MESSAGE_COOLDOWN = 1000; // 1 second cooldown between messages
+    private final Object writeLock;
+    private volatile RuleSet ruleSet;
+    private volatile ChatRateLimiter rateLimiter;
 
     /**
      * Creates a new ChatFilter instance.
@@ -32,9 +36,8 @@ public class ChatFilter implements Listener {
      */
     public ChatFilter(Core plugin) {
         this.plugin = plugin;
-        this.filterRules = new HashMap<>();
-        this.lastMessageTime = new HashMap<>();
-        this.lastMessage = new HashMap<>();
+        this.writeLock = new Object();
+        this.ruleSet = RuleSet.EMPTY;
         loadFilterRules();
     }
 
@@ -42,37 +45,46 @@ public class ChatFilter implements Listener {
      * Loads filter rules from the configuration.
      */
     public void loadFilterRules() {
-        filterRules.clear();
+        rateLimiter = new ChatRateLimiter(plugin.getConfig().getConfigurationSection("chat-filter.rate-limit"));
+        Map<String, FilterRule> rules = new LinkedHashMap<>();
         ConfigurationSection rulesSection = plugin.getConfig().getConfigurationSection("chat-filter.rules");
-        
+
         if (rulesSection == null) {
             // Add default rules if none exist
-            addDefaultRules();
-            return;
-        }
+            addDefaultRules(rules);
+        } else {
+            for (String key : rulesSection.getKeys(false)) {
+                ConfigurationSection ruleSection = rulesSection.getConfigurationSection(key);
+                if (ruleSection != null) {
+                    try {
+                        String pattern = ruleSection.getString("pattern");
+                        String action = ruleSection.getString("action", "block");
+                        String message = ruleSection.getString("message", "Your message was blocked.");
 
-        for (String key : rulesSection.getKeys(false)) {
-            ConfigurationSection ruleSection = rulesSection.getConfigurationSection(key);
-            if (ruleSection != null) {
-                try {
-                    String pattern = ruleSection.getString("pattern");
-                    String action = ruleSection.getString("action", "block");
-                    String message = ruleSection.getString("message", "Your message was blocked.");
-                    
-                    addFilterRule(key, pattern, action, message);
-                } catch (Exception e) {
-                    Logger.warning("Failed to load filter rule '" + key + "': " + e.getMessage());
+                        rules.put(key, new FilterRule(pattern, action, message));
+                    } catch (Exception e) {
+                        Logger.warning("Failed to load filter rule '" + key + "': " + e.getMessage());
+                    }
                 }
             }
         }
+
+        synchronized (writeLock) {
+            ruleSet = compile(rules);
+        }
     }
 
     /**
-     * Adds default filter rules.
+     * Adds default filter rules and writes them to the configuration.
+     * @param rules The rule map being built.
      */
-    private void addDefaultRules() {
-        addFilterRule("swearing", "(?i).*\\b(bad|words|here)\\b.*", "block", "Please watch your language!");
-        addFilterRule("spam", "(?i).*\\b(spam|words|here)\\b.*", "warn", "Please don't spam!");
+    private void addDefaultRules(Map<String, FilterRule> rules) {
+        rules.put("swearing", new FilterRule("(?i).*\\b(bad|words|here)\\b.*", "block", "Please watch your language!"));
+        rules.put("spam", new FilterRule("(?i).*\\b(spam|words|here)\\b.*", "warn", "Please don't spam!"));
+        for (Map.Entry<String, FilterRule> entry : rules.entrySet()) {
+            writeRule(entry.getKey(), entry.getValue());
+        }
+        schedulePersist();
     }
 
     /**
@@ -84,21 +96,23 @@ public class ChatFilter implements Listener {
      * @return true if the rule was added successfully, false otherwise.
      */
     public boolean addFilterRule(String name, String pattern, String action, String message) {
+        FilterRule rule;
         try {
-            Pattern.compile(pattern);
-            filterRules.put(name, new FilterRule(pattern, action, message));
-            
-            // Save to config
-            plugin.getConfig().set("chat-filter.rules." + name + ".pattern", pattern);
-            plugin.getConfig().set("chat-filter.rules." + name + ".action", action);
-            plugin.getConfig().set("chat-filter.rules." + name + ".message", message);
-            plugin.saveConfig();
-            
-            return true;
+            rule = new FilterRule(pattern, action, message);
         } catch (PatternSyntaxException e) {
             Logger.warning("Invalid regex pattern for filter rule '" + name + "': " + e.getMessage());
             return false;
         }
+
+        synchronized (writeLock) {
+            Map<String, FilterRule> rules = new LinkedHashMap<>(ruleSet.rules);
+            rules.put(name, rule);
+            ruleSet = compile(rules);
+        }
+
+        writeRule(name, rule);
+        schedulePersist();
+        return true;
     }
 
     /**
@@ -107,13 +121,19 @@ public class ChatFilter implements Listener {
      * @return true if the rule was removed, false if it didn't exist.
      */
     public boolean removeFilterRule(String name) {
-        if (filterRules.remove(name) != null) {
-            // Remove from config
-            plugin.getConfig().set("chat-filter.rules." + name, null);
-            plugin.saveConfig();
-            return true;
+        synchronized (writeLock) {
+            if (!ruleSet.rules.containsKey(name)) {
+                return false;
+            }
+            Map<String, FilterRule> rules = new LinkedHashMap<>(ruleSet.rules);
+            rules.remove(name);
+            ruleSet = compile(rules);
         }
-        return false;
+
+        // Remove from config
+        plugin.getConfig().set("chat-filter.rules." + name, null);
+        schedulePersist();
+        return true;
     }
 
     /**
@@ -122,7 +142,7 @@ public class ChatFilter implements Listener {
      */
     public List<String> getFilterRules() {
         List<String> rules = new ArrayList<>();
-        for (Map.Entry<String, FilterRule> entry : filterRules.entrySet()) {
+        for (Map.Entry<String, FilterRule> entry : ruleSet.rules.entrySet()) {
             FilterRule rule = entry.getValue();
             rules.add(ChatColor.YELLOW + entry.getKey() + ":");
             rules.add(ChatColor.GRAY + "  Pattern: " + rule.getPattern());
@@ -145,44 +165,64 @@ public class ChatFilter implements Listener {
         String message = event.getMessage();
 
         // Check for spam
-        if (isSpamming(player, message)) {
-            event.setCancelled(true);
-            player.sendMessage(ChatColor.RED + "Please wait before sending another message.");
-            return;
-        }
-
-        // Check against filter rules
-        for (FilterRule rule : filterRules.values()) {
-            if (rule.matches(message)) {
-                handleFilterMatch(player, rule);
+        switch (rateLimiter.check(player, message)) {
+            case RATE_LIMITED:
                 event.setCancelled(true);
+                player.sendMessage(ChatColor.RED + "Please wait before sending another message.");
                 return;
-            }
+            case DUPLICATE:
+                event.setCancelled(true);
+                player.sendMessage(ChatColor.RED + "Please don't repeat the same message.");
+                return;
+            default:
+                break;
         }
 
-        // Update last message info
-        lastMessageTime.put(player, System.currentTimeMillis());
-        lastMessage.put(player, message);
+        // Check against all filter rules in one pass
+        RuleSet rules = ruleSet;
+        int matched = rules.engine.match(message);
+        if (matched >= 0) {
+            handleFilterMatch(player, rules.ordered[matched]);
+            event.setCancelled(true);
+        }
+    }
+
+    @EventHandler
+    public void onPlayerQuit(PlayerQuitEvent event) {
+        rateLimiter.remove(event.getPlayer().getUniqueId());
     }
 
     /**
-     * Checks if a player is spamming.
-     * @param player The player to check.
-     * @param message The message to check.
-     * @return true if the player is spamming, false otherwise.
+     * Compiles rules into a new snapshot, in insertion order.
+     * @param rules The rules.
+     * @return The snapshot.
      */
-    private boolean isSpamming(Player player, String message) {
-        Long lastTime = lastMessageTime.get(player);
-        String lastMsg = lastMessage.get(player);
-
-        if (lastTime != null && lastMsg != null) {
-            long timeDiff = System.currentTimeMillis() - lastTime;
-            if (timeDiff < MESSAGE_COOLDOWN || message.equals(lastMsg)) {
-                return true;
-            }
+    private RuleSet compile(Map<String, FilterRule> rules) {
+        FilterRule[] ordered = rules.values().toArray(new FilterRule[0]);
+        List<String> patterns = new ArrayList<>(ordered.length);
+        for (FilterRule rule : ordered) {
+            patterns.add(rule.getPattern());
         }
+        boolean normalize = plugin.getConfig().getBoolean("chat-filter.normalize", true);
+        return new RuleSet(Collections.unmodifiableMap(rules), new FilterEngine(patterns, normalize), ordered);
+    }
 
-        return false;
+    /**
+     * Writes a rule into the in-memory configuration.
+     * @param name The name of the rule.
+     * @param rule The rule.
+     */
+    private void writeRule(String name, FilterRule rule) {
+        plugin.getConfig().set("chat-filter.rules." + name + ".pattern", rule.getPattern());
+        plugin.getConfig().set("chat-filter.rules." + name + ".action", rule.getAction());
+        plugin.getConfig().set("chat-filter.rules." + name + ".message", rule.getMessage());
+    }
+
+    /**
+     * Queues a save of config.yml; edits made in the meantime are written together.
+     */
+    private void schedulePersist() {
+        plugin.getConfigManager().saveConfig("config");
     }
 
     /**
@@ -205,6 +245,24 @@ public class ChatFilter implements Listener {
         }
     }
 
+    /**
+     * An immutable set of filter rules together with the engine compiled from their patterns.
+     */
+    private static class RuleSet {
+        private static final RuleSet EMPTY = new RuleSet(Collections.emptyMap(),
+                new FilterEngine(Collections.emptyList(), false), new FilterRule[0]);
+
+        private final Map<String, FilterRule> rules;
+        private final FilterEngine engine;
+        private final FilterRule[] ordered;
+
+        private RuleSet(Map<String, FilterRule> rules, FilterEngine engine, FilterRule[] ordered) {
+            this.rules = rules;
+            this.engine = engine;
+            this.ordered = ordered;
+        }
+    }
+
     /**
      * Represents a chat filter rule.
      */
@@ -225,15 +283,6 @@ public class ChatFilter implements Listener {
             this.message = message;
         }
 
-        /**
-         * Checks if a message matches this rule.
-         * @param message The message to check.
-         * @return true if the message matches, false otherwise.
-         */
-        public boolean matches(String message) {
-            return pattern.matcher(message).matches();
-        }
-
         /**
          * Gets the pattern for this rule.
          * @return The pattern.
@@ -0,0 +1,215 @@
+package dev.aledlb.features.moderation;
+
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.entity.Player;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Per-player chat rate limiter and near-duplicate detector.
+ * Each player has a token bucket whose size and refill rate come from the
+ * first configured tier whose permission they hold. State is keyed by UUID
+ * and replaced with compare-and-set, so the async chat thread never locks.
+ * Duplicates are detected by comparing 256-bit sets of hashed character
+ * pairs of the normalized message, which costs O(message length).
+ */
+public class ChatRateLimiter {
+    private static final int DEFAULT_BURST = 3;
+    private static final double DEFAULT_REFILL_PER_SECOND = 1.0;
+    private static final double DEFAULT_SIMILARITY = 0.8;
+    private static final long DEFAULT_DUPLICATE_WINDOW_SECONDS = 30;
+    private static final int FINGERPRINT_WORDS = 4;
+
+    /**
+     * Outcome of checking a message.
+     */
+    public enum Result {
+        ALLOWED,
+        RATE_LIMITED,
+        DUPLICATE
+    }
+
+    private final Map<UUID, AtomicReference<State>> states;
+    private final List<Tier> tiers;
+    private final Tier defaultTier;
+    private final double similarityThreshold;
+    private final long duplicateWindowNanos;
+
+    /**
+     * Creates a new ChatRateLimiter instance.
+     * @param section The chat-filter.rate-limit section, or null for defaults.
+     */
+    public ChatRateLimiter(ConfigurationSection section) {
+        this.states = new ConcurrentHashMap<>();
+        this.tiers = new ArrayList<>();
+
+        Tier fallback = new Tier(null, DEFAULT_BURST, DEFAULT_REFILL_PER_SECOND);
+        ConfigurationSection tiersSection = section != null ? section.getConfigurationSection("tiers") : null;
+        if (tiersSection != null) {
+            for (String key : tiersSection.getKeys(false)) {
+                ConfigurationSection tierSection = tiersSection.getConfigurationSection(key);
+                if (tierSection == null) {
+                    continue;
+                }
+
+                Tier tier = new Tier(tierSection.getString("permission"),
+                        tierSection.getInt("burst", DEFAULT_BURST),
+                        tierSection.getDouble("refill-per-second", DEFAULT_REFILL_PER_SECOND));
+                if (tier.permission == null) {
+                    fallback = tier;
+                } else {
+                    tiers.add(tier);
+                }
+            }
+        }
+
+        this.defaultTier = fallback;
+        this.similarityThreshold = section != null ? section.getDouble("duplicate-similarity", DEFAULT_SIMILARITY) : DEFAULT_SIMILARITY;
+        this.duplicateWindowNanos = TimeUnit.SECONDS.toNanos(section != null
+                ? section.getLong("duplicate-window", DEFAULT_DUPLICATE_WINDOW_SECONDS)
+                : DEFAULT_DUPLICATE_WINDOW_SECONDS);
+    }
+
+    /**
+     * Checks a message and, unless it is rate limited, spends one token for it.
+     * @param player The sender.
+     * @param message The message.
+     * @return Whether the message may be sent.
+     */
+    public Result check(Player player, String message) {
+        Tier tier = resolveTier(player);
+        long now = System.nanoTime();
+        long[] fingerprint = fingerprint(message);
+        AtomicReference<State> ref = states.computeIfAbsent(player.getUniqueId(),
+                uuid -> new AtomicReference<>(new State(tier.burst, now, null, 0)));
+
+        while (true) {
+            State current = ref.get();
+            double elapsedSeconds = (now - current.updatedAt) / 1_000_000_000.0;
+            double tokens = Math.min(tier.burst, current.tokens + Math.max(0, elapsedSeconds) * tier.refillPerSecond);
+            if (tokens < 1) {
+                return Result.RATE_LIMITED;
+            }
+
+            boolean duplicate = current.fingerprint != null
+                    && now - current.fingerprintAt < duplicateWindowNanos
+                    && similarity(current.fingerprint, fingerprint) >= similarityThreshold;
+
+            // Duplicates still cost a token but do not reset the comparison window
+            State next = duplicate
+                    ? new State(tokens - 1, now, current.fingerprint, current.fingerprintAt)
+                    : new State(tokens - 1, now, fingerprint, now);
+            if (ref.compareAndSet(current, next)) {
+                return duplicate ? Result.DUPLICATE : Result.ALLOWED;
+            }
+        }
+    }
+
+    /**
+     * Forgets a player's state, for example when they leave.
+     * @param uuid The player's UUID.
+     */
+    public void remove(UUID uuid) {
+        states.remove(uuid);
+    }
+
+    /**
+     * Gets the number of players currently tracked.
+     * @return The tracked player count.
+     */
+    public int size() {
+        return states.size();
+    }
+
+    /**
+     * Finds the first tier whose permission the player has.
+     * @param player The player.
+     * @return The player's tier.
+     */
+    private Tier resolveTier(Player player) {
+        for (Tier tier : tiers) {
+            if (player.hasPermission(tier.permission)) {
+                return tier;
+            }
+        }
+        return defaultTier;
+    }
+
+    /**
+     * Hashes each pair of adjacent characters of the normalized message into a 256-bit set.
+     * @param message The message.
+     * @return The fingerprint.
+     */
+    static long[] fingerprint(String message) {
+        CharSequence text = TextNormalizer.normalize(message);
+        long[] bits = new long[FINGERPRINT_WORDS];
+        int length = text.length();
+
+        if (length == 1) {
+            setBit(bits, text.charAt(0));
+        }
+        for (int i = 1; i < length; i++) {
+            setBit(bits, text.charAt(i - 1) * 31 + text.charAt(i));
+        }
+        return bits;
+    }
+
+    /**
+     * Computes the Jaccard similarity of two fingerprints.
+     * @param a The first fingerprint.
+     * @param b The second fingerprint.
+     * @return The similarity, from 0 to 1.
+     */
+    static double similarity(long[] a, long[] b) {
+        int intersection = 0;
+        int union = 0;
+        for (int i = 0; i < FINGERPRINT_WORDS; i++) {
+            intersection += Long.bitCount(a[i] & b[i]);
+            union += Long.bitCount(a[i] | b[i]);
+        }
+        return union == 0 ? 1.0 : (double) intersection / union;
+    }
+
+    private static void setBit(long[] bits, int value) {
+        int bit = (int) ((value * 0x9E3779B97F4A7C15L) >>> 56);
+        bits[bit >>> 6] |= 1L << (bit & 63);
+    }
+
+    /**
+     * A rate limit tier.
+     */
+    private static class Tier {
+        private final String permission;
+        private final int burst;
+        private final double refillPerSecond;
+
+        private Tier(String permission, int burst, double refillPerSecond) {
+            this.permission = permission;
+            this.burst = Math.max(1, burst);
+            this.refillPerSecond = Math.max(0, refillPerSecond);
+        }
+    }
+
+    /**
+     * Immutable per-player state, replaced atomically on every accepted message.
+     */
+    private static class State {
+        private final double tokens;
+        private final long updatedAt;
+        private final long[] fingerprint;
+        private final long fingerprintAt;
+
+        private State(double tokens, long updatedAt, long[] fingerprint, long fingerprintAt) {
+            this.tokens = tokens;
+            this.updatedAt = updatedAt;
+            this.fingerprint = fingerprint;
+            this.fingerprintAt = fingerprintAt;
+        }
+    }
+}
@@ -0,0 +1,447 @@
+package dev.aledlb.features.moderation;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+/**
+ * Compiled form of an ordered set of chat filter patterns.
+ * Patterns of the form {@code (?i).*\b(word|other words)\b.*} are loaded
+ * into a single Aho-Corasick automaton that finds every listed word in one
+ * pass over the message. The remaining patterns are rewritten to find()
+ * form, without their {@code .*} wrappers, and OR-ed into one combined
+ * regex that rejects clean messages in a single scan; only when it hits
+ * are the individual patterns consulted to find the lowest-index match.
+ * Matching gives the same result as calling {@code matches()} on each
+ * pattern in order and taking the first hit. Messages containing line
+ * terminators, which the stripped {@code .*} wrappers would not have
+ * crossed, are checked with {@code matches()} directly. With normalization enabled the
+ * word automaton additionally scans the {@link TextNormalizer} form of the
+ * message against normalized words, catching obfuscated spellings.
+ */
+public class FilterEngine {
+    private static final Pattern LEADING_FLAGS = Pattern.compile("^\\(\\?([a-zA-Z]+)\\)");
+    private static final Pattern LITERAL_WORDS = Pattern.compile("\\\\b\\(([A-Za-z0-9_ ]+(?:\\|[A-Za-z0-9_ ]+)*)\\)\\\\b");
+    private static final Pattern BACK_REFERENCE = Pattern.compile("\\\\[1-9]|\\\\k<|\\(\\?<[a-zA-Z]");
+
+    private final Pattern[] originals;
+    private final WordAutomaton words;
+    private final boolean normalize;
+    private final Pattern combined;
+    private final int[] regexRules;
+    private final Pattern[] regexPatterns;
+    private final int[] standaloneRules;
+    private final Pattern[] standalonePatterns;
+
+    /**
+     * Compiles an ordered list of patterns.
+     * @param patterns The patterns, in priority order.
+     * @param normalize Whether word lists also match obfuscated spellings.
+     * @throws PatternSyntaxException If a pattern is not a valid regex.
+     */
+    public FilterEngine(List<String> patterns, boolean normalize) {
+        this.normalize = normalize;
+        WordAutomaton.Builder builder = new WordAutomaton.Builder();
+        List<Integer> regexIndexes = new ArrayList<>();
+        List<Pattern> regexCompiled = new ArrayList<>();
+        List<String> pieces = new ArrayList<>();
+        List<Integer> standaloneIndexes = new ArrayList<>();
+        List<Pattern> standaloneCompiled = new ArrayList<>();
+        this.originals = new Pattern[patterns.size()];
+
+        for (int rule = 0; rule < patterns.size(); rule++) {
+            String pattern = patterns.get(rule);
+            // Validate the pattern as written before any rewriting
+            originals[rule] = Pattern.compile(pattern);
+
+            if (addLiteralRule(builder, pattern, rule, normalize)) {
+                continue;
+            }
+
+            String piece = toFindForm(pattern);
+            if (BACK_REFERENCE.matcher(pattern).find()) {
+                // Group numbers and names would clash inside the combined regex
+                standaloneIndexes.add(rule);
+                standaloneCompiled.add(Pattern.compile(piece));
+            } else {
+                regexIndexes.add(rule);
+                regexCompiled.add(Pattern.compile(piece));
+                pieces.add(piece);
+            }
+        }
+
+        this.words = builder.build();
+        this.combined = pieces.isEmpty() ? null : Pattern.compile(String.join("|", pieces));
+        this.regexRules = regexIndexes.stream().mapToInt(Integer::intValue).toArray();
+        this.regexPatterns = regexCompiled.toArray(new Pattern[0]);
+        this.standaloneRules = standaloneIndexes.stream().mapToInt(Integer::intValue).toArray();
+        this.standalonePatterns = standaloneCompiled.toArray(new Pattern[0]);
+    }
+
+    /**
+     * Finds the first pattern, in priority order, that matches a whole message.
+     * @param message The message to check.
+     * @return The index of the matching pattern, or -1 if none match.
+     */
+    public int match(CharSequence message) {
+        int best = normalize ? words.firstMatch(TextNormalizer.normalize(message)) : -1;
+        if (hasLineTerminator(message)) {
+            return matchExactly(message, best);
+        }
+
+        int plain = words.firstMatch(message);
+        if (plain >= 0 && (best < 0 || plain < best)) {
+            best = plain;
+        }
+
+        if (combined != null && combined.matcher(message).find()) {
+            for (int i = 0; i < regexRules.length && (best < 0 || regexRules[i] < best); i++) {
+                if (regexPatterns[i].matcher(message).find()) {
+                    best = regexRules[i];
+                    break;
+                }
+            }
+        }
+
+        for (int i = 0; i < standaloneRules.length && (best < 0 || standaloneRules[i] < best); i++) {
+            if (standalonePatterns[i].matcher(message).find()) {
+                best = standaloneRules[i];
+                break;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Runs each pattern as written with {@code matches()}, stopping at the current best rule.
+     * @param message The message to check.
+     * @param best The lowest rule index already matched, or -1.
+     * @return The index of the matching pattern, or -1 if none match.
+     */
+    private int matchExactly(CharSequence message, int best) {
+        for (int rule = 0; rule < originals.length && (best < 0 || rule < best); rule++) {
+            if (originals[rule].matcher(message).matches()) {
+                return rule;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Checks whether a message contains a character that {@code .} does not match by default.
+     * @param message The message.
+     * @return true if it contains a line terminator.
+     */
+    private static boolean hasLineTerminator(CharSequence message) {
+        for (int i = 0; i < message.length(); i++) {
+            char c = message.charAt(i);
+            if (c == '\n' || c == '\r' || c == '\u0085' || c == '\u2028' || c == '\u2029') {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Adds a pattern to the word automaton if it is a case-insensitive word list.
+     * @param builder The automaton builder.
+     * @param pattern The pattern.
+     * @param rule The pattern's index.
+     * @param normalize Whether to add the words in normalized form.
+     * @return true if the pattern was added.
+     */
+    private static boolean addLiteralRule(WordAutomaton.Builder builder, String pattern, int rule, boolean normalize) {
+        Matcher flags = LEADING_FLAGS.matcher(pattern);
+        if (!flags.find() || !flags.group(1).equals("i")) {
+            return false;
+        }
+
+        String body = pattern.substring(flags.end());
+        if (!body.startsWith(".*") || !body.endsWith(".*") || body.length() < 4) {
+            return false;
+        }
+
+        Matcher literal = LITERAL_WORDS.matcher(body.substring(2, body.length() - 2));
+        if (!literal.matches()) {
+            return false;
+        }
+
+        for (String word : literal.group(1).split("\\|")) {
+            if (word.isEmpty() || !isWordChar(word.charAt(0)) || !isWordChar(word.charAt(word.length() - 1))) {
+                return false;
+            }
+        }
+        for (String word : literal.group(1).split("\\|")) {
+            if (!normalize) {
+                builder.add(word, rule);
+                continue;
+            }
+            String normalized = TextNormalizer.normalizeWord(word);
+            if (!normalized.isEmpty()) {
+                builder.add(normalized, rule);
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Rewrites a pattern meant for {@code matches()} into one with the same result under {@code find()}.
+     * A {@code .*X.*} pattern without top-level alternation becomes {@code X},
+     * so the regex engine no longer backtracks over the whole message; any
+     * other pattern is anchored to the whole input.
+     * @param pattern The pattern.
+     * @return The rewritten pattern, wrapped in a group.
+     */
+    static String toFindForm(String pattern) {
+        Matcher flags = LEADING_FLAGS.matcher(pattern);
+        String prefix = "";
+        String body = pattern;
+        if (flags.find()) {
+            prefix = flags.group();
+            body = pattern.substring(flags.end());
+        }
+
+        if (body.length() >= 4 && body.startsWith(".*") && body.endsWith(".*") && !isEscaped(body, body.length() - 2)) {
+            String inner = body.substring(2, body.length() - 2);
+            if (!hasTopLevelAlternation(inner)) {
+                return "(?:" + prefix + inner + ")";
+            }
+        }
+        return "(?:" + prefix + "\\A(?:" + body + ")\\z)";
+    }
+
+    /**
+     * Checks whether the character at an index is escaped by a backslash.
+     * @param pattern The pattern.
+     * @param index The index.
+     * @return true if escaped.
+     */
+    private static boolean isEscaped(String pattern, int index) {
+        int backslashes = 0;
+        for (int i = index - 1; i >= 0 && pattern.charAt(i) == '\\'; i--) {
+            backslashes++;
+        }
+        return backslashes % 2 == 1;
+    }
+
+    /**
+     * Checks whether a pattern has a {@code |} outside of any group or character class.
+     * @param pattern The pattern.
+     * @return true if it does.
+     */
+    private static boolean hasTopLevelAlternation(String pattern) {
+        int depth = 0;
+        boolean inClass = false;
+        for (int i = 0; i < pattern.length(); i++) {
+            char c = pattern.charAt(i);
+            if (c == '\\') {
+                i++;
+            } else if (inClass) {
+                if (c == ']') {
+                    inClass = false;
+                }
+            } else if (c == '[') {
+                inClass = true;
+            } else if (c == '(') {
+                depth++;
+            } else if (c == ')') {
+                depth--;
+            } else if (c == '|' && depth == 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Checks whether a character is a word character as {@code \b} sees it.
+     * @param c The character.
+     * @return true if it is a word character.
+     */
+    static boolean isWordChar(char c) {
+        return c == '_' || Character.isLetterOrDigit(c);
+    }
+
+    /**
+     * Aho-Corasick automaton over ASCII-case-folded words with whole-word matching.
+     */
+    static class WordAutomaton {
+
+        private final char[][] labels;
+        private final int[][] targets;
+        private final int[] fail;
+        private final int[] outputLink;
+        private final int[][] outputLengths;
+        private final int[][] outputRules;
+
+        private WordAutomaton(char[][] labels, int[][] targets, int[] fail, int[] outputLink,
+                              int[][] outputLengths, int[][] outputRules) {
+            this.labels = labels;
+            this.targets = targets;
+            this.fail = fail;
+            this.outputLink = outputLink;
+            this.outputLengths = outputLengths;
+            this.outputRules = outputRules;
+        }
+
+        /**
+         * Scans a message once and returns the lowest rule index with a whole-word hit.
+         * @param text The message.
+         * @return The rule index, or -1 if no word matched.
+         */
+        int firstMatch(CharSequence text) {
+            if (labels.length <= 1) {
+                return -1;
+            }
+
+            int best = -1;
+            int state = 0;
+            int length = text.length();
+
+            for (int i = 0; i < length; i++) {
+                char c = fold(text.charAt(i));
+                int next;
+                while ((next = step(state, c)) < 0 && state != 0) {
+                    state = fail[state];
+                }
+                state = Math.max(next, 0);
+
+                for (int node = outputLengths[state].length > 0 ? state : outputLink[state]; node > 0; node = outputLink[node]) {
+                    int[] lengths = outputLengths[node];
+                    int[] rules = outputRules[node];
+                    for (int k = 0; k < lengths.length; k++) {
+                        if (best >= 0 && rules[k] >= best) {
+                            continue;
+                        }
+                        int start = i - lengths[k] + 1;
+                        boolean before = start == 0 || !isWordChar(text.charAt(start - 1));
+                        boolean after = i + 1 == length || !isWordChar(text.charAt(i + 1));
+                        if (before && after) {
+                            best = rules[k];
+                        }
+                    }
+                }
+            }
+            return best;
+        }
+
+        private int step(int state, char c) {
+            int index = Arrays.binarySearch(labels[state], c);
+            return index >= 0 ? targets[state][index] : -1;
+        }
+
+        private static char fold(char c) {
+            return c >= 'A' && c <= 'Z' ? (char) (c + ('a' - 'A')) : c;
+        }
+
+        /**
+         * Collects words and builds the automaton.
+         */
+        static class Builder {
+            private final List<StringBuilder> edgeLabels = new ArrayList<>();
+            private final List<List<Integer>> edgeTargets = new ArrayList<>();
+            private final List<List<int[]>> outputs = new ArrayList<>();
+
+            Builder() {
+                newNode();
+            }
+
+            /**
+             * Adds a word for a rule.
+             * @param word The word, matched case-insensitively for ASCII letters.
+             * @param rule The rule index.
+             */
+            void add(String word, int rule) {
+                int state = 0;
+                for (int i = 0; i < word.length(); i++) {
+                    char c = fold(word.charAt(i));
+                    int index = edgeLabels.get(state).indexOf(String.valueOf(c));
+                    if (index >= 0) {
+                        state = edgeTargets.get(state).get(index);
+                    } else {
+                        int node = newNode();
+                        edgeLabels.get(state).append(c);
+                        edgeTargets.get(state).add(node);
+                        state = node;
+                    }
+                }
+                outputs.get(state).add(new int[]{word.length(), rule});
+            }
+
+            /**
+             * Builds the automaton, computing failure and output links breadth first.
+             * @return The automaton.
+             */
+            WordAutomaton build() {
+                int size = edgeLabels.size();
+                char[][] labels = new char[size][];
+                int[][] targets = new int[size][];
+                int[][] outputLengths = new int[size][];
+                int[][] outputRules = new int[size][];
+
+                for (int node = 0; node < size; node++) {
+                    String unsorted = edgeLabels.get(node).toString();
+                    Integer[] order = new Integer[unsorted.length()];
+                    for (int i = 0; i < order.length; i++) {
+                        order[i] = i;
+                    }
+                    Arrays.sort(order, (a, b) -> Character.compare(unsorted.charAt(a), unsorted.charAt(b)));
+
+                    labels[node] = new char[order.length];
+                    targets[node] = new int[order.length];
+                    for (int i = 0; i < order.length; i++) {
+                        labels[node][i] = unsorted.charAt(order[i]);
+                        targets[node][i] = edgeTargets.get(node).get(order[i]);
+                    }
+
+                    List<int[]> nodeOutputs = outputs.get(node);
+                    outputLengths[node] = new int[nodeOutputs.size()];
+                    outputRules[node] = new int[nodeOutputs.size()];
+                    for (int i = 0; i < nodeOutputs.size(); i++) {
+                        outputLengths[node][i] = nodeOutputs.get(i)[0];
+                        outputRules[node][i] = nodeOutputs.get(i)[1];
+                    }
+                }
+
+                int[] fail = new int[size];
+                int[] outputLink = new int[size];
+                WordAutomaton automaton = new WordAutomaton(labels, targets, fail, outputLink, outputLengths, outputRules);
+
+                int[] queue = new int[size];
+                int head = 0;
+                int tail = 0;
+                for (int child : targets[0]) {
+                    queue[tail++] = child;
+                }
+
+                while (head < tail) {
+                    int node = queue[head++];
+                    for (int i = 0; i < labels[node].length; i++) {
+                        char c = labels[node][i];
+                        int child = targets[node][i];
+
+                        int state = fail[node];
+                        int next;
+                        while ((next = automaton.step(state, c)) < 0 && state != 0) {
+                            state = fail[state];
+                        }
+                        fail[child] = next >= 0 && next != child ? next : 0;
+                        outputLink[child] = outputLengths[fail[child]].length > 0 ? fail[child] : outputLink[fail[child]];
+                        queue[tail++] = child;
+                    }
+                }
+                return automaton;
+            }
+
+            private int newNode() {
+                edgeLabels.add(new StringBuilder());
+                edgeTargets.add(new ArrayList<>());
+                outputs.add(new ArrayList<>());
+                return edgeLabels.size() - 1;
+            }
+        }
+    }
+}
@@ -0,0 +1,223 @@
+package dev.aledlb.features.moderation;
+
+import java.text.Normalizer;
+
+/**
+ * Folds obfuscated chat text into a canonical form before word matching.
+ * In one pass over the message it lower-cases, maps leetspeak digits,
+ * accented letters and Cyrillic/Greek/full-width look-alikes to ASCII,
+ * drops zero-width characters, removes separators placed inside words
+ * ({@code b.a.d}, {@code b-a-d}) and collapses repeated letters in words
+ * that keep at least three letters.
+ * Every mapping comes from a table built once, and the output is written
+ * to a per-thread buffer, so normalizing allocates nothing.
+ */
+public final class TextNormalizer {
+    private static final char DROP = '\u0000';
+    private static final char SEPARATOR = '\u0001';
+    private static final char SPACE = ' ';
+    private static final int MIN_COLLAPSED_WORD = 3;
+    private static final char[] TABLE = buildTable();
+    private static final ThreadLocal<Buffer> BUFFERS = ThreadLocal.withInitial(Buffer::new);
+
+    private TextNormalizer() {
+    }
+
+    /**
+     * Normalizes a message into the calling thread's buffer.
+     * The result is only valid until the same thread normalizes again.
+     * @param text The message.
+     * @return The normalized text.
+     */
+    public static CharSequence normalize(CharSequence text) {
+        Buffer buffer = BUFFERS.get();
+        normalize(text, buffer);
+        return buffer;
+    }
+
+    /**
+     * Normalizes a dictionary word the same way messages are normalized.
+     * @param word The word.
+     * @return The normalized word.
+     */
+    public static String normalizeWord(String word) {
+        Buffer buffer = new Buffer();
+        normalize(word, buffer);
+        return buffer.toString().trim();
+    }
+
+    /**
+     * Runs the normalization pipeline.
+     * Repeated letters are collapsed per word, and only when the word keeps at
+     * least three letters, so short words like "ass" do not turn into common
+     * ones. Messages and dictionary words go through the same rule.
+     * @param text The input.
+     * @param out The output buffer, reset first.
+     */
+    private static void normalize(CharSequence text, Buffer out) {
+        int length = text.length();
+        out.reset(length);
+        char last = SPACE;
+        boolean pendingSeparator = false;
+        int wordStart = 0;
+        int collapsedLength = 0;
+
+        for (int i = 0; i < length; i++) {
+            char c = TABLE[text.charAt(i)];
+            if (c == DROP) {
+                continue;
+            }
+            if (c == SEPARATOR) {
+                pendingSeparator = true;
+                continue;
+            }
+            if (c == SPACE) {
+                if (last != SPACE) {
+                    endWord(out, wordStart, collapsedLength);
+                    out.append(SPACE);
+                    wordStart = out.length;
+                    collapsedLength = 0;
+                    last = SPACE;
+                }
+                pendingSeparator = false;
+                continue;
+            }
+
+            if (pendingSeparator) {
+                // A separator between two letters is obfuscation; anywhere else it splits words
+                if (!(Character.isLetter(last) && Character.isLetter(c)) && last != SPACE) {
+                    endWord(out, wordStart, collapsedLength);
+                    out.append(SPACE);
+                    wordStart = out.length;
+                    collapsedLength = 0;
+                    last = SPACE;
+                }
+                pendingSeparator = false;
+            }
+
+            if (c != last || !Character.isLetter(c)) {
+                collapsedLength++;
+            }
+            out.append(c);
+            last = c;
+        }
+        endWord(out, wordStart, collapsedLength);
+    }
+
+    /**
+     * Collapses repeated letters in the word at the end of the buffer if it stays long enough.
+     * @param out The output buffer.
+     * @param wordStart The index the word starts at.
+     * @param collapsedLength The word's length once collapsed.
+     */
+    private static void endWord(Buffer out, int wordStart, int collapsedLength) {
+        if (collapsedLength < MIN_COLLAPSED_WORD || collapsedLength == out.length - wordStart) {
+            return;
+        }
+
+        int write = wordStart;
+        for (int read = wordStart; read < out.length; read++) {
+            char c = out.chars[read];
+            if (write > wordStart && c == out.chars[write - 1] && Character.isLetter(c)) {
+                continue;
+            }
+            out.chars[write++] = c;
+        }
+        out.length = write;
+    }
+
+    /**
+     * Builds the per-character mapping table.
+     * @return The table, indexed by UTF-16 code unit.
+     */
+    private static char[] buildTable() {
+        char[] table = new char[Character.MAX_VALUE + 1];
+
+        for (int c = 0; c <= Character.MAX_VALUE; c++) {
+            char ch = (char) c;
+            if (Character.isWhitespace(ch) || Character.isSpaceChar(ch)) {
+                table[c] = SPACE;
+            } else if (Character.getType(ch) == Character.NON_SPACING_MARK
+                    || Character.getType(ch) == Character.ENCLOSING_MARK
+                    || Character.getType(ch) == Character.FORMAT
+                    || Character.isISOControl(ch)) {
+                table[c] = DROP;
+            } else if (!Character.isLetterOrDigit(ch)) {
+                table[c] = SEPARATOR;
+            } else {
+                table[c] = Character.toLowerCase(ch);
+            }
+        }
+
+        // Accented Latin letters fold to their base letter
+        for (int c = 0x00C0; c <= 0x024F; c++) {
+            String decomposed = Normalizer.normalize(String.valueOf((char) c), Normalizer.Form.NFD);
+            char base = Character.toLowerCase(decomposed.charAt(0));
+            if (base < 0x80 && Character.isLetter(base)) {
+                table[c] = base;
+            }
+        }
+
+        // Full-width forms
+        for (int c = 0xFF01; c <= 0xFF5E; c++) {
+            table[c] = table[c - 0xFEE0];
+        }
+
+        map(table, "0o1i3e4a5s7t8b9g");
+        map(table, "@a$s");
+        // Cyrillic and Greek look-alikes
+        map(table, "аaвbеeкkмmнhоoрpсcтtуyхxіiјjѕsԁdԛqԝwӏlАaВbЕeКkМmНhОoРpСcТtУyХxІiЈjЅs");
+        map(table, "αaβbεeηnιiκkμuνvοoρpτtυuχxωwΑaΒbΕeΗhΙiΚkΜmΝnΟoΡpΤtΥyΧxΖz");
+        return table;
+    }
+
+    /**
+     * Adds explicit pairs to the table.
+     * @param table The table.
+     * @param pairs Alternating source and target characters.
+     */
+    private static void map(char[] table, String pairs) {
+        for (int i = 0; i + 1 < pairs.length(); i += 2) {
+            table[pairs.charAt(i)] = pairs.charAt(i + 1);
+        }
+    }
+
+    /**
+     * Growable char buffer exposed as a CharSequence without copying.
+     */
+    private static final class Buffer implements CharSequence {
+        private char[] chars = new char[256];
+        private int length;
+
+        private void reset(int capacity) {
+            if (chars.length < capacity) {
+                chars = new char[Math.max(capacity, chars.length * 2)];
+            }
+            length = 0;
+        }
+
+        private void append(char c) {
+            chars[length++] = c;
+        }
+
+        @Override
+        public int length() {
+            return length;
+        }
+
+        @Override
+        public char charAt(int index) {
+            return chars[index];
+        }
+
+        @Override
+        public CharSequence subSequence(int start, int end) {
+            return new String(chars, start, end - start);
+        }
+
+        @Override
+        public String toString() {
+            return new String(chars, 0, length);
+        }
+    }
+}
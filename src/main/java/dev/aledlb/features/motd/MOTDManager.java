@@ -2,33 +2,41 @@ package dev.aledlb.features.motd;
 
 import dev.aledlb.Core;
 import dev.aledlb.utilities.Logger;
-import org.bukkit.ChatColor;
+import dev.aledlb.utilities.Settings;
+import org.bukkit.event.Cancellable;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.EventPriority;
 import org.bukkit.event.Listener;
 import org.bukkit.event.server.ServerListPingEvent;
+import org.bukkit.scheduler.BukkitTask;
 import org.bukkit.util.CachedServerIcon;
 
-import javax.imageio.ImageIO;
-import java.awt.image.BufferedImage;
-import java.io.File;
+import java.net.InetAddress;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Manages the server's MOTD (Message of the Day) and server icon.
  * This includes:
- * - Loading and caching the server icon
- * - Setting custom MOTD messages
+ * - Rotating between configured MOTDs and server icons
  * - Handling server list ping events
+ * The current MOTD is rendered on the main thread once per refresh interval,
+ * so a ping only reads two fields. Addresses that ping more often than the
+ * configured limit are dropped before any response is built.
  */
 public class MOTDManager implements Listener {
-
-    private static final String ICON_PATH_CONFIG = "motd.icon-path";
-    private static final String FIRST_LINE_CONFIG = "motd.first-line";
-    private static final String SECOND_LINE_CONFIG = "motd.second-line";
+    private static final String ONLINE_PLACEHOLDER = "%online%";
+    private static final String MAX_PLACEHOLDER = "%max%";
 
     private final Core plugin;
-    private CachedServerIcon serverIcon;
+    private final Map<InetAddress, PingWindow> pingWindows;
+    private volatile Settings settings;
+    private volatile String motd;
+    private final ServerIconPool iconPool;
+    private String iconPath;
+    private BukkitTask renderTask;
 
     /**
      * Creates a new MOTDManager instance
@@ -36,38 +44,67 @@ public class MOTDManager implements Listener {
      */
     public MOTDManager(Core plugin) {
         this.plugin = plugin;
-        loadServerIcon();
-        plugin.getServer().getPluginManager().registerEvents(this, plugin);
+        this.pingWindows = new ConcurrentHashMap<>();
+        this.iconPool = new ServerIconPool(plugin.getServer());
+        applySettings(plugin.getConfigManager().getSettings());
+        plugin.getConfigManager().subscribe(this::applySettings);
     }
 
     /**
-     * Loads and caches the server icon from the configured path
+     * Takes the MOTDs from the settings, restarts rendering and reloads the icon if its path changed
+     * @param settings The parsed plugin configuration
      */
-    private void loadServerIcon() {
-        try {
-            String iconPath = plugin.getConfig().getString(ICON_PATH_CONFIG);
-            if (iconPath == null) {
-                Logger.warning("Server icon path not configured in config.yml");
-                return;
-            }
+    private void applySettings(Settings settings) {
+        this.settings = settings;
+        if (settings.getMotds().isEmpty()) {
+            Logger.warning("MOTD lines not configured in config.yml");
+        }
+        if (iconPool.size() == 0 || !Objects.equals(iconPath, settings.getMotdIconPath())) {
+            iconPath = settings.getMotdIconPath();
+            iconPool.load(iconPath);
+        }
 
-            File iconFile = new File(iconPath);
-            if (!iconFile.exists()) {
-                Logger.warning("Server icon file not found at: " + iconFile.getAbsolutePath());
-                return;
-            }
+        if (renderTask != null) {
+            renderTask.cancel();
+        }
+        render();
+        long interval = settings.getMotdRefreshTicks();
+        renderTask = plugin.getServer().getScheduler().runTaskTimer(plugin, this::render, interval, interval);
+    }
 
-            BufferedImage image = ImageIO.read(iconFile);
-            if (image == null) {
-                Logger.warning("Failed to load server icon image");
-                return;
+    /**
+     * Renders the MOTD for the current rotation slot and forgets expired ping windows
+     */
+    private void render() {
+        Settings current = settings;
+        long now = System.currentTimeMillis();
+        List<String> motds = current.getMotds();
+
+        if (motds.isEmpty()) {
+            motd = null;
+        } else {
+            String template = motds.get((int) ((now / current.getMotdRotateMillis()) % motds.size()));
+            if (template.indexOf('%') >= 0) {
+                template = template
+                        .replace(ONLINE_PLACEHOLDER, Integer.toString(plugin.getServer().getOnlinePlayers().size()))
+                        .replace(MAX_PLACEHOLDER, Integer.toString(plugin.getServer().getMaxPlayers()));
             }
+            motd = template;
+        }
 
-            serverIcon = plugin.getServer().loadServerIcon(image);
-            Logger.info("Server icon loaded successfully");
-        } catch (Exception e) {
-            Logger.severe("Error loading server icon: " + e.getMessage());
+        long window = current.getPingWindowMillis();
+        pingWindows.values().removeIf(entry -> now - entry.start >= window);
+    }
+
+    /**
+     * Stops rendering the MOTD
+     */
+    public void shutdown() {
+        if (renderTask != null) {
+            renderTask.cancel();
+            renderTask = null;
         }
+        pingWindows.clear();
     }
 
     /**
@@ -77,31 +114,70 @@ public class MOTDManager implements Listener {
     @EventHandler(priority = EventPriority.HIGH)
     public void onServerListPing(ServerListPingEvent event) {
         try {
-            String firstLine = plugin.getConfig().getString(FIRST_LINE_CONFIG);
-            String secondLine = plugin.getConfig().getString(SECOND_LINE_CONFIG);
-
-            if (firstLine == null || secondLine == null) {
-                Logger.warning("MOTD lines not configured in config.yml");
+            if (isFlooding(event.getAddress())) {
+                // Paper lets the response be dropped entirely; elsewhere the default MOTD is sent
+                if (event instanceof Cancellable) {
+                    ((Cancellable) event).setCancelled(true);
+                }
                 return;
             }
 
-            firstLine = ChatColor.translateAlternateColorCodes('&', firstLine);
-            secondLine = ChatColor.translateAlternateColorCodes('&', secondLine);
+            String currentMotd = motd;
+            if (currentMotd == null) {
+                return;
+            }
 
-            event.setMotd(firstLine + "\n" + secondLine);
+            event.setMotd(currentMotd);
 
-            if (serverIcon != null) {
-                event.setServerIcon(serverIcon);
+            Settings current = settings;
+            CachedServerIcon icon = iconPool.pick(System.currentTimeMillis(), current.getMotdRotateMillis(), current.isMotdIconRandom());
+            if (icon != null) {
+                event.setServerIcon(icon);
             }
         } catch (Exception e) {
             Logger.severe("Error handling server list ping: " + e.getMessage());
         }
     }
 
+    /**
+     * Counts a ping from an address and checks it against the limit
+     * @param address The pinging address
+     * @return true if the address has exceeded its pings for the current window
+     */
+    private boolean isFlooding(InetAddress address) {
+        Settings current = settings;
+        int limit = current.getPingLimit();
+        if (limit <= 0 || address == null) {
+            return false;
+        }
+
+        long now = System.currentTimeMillis();
+        long window = current.getPingWindowMillis();
+        PingWindow entry = pingWindows.compute(address, (key, existing) ->
+                existing == null || now - existing.start >= window ? new PingWindow(now, 1) : new PingWindow(existing.start, existing.count + 1));
+        if (entry.count == limit + 1) {
+            Logger.debug("Dropping server list pings from " + address.getHostAddress() + " for the rest of the window");
+        }
+        return entry.count > limit;
+    }
+
     /**
      * Reloads the server icon and MOTD configuration
      */
     public void reload() {
-        loadServerIcon();
+        iconPool.load(iconPath);
+    }
+
+    /**
+     * Number of pings from one address since the start of its window
+     */
+    private static class PingWindow {
+        private final long start;
+        private final int count;
+
+        private PingWindow(long start, int count) {
+            this.start = start;
+            this.count = count;
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,172 @@
+package dev.aledlb.features.motd;
+
+import dev.aledlb.utilities.Logger;
+import org.bukkit.Server;
+import org.bukkit.util.CachedServerIcon;
+
+import javax.imageio.ImageIO;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Holds the server icons shown in the server list.
+ * The configured path may be a single PNG or a directory of them. Icons are
+ * decoded in parallel off the main thread, scaled to 64x64 once and swapped
+ * in as a whole when they are all ready, so picking an icon for a ping never
+ * touches image data.
+ */
+public class ServerIconPool {
+    private static final int ICON_SIZE = 64;
+    private static final CachedServerIcon[] EMPTY = new CachedServerIcon[0];
+
+    private final Server server;
+    private final AtomicInteger generation;
+    private volatile CachedServerIcon[] icons;
+
+    /**
+     * Creates a new, empty ServerIconPool instance.
+     * @param server The server used to encode icons.
+     */
+    public ServerIconPool(Server server) {
+        this.server = server;
+        this.generation = new AtomicInteger();
+        this.icons = EMPTY;
+    }
+
+    /**
+     * Starts loading icons from a file or directory, replacing the pool once done.
+     * A later call supersedes any load still in progress.
+     * @param path The icon file or directory, or null to clear the pool.
+     */
+    public void load(String path) {
+        int current = generation.incrementAndGet();
+        if (path == null) {
+            Logger.warning("Server icon path not configured in config.yml");
+            icons = EMPTY;
+            return;
+        }
+
+        File[] files = listIcons(new File(path));
+        if (files.length == 0) {
+            Logger.warning("No server icon found at: " + new File(path).getAbsolutePath());
+            icons = EMPTY;
+            return;
+        }
+
+        List<CompletableFuture<CachedServerIcon>> futures = new ArrayList<>();
+        for (File file : files) {
+            futures.add(CompletableFuture.supplyAsync(() -> decode(file)));
+        }
+
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).whenComplete((ignored, error) -> {
+            List<CachedServerIcon> loaded = new ArrayList<>();
+            for (CompletableFuture<CachedServerIcon> future : futures) {
+                CachedServerIcon icon = future.getNow(null);
+                if (icon != null) {
+                    loaded.add(icon);
+                }
+            }
+
+            if (generation.get() != current) {
+                return;
+            }
+            icons = loaded.toArray(EMPTY);
+            Logger.info("Loaded " + loaded.size() + " of " + files.length + " server icons");
+        });
+    }
+
+    /**
+     * Picks the icon for a ping.
+     * @param now The current time in milliseconds.
+     * @param rotateMillis How long each icon is shown when rotating.
+     * @param random Whether to pick a random icon instead of rotating.
+     * @return The icon, or null if the pool is empty.
+     */
+    public CachedServerIcon pick(long now, long rotateMillis, boolean random) {
+        CachedServerIcon[] current = icons;
+        if (current.length == 0) {
+            return null;
+        }
+        if (current.length == 1) {
+            return current[0];
+        }
+        int index = random
+                ? ThreadLocalRandom.current().nextInt(current.length)
+                : (int) ((now / rotateMillis) % current.length);
+        return current[index];
+    }
+
+    /**
+     * Gets the number of loaded icons.
+     * @return The pool size.
+     */
+    public int size() {
+        return icons.length;
+    }
+
+    /**
+     * Lists the PNG files for a path, in name order.
+     * @param file The icon file or directory.
+     * @return The icon files.
+     */
+    private static File[] listIcons(File file) {
+        if (file.isFile()) {
+            return new File[] { file };
+        }
+
+        File[] files = file.listFiles((dir, name) -> name.toLowerCase().endsWith(".png"));
+        if (files == null) {
+            return new File[0];
+        }
+        Arrays.sort(files);
+        return files;
+    }
+
+    /**
+     * Decodes an icon, scaling it to 64x64 if needed.
+     * @param file The icon file.
+     * @return The encoded icon, or null if it could not be loaded.
+     */
+    private CachedServerIcon decode(File file) {
+        try {
+            BufferedImage image = ImageIO.read(file);
+            if (image == null) {
+                Logger.warning("Server icon is not a readable image: " + file.getName());
+                return null;
+            }
+
+            if (image.getWidth() != ICON_SIZE || image.getHeight() != ICON_SIZE) {
+                image = scale(image);
+            }
+            return server.loadServerIcon(image);
+        } catch (Exception e) {
+            Logger.warning("Failed to load server icon " + file.getName() + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Scales an image to the server icon size.
+     * @param image The source image.
+     * @return The scaled image.
+     */
+    private static BufferedImage scale(BufferedImage image) {
+        BufferedImage scaled = new BufferedImage(ICON_SIZE, ICON_SIZE, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D graphics = scaled.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.drawImage(image, 0, 0, ICON_SIZE, ICON_SIZE, null);
+        } finally {
+            graphics.dispose();
+        }
+        return scaled;
+    }
+}
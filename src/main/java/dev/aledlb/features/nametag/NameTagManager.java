@@ -0,0 +1,226 @@
+package dev.aledlb.features.nametag;
+
+import dev.aledlb.Core;
+import dev.aledlb.features.chat.ChatFormatter;
+import dev.aledlb.utilities.Logger;
+import org.bukkit.Bukkit;
+import org.bukkit.ChatColor;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerJoinEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
+import org.bukkit.scheduler.BukkitTask;
+import org.bukkit.scoreboard.Scoreboard;
+import org.bukkit.scoreboard.ScoreboardManager;
+import org.bukkit.scoreboard.Team;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Shows group prefixes above players' heads and in the tab list.
+ * All players share one scoreboard with one team per distinct prefix, so
+ * everyone sees everyone else's prefix. Joins, quits and group changes only
+ * queue the player; a task moves at most a configured number of queued
+ * players between teams each tick, so a join wave is spread over several ticks.
+ */
+public class NameTagManager implements Listener {
+    private static final String TEAM_PREFIX = "core";
+    private static final int DEFAULT_UPDATES_PER_TICK = 20;
+
+    private final Core plugin;
+    private final ChatFormatter chatFormatter;
+    private final Queue<UUID> pending;
+    private final Set<UUID> queued;
+    private final Map<String, Team> teamsByPrefix;
+    private final Map<UUID, String> playerPrefixes;
+    private final int updatesPerTick;
+    private Scoreboard scoreboard;
+    private BukkitTask task;
+    private int nextTeamId;
+
+    /**
+     * Creates a new NameTagManager instance.
+     * @param plugin The Core plugin instance.
+     * @param chatFormatter The formatter that resolves player prefixes.
+     */
+    public NameTagManager(Core plugin, ChatFormatter chatFormatter) {
+        this.plugin = plugin;
+        this.chatFormatter = chatFormatter;
+        this.pending = new ConcurrentLinkedQueue<>();
+        this.queued = ConcurrentHashMap.newKeySet();
+        this.teamsByPrefix = new HashMap<>();
+        this.playerPrefixes = new HashMap<>();
+        this.updatesPerTick = Math.max(1, plugin.getConfig().getInt("name-tags.updates-per-tick", DEFAULT_UPDATES_PER_TICK));
+    }
+
+    /**
+     * Creates the shared scoreboard, queues online players and starts the update task.
+     */
+    public void start() {
+        ScoreboardManager manager = Bukkit.getScoreboardManager();
+        if (manager == null) {
+            Logger.warning("Could not get scoreboard manager - name tags disabled");
+            return;
+        }
+
+        scoreboard = manager.getNewScoreboard();
+        refreshAll();
+        task = plugin.getServer().getScheduler().runTaskTimer(plugin, this::processQueue, 1L, 1L);
+    }
+
+    /**
+     * Stops the update task and gives players back the main scoreboard.
+     */
+    public void shutdown() {
+        if (task != null) {
+            task.cancel();
+            task = null;
+        }
+        if (scoreboard == null) {
+            return;
+        }
+
+        ScoreboardManager manager = Bukkit.getScoreboardManager();
+        for (Player player : plugin.getServer().getOnlinePlayers()) {
+            if (manager != null && player.getScoreboard() == scoreboard) {
+                player.setScoreboard(manager.getMainScoreboard());
+            }
+        }
+        for (Team team : teamsByPrefix.values()) {
+            team.unregister();
+        }
+        teamsByPrefix.clear();
+        playerPrefixes.clear();
+    }
+
+    /**
+     * Queues a player for a name tag update.
+     * @param uuid The player's UUID.
+     */
+    public void queue(UUID uuid) {
+        if (queued.add(uuid)) {
+            pending.add(uuid);
+        }
+    }
+
+    /**
+     * Queues every online player, for example after a group prefix changes.
+     */
+    public void refreshAll() {
+        for (Player player : plugin.getServer().getOnlinePlayers()) {
+            queue(player.getUniqueId());
+        }
+    }
+
+    /**
+     * Gets the number of players waiting for an update.
+     * @return The queue length.
+     */
+    public int getPendingCount() {
+        return queued.size();
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onJoin(PlayerJoinEvent event) {
+        queue(event.getPlayer().getUniqueId());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onQuit(PlayerQuitEvent event) {
+        Player player = event.getPlayer();
+        queued.remove(player.getUniqueId());
+        String prefix = playerPrefixes.remove(player.getUniqueId());
+        if (prefix != null) {
+            leaveTeam(player.getName(), prefix);
+        }
+    }
+
+    /**
+     * Applies up to the per-tick budget of queued updates.
+     */
+    private void processQueue() {
+        for (int i = 0; i < updatesPerTick; i++) {
+            UUID uuid = pending.poll();
+            if (uuid == null) {
+                return;
+            }
+            if (!queued.remove(uuid)) {
+                // Player quit while queued
+                continue;
+            }
+
+            Player player = plugin.getServer().getPlayer(uuid);
+            if (player == null || !player.isOnline()) {
+                continue;
+            }
+
+            try {
+                apply(player);
+            } catch (Exception e) {
+                Logger.severe("Error updating name tag for player " + player.getName() + ": " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Moves a player into the team for their current prefix, if it changed.
+     * @param player The player.
+     */
+    private void apply(Player player) {
+        if (player.getScoreboard() != scoreboard) {
+            player.setScoreboard(scoreboard);
+        }
+
+        String prefix = chatFormatter.getPrefix(player);
+        String current = playerPrefixes.get(player.getUniqueId());
+        if (prefix.equals(current)) {
+            return;
+        }
+
+        if (current != null) {
+            leaveTeam(player.getName(), current);
+        }
+
+        if (prefix.isEmpty()) {
+            playerPrefixes.remove(player.getUniqueId());
+            player.setPlayerListName(null);
+            return;
+        }
+
+        Team team = teamsByPrefix.get(prefix);
+        if (team == null) {
+            team = scoreboard.registerNewTeam(TEAM_PREFIX + nextTeamId++);
+            team.setPrefix(prefix + " ");
+            teamsByPrefix.put(prefix, team);
+        }
+        team.addEntry(player.getName());
+        playerPrefixes.put(player.getUniqueId(), prefix);
+        player.setPlayerListName(prefix + " " + ChatColor.WHITE + player.getDisplayName());
+    }
+
+    /**
+     * Removes an entry from a prefix team, unregistering the team once it is empty.
+     * @param entry The scoreboard entry (player name).
+     * @param prefix The team's prefix.
+     */
+    private void leaveTeam(String entry, String prefix) {
+        Team team = teamsByPrefix.get(prefix);
+        if (team == null) {
+            return;
+        }
+
+        team.removeEntry(entry);
+        if (team.getEntries().isEmpty()) {
+            team.unregister();
+            teamsByPrefix.remove(prefix);
+        }
+    }
+}
@@ -3,28 +3,27 @@ package dev.aledlb.features.placeholder;
 import dev.aledlb.Core;
 import dev.aledlb.utilities.Logger;
 import me.clip.placeholderapi.expansion.PlaceholderExpansion;
-import org.bukkit.ChatColor;
-import org.bukkit.configuration.ConfigurationSection;
 import org.bukkit.entity.Player;
 import org.jetbrains.annotations.NotNull;
 
-import java.util.List;
-
 /**
  * Provides placeholder expansions for the Core plugin.
  * This includes:
- * - Player prefix placeholders
- * - Group prefix placeholders
- * - Permission placeholders
- * - Custom placeholders
+ * - %core_prefix% and %core_group%
+ * - %core_kills%, %core_deaths%, %core_kdr% and %core_playtime%
+ * Values are served from the {@link PlaceholderCache}.
  */
 public class CorePlaceholderExpansion extends PlaceholderExpansion {
 
     private static final String PREFIX_PLACEHOLDER = "prefix";
-    private static final String USERS_SECTION = "users";
-    private static final String GROUPS_SECTION = "groups";
+    private static final String GROUP_PLACEHOLDER = "group";
+    private static final String KILLS_PLACEHOLDER = "kills";
+    private static final String DEATHS_PLACEHOLDER = "deaths";
+    private static final String KDR_PLACEHOLDER = "kdr";
+    private static final String PLAYTIME_PLACEHOLDER = "playtime";
 
     private final Core plugin;
+    private final PlaceholderCache cache;
 
     /**
      * Creates a new CorePlaceholderExpansion instance
@@ -32,6 +31,7 @@ public class CorePlaceholderExpansion extends PlaceholderExpansion {
      */
     public CorePlaceholderExpansion(Core plugin) {
         this.plugin = plugin;
+        this.cache = plugin.getPlaceholderCache();
     }
 
     @Override
@@ -68,7 +68,17 @@ public class CorePlaceholderExpansion extends PlaceholderExpansion {
 
             switch (identifier.toLowerCase()) {
                 case PREFIX_PLACEHOLDER:
-                    return getPlayerPrefix(player);
+                    return cache.getPrefix(player);
+                case GROUP_PLACEHOLDER:
+                    return cache.getGroup(player);
+                case KILLS_PLACEHOLDER:
+                    return cache.getKills(player);
+                case DEATHS_PLACEHOLDER:
+                    return cache.getDeaths(player);
+                case KDR_PLACEHOLDER:
+                    return cache.getKillDeathRatio(player);
+                case PLAYTIME_PLACEHOLDER:
+                    return cache.getPlaytime(player);
                 default:
                     return null;
             }
@@ -77,31 +87,4 @@ public class CorePlaceholderExpansion extends PlaceholderExpansion {
             return "";
         }
     }
-
-    /**
-     * Gets the prefix for a player
-     * @param player The player to get the prefix for
-     * @return The player's prefix
-     */
-    private String getPlayerPrefix(Player player) {
-        try {
-            ConfigurationSection usersSection = plugin.getConfig().getConfigurationSection(USERS_SECTION);
-            if (usersSection == null) {
-                Logger.warning("Users section not found in config");
-                return "";
-            }
-
-            List<String> playerGroups = usersSection.getStringList(player.getName() + ".groups");
-            if (playerGroups.isEmpty()) {
-                return "";
-            }
-
-            String playerGroup = playerGroups.get(0);
-            String prefix = plugin.getConfig().getString(GROUPS_SECTION + "." + playerGroup + ".prefix", "");
-            return ChatColor.translateAlternateColorCodes('&', prefix);
-        } catch (Exception e) {
-            Logger.severe("Error getting player prefix: " + e.getMessage());
-            return "";
-        }
-    }
-}
\ No newline at end of file
+}
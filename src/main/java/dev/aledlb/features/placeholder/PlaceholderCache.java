@@ -0,0 +1,224 @@
+package dev.aledlb.features.placeholder;
+
+import dev.aledlb.Core;
+import dev.aledlb.features.player.PlayerData;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerQuitEvent;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Caches resolved placeholder values per player.
+ * Group and prefix are resolved once and kept until the player's permissions
+ * or groups change. Statistics are formatted once and reused for as long as
+ * the underlying counters are unchanged, so a placeholder request is a map
+ * lookup plus a few integer comparisons. Safe to call from any thread.
+ */
+public class PlaceholderCache implements Listener {
+    private final Core plugin;
+    private final Map<UUID, Identity> identities;
+    private final Map<UUID, Stats> stats;
+
+    /**
+     * Creates a new PlaceholderCache instance.
+     * @param plugin The Core plugin instance.
+     */
+    public PlaceholderCache(Core plugin) {
+        this.plugin = plugin;
+        this.identities = new ConcurrentHashMap<>();
+        this.stats = new ConcurrentHashMap<>();
+        plugin.getConfigManager().subscribe(settings -> invalidateAll());
+    }
+
+    /**
+     * Gets a player's colorized group prefix.
+     * @param player The player.
+     * @return The prefix, or an empty string if the player has none.
+     */
+    public String getPrefix(Player player) {
+        return identity(player).prefix;
+    }
+
+    /**
+     * Gets the name of a player's primary group.
+     * @param player The player.
+     * @return The group name, or an empty string if the player has none.
+     */
+    public String getGroup(Player player) {
+        return identity(player).group;
+    }
+
+    /**
+     * Gets a player's kill count.
+     * @param player The player.
+     * @return The formatted kill count.
+     */
+    public String getKills(Player player) {
+        return stats(player).kills;
+    }
+
+    /**
+     * Gets a player's death count.
+     * @param player The player.
+     * @return The formatted death count.
+     */
+    public String getDeaths(Player player) {
+        return stats(player).deaths;
+    }
+
+    /**
+     * Gets a player's kill/death ratio.
+     * @param player The player.
+     * @return The ratio with two decimals.
+     */
+    public String getKillDeathRatio(Player player) {
+        return stats(player).killDeathRatio;
+    }
+
+    /**
+     * Gets a player's recorded playtime.
+     * @param player The player.
+     * @return The playtime, for example "1d 2h 3m".
+     */
+    public String getPlaytime(Player player) {
+        return stats(player).playtime;
+    }
+
+    /**
+     * Drops a player's cached group and prefix.
+     * @param uuid The player's UUID.
+     */
+    public void invalidate(UUID uuid) {
+        identities.remove(uuid);
+    }
+
+    /**
+     * Drops every cached value, for example after a configuration reload.
+     */
+    public void invalidateAll() {
+        identities.clear();
+        stats.clear();
+    }
+
+    /**
+     * Gets the number of players with cached values.
+     * @return The cached player count.
+     */
+    public int size() {
+        return identities.size();
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onQuit(PlayerQuitEvent event) {
+        UUID uuid = event.getPlayer().getUniqueId();
+        identities.remove(uuid);
+        stats.remove(uuid);
+    }
+
+    /**
+     * Gets the cached group and prefix for a player, resolving them if missing.
+     * @param player The player.
+     * @return The cached identity.
+     */
+    private Identity identity(Player player) {
+        Identity identity = identities.get(player.getUniqueId());
+        if (identity != null) {
+            return identity;
+        }
+        // Resolve inside computeIfAbsent so a concurrent invalidate is not overwritten by a stale entry
+        return identities.computeIfAbsent(player.getUniqueId(), uuid -> {
+            List<String> groups = plugin.getPermissionManager().getStore().getUser(uuid).getGroups();
+            String group = groups.isEmpty() ? "" : groups.get(0);
+            return new Identity(group, plugin.getChatFormatter().getPrefix(player));
+        });
+    }
+
+    /**
+     * Gets the formatted statistics for a player, reformatting only when a counter changed.
+     * @param player The player.
+     * @return The formatted statistics.
+     */
+    private Stats stats(Player player) {
+        PlayerData data = plugin.getPlayerDataManager().getCachedPlayerData(player.getUniqueId());
+        if (data == null) {
+            return Stats.EMPTY;
+        }
+
+        int kills = data.getKills();
+        int deaths = data.getDeaths();
+        long playtimeMinutes = data.getPlaytime() / 60000;
+        Stats current = stats.get(player.getUniqueId());
+        if (current != null && current.matches(kills, deaths, playtimeMinutes)) {
+            return current;
+        }
+
+        Stats updated = new Stats(kills, deaths, playtimeMinutes);
+        stats.put(player.getUniqueId(), updated);
+        return updated;
+    }
+
+    /**
+     * Formats playtime at minute precision.
+     * @param totalMinutes The playtime in minutes.
+     * @return The formatted playtime.
+     */
+    private static String formatPlaytime(long totalMinutes) {
+        long hours = totalMinutes / 60;
+        long days = hours / 24;
+
+        if (days > 0) {
+            return days + "d " + hours % 24 + "h " + totalMinutes % 60 + "m";
+        } else if (hours > 0) {
+            return hours + "h " + totalMinutes % 60 + "m";
+        }
+        return totalMinutes + "m";
+    }
+
+    /**
+     * A player's primary group and its colorized prefix.
+     */
+    private static class Identity {
+        private final String group;
+        private final String prefix;
+
+        private Identity(String group, String prefix) {
+            this.group = group;
+            this.prefix = prefix;
+        }
+    }
+
+    /**
+     * A player's statistics and their formatted values.
+     */
+    private static class Stats {
+        private static final Stats EMPTY = new Stats(0, 0, 0);
+
+        private final int killCount;
+        private final int deathCount;
+        private final long playtimeMinutes;
+        private final String kills;
+        private final String deaths;
+        private final String killDeathRatio;
+        private final String playtime;
+
+        private Stats(int killCount, int deathCount, long playtimeMinutes) {
+            this.killCount = killCount;
+            this.deathCount = deathCount;
+            this.playtimeMinutes = playtimeMinutes;
+            this.kills = Integer.toString(killCount);
+            this.deaths = Integer.toString(deathCount);
+            this.killDeathRatio = String.format("%.2f", deathCount == 0 ? (double) killCount : (double) killCount / deathCount);
+            this.playtime = formatPlaytime(playtimeMinutes);
+        }
+
+        private boolean matches(int killCount, int deathCount, long playtimeMinutes) {
+            return this.killCount == killCount && this.deathCount == deathCount && this.playtimeMinutes == playtimeMinutes;
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package dev.aledlb.features.player;
+
+import org.bukkit.configuration.ConfigurationSection;
+
+/**
+ * Capacities of the per-player history buffers.
+ */
+public class HistoryLimits {
+    public static final HistoryLimits DEFAULT = new HistoryLimits(10, 5, 100);
+
+    private final int locations;
+    private final int inventoryBackups;
+    private final int chatMessages;
+
+    /**
+     * Creates a new HistoryLimits instance.
+     * @param locations The number of locations kept.
+     * @param inventoryBackups The number of inventory backups kept.
+     * @param chatMessages The number of chat messages kept.
+     */
+    public HistoryLimits(int locations, int inventoryBackups, int chatMessages) {
+        this.locations = Math.max(1, locations);
+        this.inventoryBackups = Math.max(1, inventoryBackups);
+        this.chatMessages = Math.max(1, chatMessages);
+    }
+
+    /**
+     * Reads the limits from a configuration section, falling back to the defaults.
+     * @param section The player-data.history section, or null.
+     * @return The configured limits.
+     */
+    public static HistoryLimits fromConfig(ConfigurationSection section) {
+        if (section == null) {
+            return DEFAULT;
+        }
+
+        return new HistoryLimits(
+                section.getInt("locations", DEFAULT.locations),
+                section.getInt("inventory-backups", DEFAULT.inventoryBackups),
+                section.getInt("chat", DEFAULT.chatMessages));
+    }
+
+    /**
+     * Gets the number of locations kept.
+     * @return The location history size.
+     */
+    public int getLocations() {
+        return locations;
+    }
+
+    /**
+     * Gets the number of inventory backups kept.
+     * @return The inventory backup count.
+     */
+    public int getInventoryBackups() {
+        return inventoryBackups;
+    }
+
+    /**
+     * Gets the number of chat messages kept.
+     * @return The chat history size.
+     */
+    public int getChatMessages() {
+        return chatMessages;
+    }
+}
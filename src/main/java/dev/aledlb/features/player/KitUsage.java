@@ -0,0 +1,185 @@
+package dev.aledlb.features.player;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A player's kit claim history, kept in primitive arrays indexed by kit id.
+ * Kit ids are assigned per kit name for the lifetime of the server and never
+ * reused, so usage survives kits being reloaded. Persisted by kit name in a
+ * compact text form. Methods are synchronized; claims happen on the main
+ * thread while saves read from the flusher thread.
+ */
+public class KitUsage {
+    private static final Map<String, Integer> IDS = new ConcurrentHashMap<>();
+    private static final List<String> NAMES = new ArrayList<>();
+    private static final String RECORD_SEPARATOR = "\n";
+    private static final String FIELD_SEPARATOR = "\t";
+
+    private long[] lastClaims;
+    private int[] claimDays;
+    private int[] claimsOnDay;
+    private int[] totalClaims;
+
+    /**
+     * Creates an empty KitUsage instance.
+     */
+    public KitUsage() {
+        this.lastClaims = new long[0];
+        this.claimDays = new int[0];
+        this.claimsOnDay = new int[0];
+        this.totalClaims = new int[0];
+    }
+
+    /**
+     * Gets the id for a kit name, assigning one on first use.
+     * @param kitName The kit name.
+     * @return The kit id.
+     */
+    public static int idOf(String kitName) {
+        Integer id = IDS.get(kitName);
+        if (id != null) {
+            return id;
+        }
+        synchronized (NAMES) {
+            return IDS.computeIfAbsent(kitName, name -> {
+                NAMES.add(name);
+                return NAMES.size() - 1;
+            });
+        }
+    }
+
+    /**
+     * Gets the kit name for an id.
+     * @param id The kit id.
+     * @return The kit name.
+     */
+    public static String nameOf(int id) {
+        synchronized (NAMES) {
+            return NAMES.get(id);
+        }
+    }
+
+    /**
+     * Gets when a kit was last claimed.
+     * @param kitId The kit id.
+     * @return The claim time in milliseconds, or 0 if never claimed.
+     */
+    public synchronized long getLastClaim(int kitId) {
+        return kitId < lastClaims.length ? lastClaims[kitId] : 0;
+    }
+
+    /**
+     * Gets how many times a kit was claimed on a day.
+     * @param kitId The kit id.
+     * @param day The epoch day.
+     * @return The claim count on that day.
+     */
+    public synchronized int getClaimsOn(int kitId, int day) {
+        return kitId < claimDays.length && claimDays[kitId] == day ? claimsOnDay[kitId] : 0;
+    }
+
+    /**
+     * Gets how many times a kit was ever claimed.
+     * @param kitId The kit id.
+     * @return The total claim count.
+     */
+    public synchronized int getTotalClaims(int kitId) {
+        return kitId < totalClaims.length ? totalClaims[kitId] : 0;
+    }
+
+    /**
+     * Records a claim.
+     * @param kitId The kit id.
+     * @param time The claim time in milliseconds.
+     * @param day The epoch day of the claim.
+     */
+    public synchronized void recordClaim(int kitId, long time, int day) {
+        ensureCapacity(kitId + 1);
+        lastClaims[kitId] = time;
+        if (claimDays[kitId] != day) {
+            claimDays[kitId] = day;
+            claimsOnDay[kitId] = 0;
+        }
+        claimsOnDay[kitId]++;
+        totalClaims[kitId]++;
+    }
+
+    /**
+     * Gets the ids of every kit with recorded usage.
+     * @return The kit ids.
+     */
+    public synchronized int[] getClaimedKits() {
+        int count = 0;
+        int[] ids = new int[totalClaims.length];
+        for (int id = 0; id < totalClaims.length; id++) {
+            if (totalClaims[id] > 0) {
+                ids[count++] = id;
+            }
+        }
+        return Arrays.copyOf(ids, count);
+    }
+
+    /**
+     * Encodes the usage as one line per kit: name, last claim, claim day, claims that day, total.
+     * @return The encoded usage, or null if there is none.
+     */
+    public synchronized String encode() {
+        StringBuilder builder = new StringBuilder();
+        for (int id = 0; id < totalClaims.length; id++) {
+            if (totalClaims[id] == 0) {
+                continue;
+            }
+            if (builder.length() > 0) {
+                builder.append(RECORD_SEPARATOR);
+            }
+            builder.append(nameOf(id)).append(FIELD_SEPARATOR)
+                    .append(lastClaims[id]).append(FIELD_SEPARATOR)
+                    .append(claimDays[id]).append(FIELD_SEPARATOR)
+                    .append(claimsOnDay[id]).append(FIELD_SEPARATOR)
+                    .append(totalClaims[id]);
+        }
+        return builder.length() > 0 ? builder.toString() : null;
+    }
+
+    /**
+     * Replaces the usage with data written by {@link #encode()}. Malformed lines are skipped.
+     * @param encoded The encoded usage, or null.
+     */
+    public synchronized void decode(String encoded) {
+        if (encoded == null || encoded.isEmpty()) {
+            return;
+        }
+
+        for (String record : encoded.split(RECORD_SEPARATOR)) {
+            String[] fields = record.split(FIELD_SEPARATOR);
+            if (fields.length != 5) {
+                continue;
+            }
+            try {
+                int id = idOf(fields[0]);
+                ensureCapacity(id + 1);
+                lastClaims[id] = Long.parseLong(fields[1]);
+                claimDays[id] = Integer.parseInt(fields[2]);
+                claimsOnDay[id] = Integer.parseInt(fields[3]);
+                totalClaims[id] = Integer.parseInt(fields[4]);
+            } catch (NumberFormatException e) {
+                // Skip the corrupt record
+            }
+        }
+    }
+
+    private void ensureCapacity(int size) {
+        if (size <= lastClaims.length) {
+            return;
+        }
+        int capacity = Math.max(size, lastClaims.length * 2);
+        lastClaims = Arrays.copyOf(lastClaims, capacity);
+        claimDays = Arrays.copyOf(claimDays, capacity);
+        claimsOnDay = Arrays.copyOf(claimsOnDay, capacity);
+        totalClaims = Arrays.copyOf(totalClaims, capacity);
+    }
+}
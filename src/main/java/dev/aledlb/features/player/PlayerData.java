@@ -1,41 +1,54 @@
 package dev.aledlb.features.player;
 
+import dev.aledlb.utilities.HistoryView;
+import dev.aledlb.utilities.RingBuffer;
 import org.bukkit.Location;
 import org.bukkit.inventory.ItemStack;
 
-import java.util.ArrayList;
-import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Stores player data including statistics, inventory backups, and location history.
+ * Safe to mutate from the async chat thread and the main thread at once:
+ * counters are atomic and histories are lock-free ring buffers.
  */
 public class PlayerData {
     private final UUID uuid;
-    private long playtime;
-    private int deaths;
-    private int kills;
-    private long lastSeen;
-    private Location lastLocation;
-    private List<Location> locationHistory;
-    private List<ItemStack[]> inventoryBackups;
-    private long lastBackup;
-    private List<String> chatHistory;
+    private final AtomicLong playtime;
+    private final AtomicInteger deaths;
+    private final AtomicInteger kills;
+    private volatile long lastSeen;
+    private volatile Location lastLocation;
+    private final RingBuffer<Location> locationHistory;
+    private final RingBuffer<ItemStack[]> inventoryBackups;
+    private final RingBuffer<String> chatHistory;
+    private final KitUsage kitUsage;
+
+    /**
+     * Creates a new PlayerData instance with the default history sizes.
+     * @param uuid The player's UUID.
+     */
+    public PlayerData(UUID uuid) {
+        this(uuid, HistoryLimits.DEFAULT);
+    }
 
     /**
      * Creates a new PlayerData instance.
      * @param uuid The player's UUID.
+     * @param limits The history buffer capacities.
      */
-    public PlayerData(UUID uuid) {
+    public PlayerData(UUID uuid, HistoryLimits limits) {
         this.uuid = uuid;
-        this.playtime = 0;
-        this.deaths = 0;
-        this.kills = 0;
+        this.playtime = new AtomicLong();
+        this.deaths = new AtomicInteger();
+        this.kills = new AtomicInteger();
         this.lastSeen = System.currentTimeMillis();
-        this.locationHistory = new ArrayList<>();
-        this.inventoryBackups = new ArrayList<>();
-        this.lastBackup = 0;
-        this.chatHistory = new ArrayList<>();
+        this.locationHistory = new RingBuffer<>(limits.getLocations());
+        this.inventoryBackups = new RingBuffer<>(limits.getInventoryBackups());
+        this.chatHistory = new RingBuffer<>(limits.getChatMessages());
+        this.kitUsage = new KitUsage();
     }
 
     /**
@@ -51,7 +64,7 @@ public class PlayerData {
      * @return The player's playtime.
      */
     public long getPlaytime() {
-        return playtime;
+        return playtime.get();
     }
 
     /**
@@ -59,7 +72,15 @@ public class PlayerData {
      * @param playtime The new playtime value.
      */
     public void setPlaytime(long playtime) {
-        this.playtime = playtime;
+        this.playtime.set(playtime);
+    }
+
+    /**
+     * Adds to the player's playtime.
+     * @param millis The playtime to add in milliseconds.
+     */
+    public void addPlaytime(long millis) {
+        this.playtime.addAndGet(millis);
     }
 
     /**
@@ -67,7 +88,7 @@ public class PlayerData {
      * @return The player's death count.
      */
     public int getDeaths() {
-        return deaths;
+        return deaths.get();
     }
 
     /**
@@ -75,7 +96,14 @@ public class PlayerData {
      * @param deaths The new death count.
      */
     public void setDeaths(int deaths) {
-        this.deaths = deaths;
+        this.deaths.set(deaths);
+    }
+
+    /**
+     * Increments the player's death count.
+     */
+    public void incrementDeaths() {
+        this.deaths.incrementAndGet();
     }
 
     /**
@@ -83,7 +111,7 @@ public class PlayerData {
      * @return The player's kill count.
      */
     public int getKills() {
-        return kills;
+        return kills.get();
     }
 
     /**
@@ -91,7 +119,14 @@ public class PlayerData {
      * @param kills The new kill count.
      */
     public void setKills(int kills) {
-        this.kills = kills;
+        this.kills.set(kills);
+    }
+
+    /**
+     * Increments the player's kill count.
+     */
+    public void incrementKills() {
+        this.kills.incrementAndGet();
     }
 
     /**
@@ -126,19 +161,15 @@ public class PlayerData {
         this.lastLocation = lastLocation;
         if (lastLocation != null) {
             this.locationHistory.add(lastLocation);
-            // Keep only the last 10 locations
-            if (this.locationHistory.size() > 10) {
-                this.locationHistory.remove(0);
-            }
         }
     }
 
     /**
-     * Gets the player's location history.
-     * @return The location history.
+     * Gets the player's location history, oldest first.
+     * @return A read-only view of the location history.
      */
-    public List<Location> getLocationHistory() {
-        return new ArrayList<>(locationHistory);
+    public HistoryView<Location> getLocationHistory() {
+        return locationHistory;
     }
 
     /**
@@ -146,48 +177,32 @@ public class PlayerData {
      * @param inventory The inventory to backup.
      */
     public void addInventoryBackup(ItemStack[] inventory) {
-        this.inventoryBackups.add(inventory.clone());
-        this.lastBackup = System.currentTimeMillis();
-        // Keep only the last 5 backups
-        if (this.inventoryBackups.size() > 5) {
-            this.inventoryBackups.remove(0);
-        }
+        this.inventoryBackups.add(System.currentTimeMillis(), inventory.clone());
     }
 
     /**
-     * Gets the player's inventory backups.
-     * @return The inventory backups.
+     * Gets the player's inventory backups, oldest first, stamped with the time they were taken.
+     * @return A read-only view of the inventory backups.
      */
-    public List<ItemStack[]> getInventoryBackups() {
-        return new ArrayList<>(inventoryBackups);
+    public HistoryView<ItemStack[]> getInventoryBackups() {
+        return inventoryBackups;
     }
 
     /**
-     * Gets the timestamp of the last inventory backup.
-     * @return The last backup timestamp.
+     * Gets the player's chat history, oldest first, stamped with the time each message was sent.
+     * @return A read-only view of the chat history.
      */
-    public long getLastBackup() {
-        return lastBackup;
-    }
-
-    /**
-     * Gets the player's chat history.
-     * @return The chat history.
-     */
-    public List<String> getChatHistory() {
-        return new ArrayList<>(chatHistory);
+    public HistoryView<String> getChatHistory() {
+        return chatHistory;
     }
 
     /**
      * Adds a message to the player's chat history.
+     * @param timestamp The time the message was sent.
      * @param message The message to add.
      */
-    public void addChatMessage(String message) {
-        this.chatHistory.add(message);
-        // Keep only the last 100 messages
-        if (this.chatHistory.size() > 100) {
-            this.chatHistory.remove(0);
-        }
+    public void addChatMessage(long timestamp, String message) {
+        this.chatHistory.add(timestamp, message);
     }
 
     /**
@@ -196,4 +211,12 @@ public class PlayerData {
     public void clearChatHistory() {
         this.chatHistory.clear();
     }
-} 
\ No newline at end of file
+
+    /**
+     * Gets the player's kit claim history.
+     * @return The kit usage.
+     */
+    public KitUsage getKitUsage() {
+        return kitUsage;
+    }
+}
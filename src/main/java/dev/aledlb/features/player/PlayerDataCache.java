@@ -0,0 +1,313 @@
+package dev.aledlb.features.player;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiPredicate;
+import java.util.function.Function;
+
+/**
+ * Size- and idle-bounded cache of loaded player data.
+ * Pinned entries (online players) are never evicted; everything else is
+ * dropped once it has been idle too long or the cache grows past its limit,
+ * oldest access first. An evicted entry is written out after it leaves the
+ * map; until the write finishes, lookups put that same entry back instead
+ * of loading an older copy from storage.
+ */
+public class PlayerDataCache {
+    private final Map<UUID, Entry> entries;
+    private final Map<UUID, Entry> evicting;
+    private final int maxSize;
+    private final long idleMillis;
+    private final AtomicLong hits;
+    private final AtomicLong misses;
+    private final AtomicLong evictions;
+
+    /**
+     * Creates a new PlayerDataCache instance.
+     * @param maxSize The number of entries above which unpinned entries are evicted.
+     * @param idleMillis How long an unpinned entry may go unused before it is evicted.
+     */
+    public PlayerDataCache(int maxSize, long idleMillis) {
+        this.entries = new ConcurrentHashMap<>();
+        this.evicting = new ConcurrentHashMap<>();
+        this.maxSize = Math.max(1, maxSize);
+        this.idleMillis = idleMillis;
+        this.hits = new AtomicLong();
+        this.misses = new AtomicLong();
+        this.evictions = new AtomicLong();
+    }
+
+    /**
+     * Gets an entry, loading it on a miss. Counts towards hit/miss statistics.
+     * @param uuid The player's UUID.
+     * @param loader The loader used on a miss.
+     * @return The player's data.
+     */
+    public PlayerData get(UUID uuid, Function<UUID, PlayerData> loader) {
+        Entry entry = lookup(uuid);
+        if (entry != null) {
+            hits.incrementAndGet();
+        } else {
+            misses.incrementAndGet();
+            entry = entries.computeIfAbsent(uuid, key -> {
+                Entry pending = evicting.get(key);
+                return pending != null ? pending : new Entry(loader.apply(key));
+            });
+        }
+        entry.touch();
+        return entry.data;
+    }
+
+    /**
+     * Gets an entry without loading it or touching statistics.
+     * @param uuid The player's UUID.
+     * @return The player's data, or null if it is not cached.
+     */
+    public PlayerData getIfPresent(UUID uuid) {
+        Entry entry = lookup(uuid);
+        return entry != null ? entry.data : null;
+    }
+
+    /**
+     * Checks whether a player's data is cached.
+     * @param uuid The player's UUID.
+     * @return true if cached.
+     */
+    public boolean contains(UUID uuid) {
+        return lookup(uuid) != null;
+    }
+
+    /**
+     * Inserts a pinned entry unless one already exists.
+     * @param uuid The player's UUID.
+     * @param data The player's data.
+     * @return true if the entry was inserted.
+     */
+    public boolean putPinnedIfAbsent(UUID uuid, PlayerData data) {
+        if (lookup(uuid) != null) {
+            return false;
+        }
+        Entry entry = new Entry(data);
+        entry.pinned = true;
+        return entries.putIfAbsent(uuid, entry) == null;
+    }
+
+    /**
+     * Removes an entry.
+     * @param uuid The player's UUID.
+     */
+    public void remove(UUID uuid) {
+        entries.remove(uuid);
+    }
+
+    /**
+     * Checks whether an entry is cached and pinned.
+     * @param uuid The player's UUID.
+     * @return true if the entry is pinned.
+     */
+    public boolean isPinned(UUID uuid) {
+        Entry entry = lookup(uuid);
+        return entry != null && entry.pinned;
+    }
+
+    /**
+     * Pins or unpins an entry. Pinned entries are never evicted.
+     * @param uuid The player's UUID.
+     * @param pinned Whether the entry should be pinned.
+     */
+    public void setPinned(UUID uuid, boolean pinned) {
+        Entry entry = lookup(uuid);
+        if (entry != null) {
+            entry.pinned = pinned;
+            entry.touch();
+        }
+    }
+
+    /**
+     * Evicts idle entries and, if still over the size limit, the least recently used ones.
+     * Each entry is removed from the map first and the callback runs outside
+     * the map's lock, so slow writes do not block lookups of other players;
+     * returning false or throwing puts the entry back.
+     * @param onEvict Called with each entry about to be evicted.
+     * @return The number of entries evicted.
+     */
+    public int evict(BiPredicate<UUID, PlayerData> onEvict) {
+        long now = System.currentTimeMillis();
+        List<Candidate> candidates = new ArrayList<>();
+        for (Map.Entry<UUID, Entry> entry : entries.entrySet()) {
+            Entry value = entry.getValue();
+            if (!value.pinned) {
+                candidates.add(new Candidate(entry.getKey(), value, value.lastAccess));
+            }
+        }
+
+        candidates.sort(Comparator.comparingLong(candidate -> candidate.seenAccess));
+        int overflow = entries.size() - maxSize;
+        int evicted = 0;
+
+        for (Candidate candidate : candidates) {
+            boolean idle = now - candidate.seenAccess >= idleMillis;
+            if (!idle && evicted >= overflow) {
+                break;
+            }
+
+            boolean[] removed = {false};
+            entries.computeIfPresent(candidate.uuid, (uuid, current) -> {
+                // Skip entries that were replaced, pinned or used since the scan
+                if (current != candidate.entry || current.pinned || current.lastAccess != candidate.seenAccess) {
+                    return current;
+                }
+                evicting.put(uuid, current);
+                removed[0] = true;
+                return null;
+            });
+            if (!removed[0]) {
+                continue;
+            }
+
+            boolean written = false;
+            try {
+                written = onEvict.test(candidate.uuid, candidate.entry.data);
+            } finally {
+                if (!written) {
+                    // A lookup during the write may already have put it back
+                    entries.putIfAbsent(candidate.uuid, candidate.entry);
+                }
+                evicting.remove(candidate.uuid, candidate.entry);
+            }
+            if (written) {
+                evicted++;
+            }
+        }
+
+        evictions.addAndGet(evicted);
+        return evicted;
+    }
+
+    /**
+     * Gets a cached entry, putting it back first if it is being evicted.
+     * @param uuid The player's UUID.
+     * @return The entry, or null if it is not cached.
+     */
+    private Entry lookup(UUID uuid) {
+        Entry entry = entries.get(uuid);
+        if (entry == null && !evicting.isEmpty()) {
+            // The entry being written out is newer than what storage holds
+            entry = entries.computeIfAbsent(uuid, evicting::get);
+        }
+        return entry;
+    }
+
+    /**
+     * Checks whether the cache has grown past its size limit.
+     * @return true if over the limit.
+     */
+    public boolean isOverCapacity() {
+        return entries.size() > maxSize;
+    }
+
+    /**
+     * Gets every cached player's data.
+     * @return The cached data.
+     */
+    public Collection<PlayerData> values() {
+        List<PlayerData> values = new ArrayList<>(entries.size());
+        for (Entry entry : entries.values()) {
+            values.add(entry.data);
+        }
+        return values;
+    }
+
+    /**
+     * Gets the number of cached entries.
+     * @return The cache size.
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * Gets the number of pinned entries.
+     * @return The pinned entry count.
+     */
+    public int pinnedCount() {
+        int pinned = 0;
+        for (Entry entry : entries.values()) {
+            if (entry.pinned) {
+                pinned++;
+            }
+        }
+        return pinned;
+    }
+
+    /**
+     * Gets the configured size limit.
+     * @return The maximum size.
+     */
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    /**
+     * Gets the number of lookups served from the cache.
+     * @return The hit count.
+     */
+    public long getHits() {
+        return hits.get();
+    }
+
+    /**
+     * Gets the number of lookups that had to load from storage.
+     * @return The miss count.
+     */
+    public long getMisses() {
+        return misses.get();
+    }
+
+    /**
+     * Gets the number of entries evicted so far.
+     * @return The eviction count.
+     */
+    public long getEvictions() {
+        return evictions.get();
+    }
+
+    /**
+     * An eviction candidate with the access time seen when it was scanned.
+     */
+    private static class Candidate {
+        private final UUID uuid;
+        private final Entry entry;
+        private final long seenAccess;
+
+        private Candidate(UUID uuid, Entry entry, long seenAccess) {
+            this.uuid = uuid;
+            this.entry = entry;
+            this.seenAccess = seenAccess;
+        }
+    }
+
+    /**
+     * A cached value with its access bookkeeping.
+     */
+    private static class Entry {
+        private final PlayerData data;
+        private volatile long lastAccess;
+        private volatile boolean pinned;
+
+        private Entry(PlayerData data) {
+            this.data = data;
+            this.lastAccess = System.currentTimeMillis();
+        }
+
+        private void touch() {
+            lastAccess = System.currentTimeMillis();
+        }
+    }
+}
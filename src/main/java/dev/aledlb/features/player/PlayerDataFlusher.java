@@ -0,0 +1,193 @@
+package dev.aledlb.features.player;
+
+import dev.aledlb.utilities.Logger;
+import org.bukkit.plugin.java.JavaPlugin;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Write-behind persistence for player data.
+ * Mutations only mark a player dirty; a single background task writes each
+ * dirty record at most once per flush interval. The dirty set keeps the data
+ * itself, so changes are written even if the entry has left the cache.
+ * Writes never overlap: the timer's batch passes, single-player flushes and
+ * the final drain on shutdown all take the same lock.
+ */
+public class PlayerDataFlusher {
+    private final JavaPlugin plugin;
+    private final PlayerDataManager dataManager;
+    private final Map<UUID, PlayerData> dirty;
+    private final AtomicLong flushes;
+    private final AtomicLong writes;
+    private final AtomicLong coalesced;
+    private final Object flushLock;
+    private volatile boolean stopped;
+    private BukkitTask flushTask;
+
+    /**
+     * Creates a new PlayerDataFlusher instance.
+     * @param plugin The plugin instance.
+     * @param dataManager The player data manager that owns the cached data.
+     */
+    public PlayerDataFlusher(JavaPlugin plugin, PlayerDataManager dataManager) {
+        this.plugin = plugin;
+        this.dataManager = dataManager;
+        this.dirty = new ConcurrentHashMap<>();
+        this.flushes = new AtomicLong();
+        this.writes = new AtomicLong();
+        this.coalesced = new AtomicLong();
+        this.flushLock = new Object();
+    }
+
+    /**
+     * Starts the background flush task.
+     * @param intervalTicks The flush interval in ticks.
+     */
+    public void start(long intervalTicks) {
+        long interval = Math.max(1, intervalTicks);
+        flushTask = plugin.getServer().getScheduler().runTaskTimerAsynchronously(plugin, this::flush, interval, interval);
+    }
+
+    /**
+     * Marks a player's data as needing to be written.
+     * Repeated marks before the next flush are coalesced into one write.
+     * @param data The player's data.
+     */
+    public void markDirty(PlayerData data) {
+        if (dirty.put(data.getUuid(), data) != null) {
+            coalesced.incrementAndGet();
+        }
+    }
+
+    /**
+     * Writes every dirty record once, as a single batch.
+     * Does nothing once the flusher has been shut down.
+     */
+    public void flush() {
+        synchronized (flushLock) {
+            if (!stopped) {
+                flushBatch();
+            }
+        }
+    }
+
+    /**
+     * Drains the dirty records and writes them as one batch; the caller holds the flush lock.
+     */
+    private void flushBatch() {
+        if (dirty.isEmpty()) {
+            return;
+        }
+
+        flushes.incrementAndGet();
+        List<PlayerData> batch = new ArrayList<>();
+        for (UUID uuid : new ArrayList<>(dirty.keySet())) {
+            PlayerData data = dirty.remove(uuid);
+            if (data != null) {
+                batch.add(data);
+            }
+        }
+
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        try {
+            dataManager.savePlayerData(batch);
+            writes.addAndGet(batch.size());
+        } catch (Exception e) {
+            Logger.severe("Failed to flush " + batch.size() + " player data records: " + e.getMessage());
+            for (PlayerData data : batch) {
+                dirty.putIfAbsent(data.getUuid(), data);
+            }
+        }
+    }
+
+    /**
+     * Synchronously writes a single player's data if it is dirty.
+     * @param uuid The player's UUID.
+     */
+    public void flush(UUID uuid) {
+        PlayerData data = dirty.get(uuid);
+        if (data != null) {
+            flush(uuid, data);
+        }
+    }
+
+    /**
+     * Synchronously writes the given data if its player is dirty.
+     * @param uuid The player's UUID.
+     * @param data The player's data.
+     * @return true if the data is now persisted, false if the write failed.
+     */
+    public boolean flush(UUID uuid, PlayerData data) {
+        synchronized (flushLock) {
+            if (stopped || dirty.remove(uuid) == null) {
+                return !dirty.containsKey(uuid);
+            }
+
+            try {
+                dataManager.savePlayerData(data);
+                writes.incrementAndGet();
+                return true;
+            } catch (Exception e) {
+                Logger.severe("Failed to flush player data for " + uuid + ": " + e.getMessage());
+                dirty.putIfAbsent(uuid, data);
+                return false;
+            }
+        }
+    }
+
+    /**
+     * Stops the background task and drains every dirty record synchronously.
+     * Waits for a pass that is already running, so nothing is written after this returns.
+     */
+    public void shutdown() {
+        if (flushTask != null) {
+            flushTask.cancel();
+            flushTask = null;
+        }
+        synchronized (flushLock) {
+            flushBatch();
+            stopped = true;
+        }
+    }
+
+    /**
+     * Gets the number of flush passes that wrote at least one record.
+     * @return The flush count.
+     */
+    public long getFlushCount() {
+        return flushes.get();
+    }
+
+    /**
+     * Gets the number of records written to disk.
+     * @return The write count.
+     */
+    public long getWriteCount() {
+        return writes.get();
+    }
+
+    /**
+     * Gets the number of mutations that were folded into an already pending write.
+     * @return The coalesced write count.
+     */
+    public long getCoalescedCount() {
+        return coalesced.get();
+    }
+
+    /**
+     * Gets the number of records currently waiting to be written.
+     * @return The queue depth.
+     */
+    public int getQueueDepth() {
+        return dirty.size();
+    }
+}
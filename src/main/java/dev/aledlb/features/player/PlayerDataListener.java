@@ -2,8 +2,10 @@ package dev.aledlb.features.player;
 
 import org.bukkit.entity.Player;
 import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
 import org.bukkit.event.Listener;
 import org.bukkit.event.entity.PlayerDeathEvent;
+import org.bukkit.event.player.AsyncPlayerPreLoginEvent;
 import org.bukkit.event.player.PlayerJoinEvent;
 import org.bukkit.event.player.PlayerQuitEvent;
 import org.bukkit.plugin.java.JavaPlugin;
@@ -31,10 +33,29 @@ public class PlayerDataListener implements Listener {
         this.joinTimes = new HashMap<>();
     }
 
+    @EventHandler(priority = EventPriority.HIGH)
+    public void onAsyncPreLogin(AsyncPlayerPreLoginEvent event) {
+        if (event.getLoginResult() != AsyncPlayerPreLoginEvent.Result.ALLOWED) {
+            return;
+        }
+
+        // Load from disk here, on the login thread, so the join handler finds warm data.
+        // If this fails or times out the login still goes ahead and the join loads the data.
+        dataManager.preloadPlayerData(event.getUniqueId());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onAsyncPreLoginResult(AsyncPlayerPreLoginEvent event) {
+        if (event.getLoginResult() != AsyncPlayerPreLoginEvent.Result.ALLOWED) {
+            dataManager.discardPreloadedData(event.getUniqueId());
+        }
+    }
+
     @EventHandler
     public void onPlayerJoin(PlayerJoinEvent event) {
         Player player = event.getPlayer();
         joinTimes.put(player.getUniqueId(), System.currentTimeMillis());
+        dataManager.claimPreloadedData(player.getUniqueId());
         dataManager.updatePlayerData(player);
     }
 
@@ -44,27 +65,28 @@ public class PlayerDataListener implements Listener {
         Long joinTime = joinTimes.remove(player.getUniqueId());
         if (joinTime != null) {
             long playtime = System.currentTimeMillis() - joinTime;
-            PlayerData data = dataManager.getPlayerData(player.getUniqueId());
-            data.setPlaytime(data.getPlaytime() + playtime);
-            dataManager.savePlayerData(data);
+            dataManager.getPlayerData(player.getUniqueId()).addPlaytime(playtime);
         }
         dataManager.updatePlayerData(player);
+
+        // Force pending changes to disk before the player is gone
+        dataManager.releasePlayerData(player.getUniqueId());
     }
 
     @EventHandler
     public void onPlayerDeath(PlayerDeathEvent event) {
         Player player = event.getEntity();
         PlayerData data = dataManager.getPlayerData(player.getUniqueId());
-        data.setDeaths(data.getDeaths() + 1);
+        data.incrementDeaths();
         
         // Check if the death was caused by another player
         if (event.getEntity().getKiller() != null) {
             Player killer = event.getEntity().getKiller();
             PlayerData killerData = dataManager.getPlayerData(killer.getUniqueId());
-            killerData.setKills(killerData.getKills() + 1);
-            dataManager.savePlayerData(killerData);
+            killerData.incrementKills();
+            dataManager.markDirty(killerData);
         }
         
-        dataManager.savePlayerData(data);
+        dataManager.markDirty(data);
     }
 } 
\ No newline at end of file
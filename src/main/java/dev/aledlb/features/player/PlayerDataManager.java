@@ -1,24 +1,60 @@
 package dev.aledlb.features.player;
 
+import dev.aledlb.features.player.storage.ChatLogStore;
+import dev.aledlb.features.player.storage.PlayerDataStore;
+import dev.aledlb.features.player.storage.SqlitePlayerDataStore;
+import dev.aledlb.features.player.storage.YamlPlayerDataStore;
+import dev.aledlb.utilities.HistoryView;
+import dev.aledlb.utilities.Logger;
 import org.bukkit.entity.Player;
 import org.bukkit.plugin.java.JavaPlugin;
 import org.bukkit.configuration.file.FileConfiguration;
-import org.bukkit.configuration.file.YamlConfiguration;
+import org.bukkit.scheduler.BukkitTask;
 
 import java.io.File;
-import java.io.IOException;
-import java.util.HashMap;
-import java.util.Map;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
  * Manages player data including inventory backups, statistics, and location history.
  */
 public class PlayerDataManager {
+    private static final long DEFAULT_FLUSH_INTERVAL_SECONDS = 10;
+    private static final String DATABASE_FILE = "playerdata.db";
+    private static final int MIGRATION_BATCH_SIZE = 500;
+    private static final long DEFAULT_PRELOAD_TIMEOUT_MILLIS = 5000;
+    private static final int DEFAULT_PRELOAD_THREADS = 4;
+    private static final int DEFAULT_CACHE_MAX_SIZE = 1000;
+    private static final long DEFAULT_CACHE_IDLE_SECONDS = 300;
+    private static final long EVICTION_INTERVAL_TICKS = 20 * 60;
+    private static final long DEFAULT_CHAT_LOG_MAX_KB = 64;
+
     private final JavaPlugin plugin;
-    private final Map<UUID, PlayerData> playerDataMap;
+    private final PlayerDataCache cache;
     private final File dataFolder;
     private final FileConfiguration config;
+    private final PlayerDataFlusher flusher;
+    private final PlayerDataStore store;
+    private final HistoryLimits historyLimits;
+    private final ChatLogStore chatLog;
+    private final Set<UUID> preloaded;
+    private final ExecutorService loadExecutor;
+    private final long preloadTimeoutMillis;
+    private final AtomicBoolean evictionScheduled;
+    private BukkitTask evictionTask;
 
     /**
      * Creates a new PlayerDataManager instance.
@@ -26,98 +62,292 @@ public class PlayerDataManager {
      */
     public PlayerDataManager(JavaPlugin plugin) {
         this.plugin = plugin;
-        this.playerDataMap = new HashMap<>();
         this.dataFolder = new File(plugin.getDataFolder(), "playerdata");
         this.config = plugin.getConfig();
+        this.cache = new PlayerDataCache(
+                config.getInt("player-data.cache.max-size", DEFAULT_CACHE_MAX_SIZE),
+                TimeUnit.SECONDS.toMillis(config.getLong("player-data.cache.idle-timeout", DEFAULT_CACHE_IDLE_SECONDS)));
+        this.evictionScheduled = new AtomicBoolean();
+        this.flusher = new PlayerDataFlusher(plugin, this);
+        this.preloaded = ConcurrentHashMap.newKeySet();
+        this.loadExecutor = Executors.newFixedThreadPool(
+                Math.max(1, config.getInt("player-data.preload-threads", DEFAULT_PRELOAD_THREADS)), runnable -> {
+            Thread thread = new Thread(runnable, "Core-PlayerData-Loader");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.preloadTimeoutMillis = config.getLong("player-data.preload-timeout", DEFAULT_PRELOAD_TIMEOUT_MILLIS);
+        this.historyLimits = HistoryLimits.fromConfig(config.getConfigurationSection("player-data.history"));
+        this.chatLog = new ChatLogStore(new File(dataFolder, "chat"),
+                config.getLong("player-data.history.chat-log-max-size", DEFAULT_CHAT_LOG_MAX_KB) * 1024);
         
         if (!dataFolder.exists()) {
             dataFolder.mkdirs();
         }
+
+        String storage = config.getString("player-data.storage", YamlPlayerDataStore.NAME);
+        PlayerDataStore configuredStore;
+        try {
+            configuredStore = createStore(storage);
+        } catch (IllegalArgumentException e) {
+            Logger.severe(e.getMessage() + " - falling back to YAML storage");
+            configuredStore = new YamlPlayerDataStore(dataFolder, historyLimits);
+        }
+        this.store = configuredStore;
+        Logger.console("Using " + store.getName() + " player data storage");
+
+        long flushInterval = config.getLong("player-data.flush-interval", DEFAULT_FLUSH_INTERVAL_SECONDS);
+        flusher.start(flushInterval * 20);
+        evictionTask = plugin.getServer().getScheduler().runTaskTimerAsynchronously(plugin, this::evictIdlePlayerData,
+                EVICTION_INTERVAL_TICKS, EVICTION_INTERVAL_TICKS);
+    }
+
+    /**
+     * Creates a storage backend by its configuration name.
+     * @param name The backend name, "yaml" or "sqlite".
+     * @return The storage backend.
+     * @throws IllegalArgumentException If the backend is unknown or cannot be opened.
+     */
+    public PlayerDataStore createStore(String name) {
+        switch (name.toLowerCase()) {
+            case YamlPlayerDataStore.NAME:
+                return new YamlPlayerDataStore(dataFolder, historyLimits);
+            case SqlitePlayerDataStore.NAME:
+                try {
+                    return new SqlitePlayerDataStore(new File(plugin.getDataFolder(), DATABASE_FILE), historyLimits);
+                } catch (SQLException e) {
+                    throw new IllegalArgumentException("Could not open SQLite player data store: " + e.getMessage(), e);
+                }
+            default:
+                throw new IllegalArgumentException("Unknown player data storage: " + name);
+        }
     }
 
     /**
-     * Loads player data from file.
+     * Loads player data from the active storage backend, with chat history from the chat log.
      * @param uuid The player's UUID.
      * @return The player's data.
      */
     public PlayerData loadPlayerData(UUID uuid) {
-        File playerFile = new File(dataFolder, uuid.toString() + ".yml");
-        if (!playerFile.exists()) {
-            return new PlayerData(uuid);
+        PlayerData data = store.load(uuid);
+        chatLog.load(data);
+        return data;
+    }
+
+    /**
+     * Saves player data immediately.
+     * Prefer {@link #markDirty(PlayerData)} outside of shutdown paths.
+     * @param data The player data to save.
+     */
+    public void savePlayerData(PlayerData data) {
+        store.save(data);
+    }
+
+    /**
+     * Saves several players' data immediately as one batch.
+     * @param batch The player data to save.
+     */
+    public void savePlayerData(Collection<PlayerData> batch) {
+        store.saveAll(batch);
+    }
+
+    /**
+     * Marks player data as modified so the background flusher writes it.
+     * @param data The player data that changed.
+     */
+    public void markDirty(PlayerData data) {
+        flusher.markDirty(data);
+    }
+
+    /**
+     * Records a chat message in memory and queues it for the player's chat log.
+     * Safe to call from the async chat thread.
+     * @param data The player's data.
+     * @param message The message.
+     */
+    public void appendChatMessage(PlayerData data, String message) {
+        long timestamp = System.currentTimeMillis();
+        data.addChatMessage(timestamp, message);
+        chatLog.append(data.getUuid(), timestamp, message);
+    }
+
+    /**
+     * Clears a player's chat history in memory and on disk.
+     * @param data The player's data.
+     */
+    public void clearChatHistory(PlayerData data) {
+        data.clearChatHistory();
+        chatLog.clear(data.getUuid());
+    }
+
+    /**
+     * Gets a player's chat messages sent at or after a point in time.
+     * Served from memory when the in-memory history reaches back far enough,
+     * otherwise read backwards from the end of the player's chat log.
+     * @param data The player's data.
+     * @param since The earliest timestamp to include.
+     * @param limit The maximum number of messages, counted from the newest.
+     * @return A future completed with the messages, oldest first.
+     */
+    public CompletableFuture<ChatLogStore.Slice> getChatHistorySince(PlayerData data, long since, int limit) {
+        HistoryView<String> history = data.getChatHistory();
+        long[] oldest = {Long.MAX_VALUE};
+        history.forEachStamped((timestamp, message) -> oldest[0] = Math.min(oldest[0], timestamp));
+
+        if (oldest[0] > since && history.size() >= history.capacity()) {
+            return chatLog.readSince(data.getUuid(), since, limit);
         }
 
-        FileConfiguration playerConfig = YamlConfiguration.loadConfiguration(playerFile);
-        PlayerData data = new PlayerData(uuid);
-        
-        // Load statistics
-        data.setPlaytime(playerConfig.getLong("statistics.playtime", 0));
-        data.setDeaths(playerConfig.getInt("statistics.deaths", 0));
-        data.setKills(playerConfig.getInt("statistics.kills", 0));
-        
-        // Load last seen
-        data.setLastSeen(playerConfig.getLong("lastSeen", System.currentTimeMillis()));
-        
-        // Load location history
-        data.setLastLocation(playerConfig.getLocation("lastLocation"));
-        
-        // Load chat history
-        if (playerConfig.contains("chatHistory")) {
-            data.getChatHistory().addAll(playerConfig.getStringList("chatHistory"));
+        long[] timestamps = new long[history.size()];
+        String[] messages = new String[timestamps.length];
+        int[] count = {0};
+        history.forEachStamped((timestamp, message) -> {
+            if (timestamp >= since && count[0] < timestamps.length) {
+                timestamps[count[0]] = timestamp;
+                messages[count[0]] = message;
+                count[0]++;
+            }
+        });
+
+        int skip = Math.max(0, count[0] - limit);
+        ChatLogStore.Slice slice = new ChatLogStore.Slice(
+                Arrays.copyOfRange(timestamps, skip, count[0]),
+                Arrays.copyOfRange(messages, skip, count[0]),
+                count[0] - skip);
+        return CompletableFuture.completedFuture(slice);
+    }
+
+    /**
+     * Synchronously writes a player's data if it has pending changes.
+     * @param uuid The player's UUID.
+     */
+    public void flush(UUID uuid) {
+        flusher.flush(uuid);
+    }
+
+    /**
+     * Gets or creates player data.
+     * @param uuid The player's UUID.
+     * @return The player's data.
+     */
+    public PlayerData getPlayerData(UUID uuid) {
+        PlayerData data = cache.get(uuid, this::loadPlayerData);
+        if (cache.isOverCapacity() && evictionScheduled.compareAndSet(false, true)) {
+            plugin.getServer().getScheduler().runTaskAsynchronously(plugin, this::evictIdlePlayerData);
         }
-        
         return data;
     }
 
     /**
-     * Saves player data to file.
-     * @param data The player data to save.
+     * Loads a player's data ahead of their join.
+     * Meant to be called from the async pre-login thread; waits at most the
+     * configured preload timeout for the storage backend to answer. Loads run
+     * on a fixed pool, and a load that times out before it starts is dropped;
+     * the join then falls back to {@link #claimPreloadedData(UUID)}'s synchronous load.
+     * @param uuid The player's UUID.
+     * @return true if the data is now cached, false if loading failed or timed out.
      */
-    public void savePlayerData(PlayerData data) {
-        File playerFile = new File(dataFolder, data.getUuid().toString() + ".yml");
-        FileConfiguration playerConfig = new YamlConfiguration();
-        
-        // Save statistics
-        playerConfig.set("statistics.playtime", data.getPlaytime());
-        playerConfig.set("statistics.deaths", data.getDeaths());
-        playerConfig.set("statistics.kills", data.getKills());
-        
-        // Save last seen
-        playerConfig.set("lastSeen", data.getLastSeen());
-        
-        // Save location history
-        if (data.getLastLocation() != null) {
-            playerConfig.set("lastLocation", data.getLastLocation());
+    public boolean preloadPlayerData(UUID uuid) {
+        if (cache.contains(uuid)) {
+            pinForLogin(uuid);
+            return true;
         }
-        
-        // Save chat history
-        playerConfig.set("chatHistory", data.getChatHistory());
-        
+
+        CompletableFuture<PlayerData> future = CompletableFuture.supplyAsync(() -> loadPlayerData(uuid), loadExecutor);
         try {
-            playerConfig.save(playerFile);
-        } catch (IOException e) {
-            plugin.getLogger().severe("Could not save player data for " + data.getUuid());
-            e.printStackTrace();
+            PlayerData data = future.get(preloadTimeoutMillis, TimeUnit.MILLISECONDS);
+            if (cache.putPinnedIfAbsent(uuid, data)) {
+                preloaded.add(uuid);
+            } else {
+                pinForLogin(uuid);
+            }
+            return true;
+        } catch (TimeoutException e) {
+            future.cancel(false);
+            Logger.warning("Timed out after " + preloadTimeoutMillis + "ms preloading player data for " + uuid
+                    + ", loading it on join instead");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            Logger.severe("Failed to preload player data for " + uuid + ": " + e.getCause().getMessage());
         }
+        return false;
     }
 
     /**
-     * Saves player data asynchronously.
+     * Pins an already cached entry for a pending login, remembering it so a
+     * refused login can unpin it again. Entries that are already pinned, for
+     * example by an online session, are left alone.
      * @param uuid The player's UUID.
      */
-    public void savePlayerDataAsync(UUID uuid) {
-        PlayerData data = getPlayerData(uuid);
-        if (data != null) {
-            plugin.getServer().getScheduler().runTaskAsynchronously(plugin, () -> savePlayerData(data));
+    private void pinForLogin(UUID uuid) {
+        if (!cache.isPinned(uuid)) {
+            cache.setPinned(uuid, true);
+            preloaded.add(uuid);
         }
     }
 
     /**
-     * Gets or creates player data.
+     * Releases data that was pinned for a login that did not go through.
+     * The entry becomes evictable again and any pending changes are still written.
+     * @param uuid The player's UUID.
+     */
+    public void discardPreloadedData(UUID uuid) {
+        if (preloaded.remove(uuid)) {
+            cache.setPinned(uuid, false);
+        }
+    }
+
+    /**
+     * Hands preloaded data to a joining player.
+     * Falls back to a synchronous load if the pre-login step was skipped,
+     * for example when the plugin is enabled with players already online.
      * @param uuid The player's UUID.
      * @return The player's data.
      */
-    public PlayerData getPlayerData(UUID uuid) {
-        return playerDataMap.computeIfAbsent(uuid, this::loadPlayerData);
+    public PlayerData claimPreloadedData(UUID uuid) {
+        preloaded.remove(uuid);
+        PlayerData data = cache.getIfPresent(uuid);
+        if (data == null) {
+            Logger.warning("Player data for " + uuid + " was not preloaded, loading on the main thread");
+            data = getPlayerData(uuid);
+        }
+        cache.setPinned(uuid, true);
+        return data;
+    }
+
+    /**
+     * Writes a leaving player's pending changes, closes their chat log and makes their data evictable.
+     * @param uuid The player's UUID.
+     */
+    public void releasePlayerData(UUID uuid) {
+        flusher.flush(uuid);
+        chatLog.close(uuid);
+        cache.setPinned(uuid, false);
+    }
+
+    /**
+     * Gets player data only if it is already loaded.
+     * @param uuid The player's UUID.
+     * @return The player's data, or null if it is not cached.
+     */
+    public PlayerData getCachedPlayerData(UUID uuid) {
+        return cache.getIfPresent(uuid);
+    }
+
+    /**
+     * Evicts offline players' data that is idle or over the cache limit,
+     * writing any pending changes first.
+     */
+    public void evictIdlePlayerData() {
+        try {
+            int evicted = cache.evict(flusher::flush);
+            if (evicted > 0) {
+                Logger.debug("Evicted " + evicted + " cached player data entries");
+            }
+        } finally {
+            evictionScheduled.set(false);
+        }
     }
 
     /**
@@ -128,13 +358,103 @@ public class PlayerDataManager {
         PlayerData data = getPlayerData(player.getUniqueId());
         data.setLastSeen(System.currentTimeMillis());
         data.setLastLocation(player.getLocation());
-        savePlayerData(data);
+        markDirty(data);
     }
 
     /**
      * Saves all player data.
      */
     public void saveAllPlayerData() {
-        playerDataMap.values().forEach(this::savePlayerData);
+        cache.values().forEach(this::savePlayerData);
+    }
+
+    /**
+     * Stops the background flusher and writes all pending changes.
+     */
+    public void shutdown() {
+        if (evictionTask != null) {
+            evictionTask.cancel();
+            evictionTask = null;
+        }
+        loadExecutor.shutdownNow();
+        flusher.shutdown();
+        chatLog.shutdown();
+        store.close();
+    }
+
+    /**
+     * Copies every stored player from one backend to another in batches.
+     * Pending changes are flushed first so the source is up to date.
+     * @param from The source backend name.
+     * @param to The target backend name.
+     * @return The number of players copied.
+     * @throws IllegalArgumentException If either backend is unknown or they are the same.
+     */
+    public int migrateStorage(String from, String to) {
+        if (from.equalsIgnoreCase(to)) {
+            throw new IllegalArgumentException("Source and target storage are the same");
+        }
+
+        flusher.flush();
+
+        PlayerDataStore source = from.equalsIgnoreCase(store.getName()) ? store : createStore(from);
+        PlayerDataStore target = to.equalsIgnoreCase(store.getName()) ? store : createStore(to);
+        List<PlayerData> batch = new ArrayList<>(MIGRATION_BATCH_SIZE);
+        int migrated = 0;
+
+        try {
+            // List the players first so the source is not held for the whole copy
+            List<UUID> uuids = new ArrayList<>();
+            source.forEachPlayer(uuids::add);
+
+            for (UUID uuid : uuids) {
+                batch.add(source.load(uuid));
+                if (batch.size() >= MIGRATION_BATCH_SIZE) {
+                    chatLog.loadAll(batch);
+                    target.saveAll(batch);
+                    migrated += batch.size();
+                    batch.clear();
+                }
+            }
+
+            if (!batch.isEmpty()) {
+                chatLog.loadAll(batch);
+                target.saveAll(batch);
+                migrated += batch.size();
+            }
+        } finally {
+            if (source != store) {
+                source.close();
+            }
+            if (target != store) {
+                target.close();
+            }
+        }
+
+        return migrated;
+    }
+
+    /**
+     * Gets the player data cache for statistics.
+     * @return The player data cache.
+     */
+    public PlayerDataCache getCache() {
+        return cache;
+    }
+
+    /**
+     * Gets the active storage backend.
+     * @return The player data store.
+     */
+    public PlayerDataStore getStore() {
+        return store;
+    }
+
+    /**
+     * Gets the write-behind flusher for statistics.
+     * @return The player data flusher.
+     */
+    public PlayerDataFlusher getFlusher() {
+        return flusher;
     }
 } 
\ No newline at end of file
@@ -0,0 +1,498 @@
+package dev.aledlb.features.player.storage;
+
+import dev.aledlb.features.player.PlayerData;
+import dev.aledlb.utilities.Logger;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Append-only binary chat log, one file per player under playerdata/chat.
+ * Each record is [int length][long timestamp][UTF-8 message][int length];
+ * the trailing length lets the newest records be read backwards from the
+ * end of the file without parsing anything older than the requested range.
+ * All file access runs on a single background thread, so reads always see
+ * every write queued before them. That thread keeps each active player's
+ * log open for appending and closes it when the player quits or the log
+ * has been idle for a while.
+ */
+public class ChatLogStore {
+    private static final int RECORD_OVERHEAD = 16;
+    private static final int MAX_MESSAGE_BYTES = 64 * 1024;
+    private static final String EXTENSION = ".log";
+    private static final long APPENDER_IDLE_MILLIS = TimeUnit.MINUTES.toMillis(5);
+
+    private final File folder;
+    private final long maxBytes;
+    private final ExecutorService writer;
+    // Only touched on the writer thread
+    private final Map<UUID, Appender> appenders;
+    private long lastIdleSweep;
+
+    /**
+     * Creates a new ChatLogStore instance.
+     * @param folder The folder holding the log files.
+     * @param maxBytes The size above which a log is compacted to its newest half.
+     */
+    public ChatLogStore(File folder, long maxBytes) {
+        this.folder = folder;
+        this.maxBytes = Math.max(RECORD_OVERHEAD * 2, maxBytes);
+        this.appenders = new HashMap<>();
+        this.writer = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "Core-ChatLog-Writer");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        if (!folder.exists()) {
+            folder.mkdirs();
+        }
+    }
+
+    /**
+     * Queues a message to be appended to a player's log.
+     * @param uuid The player's UUID.
+     * @param timestamp The time the message was sent.
+     * @param message The message.
+     */
+    public void append(UUID uuid, long timestamp, String message) {
+        writer.execute(() -> {
+            long now = System.currentTimeMillis();
+            Appender appender = appenders.get(uuid);
+            try {
+                if (appender == null) {
+                    appender = new Appender(getFile(uuid));
+                    appenders.put(uuid, appender);
+                }
+                appender.size += writeRecord(appender.out, timestamp, message);
+                // One write call per record; reads on this thread then see it without closing the file
+                appender.out.flush();
+                appender.lastUsed = now;
+            } catch (IOException e) {
+                Logger.severe("Could not append chat log for " + uuid + ": " + e.getMessage());
+                closeAppender(uuid);
+                return;
+            }
+
+            if (appender.size > maxBytes) {
+                compact(uuid, getFile(uuid));
+            }
+            closeIdleAppenders(now);
+        });
+    }
+
+    /**
+     * Queues closing a player's open log, for example when they quit.
+     * The next message reopens it.
+     * @param uuid The player's UUID.
+     */
+    public void close(UUID uuid) {
+        writer.execute(() -> closeAppender(uuid));
+    }
+
+    /**
+     * Queues deletion of a player's log.
+     * @param uuid The player's UUID.
+     */
+    public void clear(UUID uuid) {
+        writer.execute(() -> {
+            closeAppender(uuid);
+            File file = getFile(uuid);
+            if (file.exists() && !file.delete()) {
+                Logger.warning("Could not delete chat log for " + uuid);
+            }
+        });
+    }
+
+    /**
+     * Fills a player's in-memory chat history from the newest records of their log.
+     * Players that only have legacy history in their main record have it
+     * written to a new log instead. Blocks until queued writes are done.
+     * @param data The player's data.
+     */
+    public void load(PlayerData data) {
+        loadAll(Collections.singletonList(data));
+    }
+
+    /**
+     * Fills several players' in-memory chat histories in one round-trip to the writer thread.
+     * @param batch The players' data.
+     * @see #load(PlayerData)
+     */
+    public void loadAll(Collection<PlayerData> batch) {
+        try {
+            writer.submit(() -> {
+                for (PlayerData data : batch) {
+                    try {
+                        loadNow(data);
+                    } catch (RuntimeException e) {
+                        Logger.severe("Could not load chat log for " + data.getUuid() + ": " + e.getMessage());
+                    }
+                }
+            }).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            Logger.severe("Could not load chat logs: " + e.getCause().getMessage());
+        }
+    }
+
+    /**
+     * Loads one player's chat history; runs on the writer thread.
+     * @param data The player's data.
+     */
+    private void loadNow(PlayerData data) {
+        File file = getFile(data.getUuid());
+        if (file.exists()) {
+            Slice slice = readTail(file, Long.MIN_VALUE, data.getChatHistory().capacity());
+            data.clearChatHistory();
+            for (int i = 0; i < slice.size(); i++) {
+                data.addChatMessage(slice.getTimestamp(i), slice.getMessage(i));
+            }
+        } else if (!data.getChatHistory().isEmpty()) {
+            migrateLegacy(data, file);
+        }
+    }
+
+    /**
+     * Reads a player's messages sent at or after a point in time, newest last.
+     * @param uuid The player's UUID.
+     * @param since The earliest timestamp to include.
+     * @param limit The maximum number of messages, counted from the newest.
+     * @return A future completed with the matching messages.
+     */
+    public CompletableFuture<Slice> readSince(UUID uuid, long since, int limit) {
+        return CompletableFuture.supplyAsync(() -> {
+            File file = getFile(uuid);
+            if (!file.exists()) {
+                return Slice.EMPTY;
+            }
+            return readTail(file, since, limit);
+        }, writer);
+    }
+
+    /**
+     * Waits for queued writes and stops the writer thread.
+     */
+    public void shutdown() {
+        writer.execute(() -> {
+            for (UUID uuid : appenders.keySet().toArray(new UUID[0])) {
+                closeAppender(uuid);
+            }
+        });
+        writer.shutdown();
+        try {
+            if (!writer.awaitTermination(5, TimeUnit.SECONDS)) {
+                Logger.warning("Timed out waiting for chat log writes to finish");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Parses a legacy "timestamp|message" history entry into a player's history.
+     * @param data The player's data.
+     * @param encoded The legacy entry.
+     */
+    public static void addLegacyMessage(PlayerData data, String encoded) {
+        int separator = encoded.indexOf('|');
+        if (separator <= 0) {
+            return;
+        }
+
+        try {
+            data.addChatMessage(Long.parseLong(encoded.substring(0, separator)), encoded.substring(separator + 1));
+        } catch (NumberFormatException e) {
+            // Not a history entry written by this plugin
+        }
+    }
+
+    /**
+     * Writes a player's legacy in-memory history to a new log.
+     * @param data The player's data.
+     * @param file The log file to create.
+     */
+    private void migrateLegacy(PlayerData data, File file) {
+        closeAppender(data.getUuid());
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file)))) {
+            IOException[] failure = {null};
+            data.getChatHistory().forEachStamped((timestamp, message) -> {
+                if (failure[0] != null) {
+                    return;
+                }
+                try {
+                    writeRecord(out, timestamp, message);
+                } catch (IOException e) {
+                    failure[0] = e;
+                }
+            });
+            if (failure[0] != null) {
+                throw failure[0];
+            }
+        } catch (IOException e) {
+            Logger.severe("Could not migrate chat history for " + data.getUuid() + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * Rewrites a log keeping only its newest records, up to half the size limit.
+     * @param uuid The player's UUID.
+     * @param file The log file.
+     */
+    private void compact(UUID uuid, File file) {
+        // The file is replaced below, so an open appender would keep writing to the old one
+        closeAppender(uuid);
+        Slice slice = readTail(file, Long.MIN_VALUE, Integer.MAX_VALUE, maxBytes / 2);
+        File temp = new File(folder, uuid + EXTENSION + ".tmp");
+
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(temp)))) {
+            for (int i = 0; i < slice.size(); i++) {
+                writeRecord(out, slice.getTimestamp(i), slice.getMessage(i));
+            }
+        } catch (IOException e) {
+            Logger.severe("Could not compact chat log for " + uuid + ": " + e.getMessage());
+            temp.delete();
+            return;
+        }
+
+        try {
+            Files.move(temp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            Logger.severe("Could not replace chat log for " + uuid + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * Closes a player's open log, if any; runs on the writer thread.
+     * @param uuid The player's UUID.
+     */
+    private void closeAppender(UUID uuid) {
+        Appender appender = appenders.remove(uuid);
+        if (appender != null) {
+            try {
+                appender.out.close();
+            } catch (IOException e) {
+                Logger.warning("Could not close chat log for " + uuid + ": " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Closes logs nobody has written to recently, at most once per idle period; runs on the writer thread.
+     * @param now The current time.
+     */
+    private void closeIdleAppenders(long now) {
+        if (now - lastIdleSweep < APPENDER_IDLE_MILLIS) {
+            return;
+        }
+        lastIdleSweep = now;
+
+        for (UUID uuid : appenders.keySet().toArray(new UUID[0])) {
+            if (now - appenders.get(uuid).lastUsed >= APPENDER_IDLE_MILLIS) {
+                closeAppender(uuid);
+            }
+        }
+    }
+
+    /**
+     * Reads the newest records of a log backwards from its end.
+     * @param file The log file.
+     * @param since The earliest timestamp to include.
+     * @param limit The maximum number of records.
+     * @return The records, oldest first.
+     */
+    private Slice readTail(File file, long since, int limit) {
+        return readTail(file, since, limit, Long.MAX_VALUE);
+    }
+
+    /**
+     * Reads the newest records of a log backwards from its end.
+     * Stops at the first record older than {@code since}, so only the
+     * requested range is ever read.
+     * @param file The log file.
+     * @param since The earliest timestamp to include.
+     * @param limit The maximum number of records.
+     * @param byteBudget The maximum number of bytes of records to read.
+     * @return The records, oldest first.
+     */
+    private Slice readTail(File file, long since, int limit, long byteBudget) {
+        long[] timestamps = new long[Math.min(limit, 64)];
+        String[] messages = new String[timestamps.length];
+        int count = 0;
+
+        try (RandomAccessFile in = new RandomAccessFile(file, "r")) {
+            long end = in.length();
+            long read = 0;
+
+            while (end >= RECORD_OVERHEAD && count < limit) {
+                in.seek(end - 4);
+                int length = in.readInt();
+                long start = end - RECORD_OVERHEAD - length;
+                if (length < 0 || length > MAX_MESSAGE_BYTES || start < 0) {
+                    Logger.warning("Chat log " + file.getName() + " is corrupt near offset " + end + ", ignoring older records");
+                    break;
+                }
+
+                read += RECORD_OVERHEAD + length;
+                if (read > byteBudget) {
+                    break;
+                }
+
+                in.seek(start);
+                if (in.readInt() != length) {
+                    Logger.warning("Chat log " + file.getName() + " is corrupt near offset " + start + ", ignoring older records");
+                    break;
+                }
+
+                long timestamp = in.readLong();
+                if (timestamp < since) {
+                    break;
+                }
+
+                byte[] bytes = new byte[length];
+                in.readFully(bytes);
+
+                if (count == timestamps.length) {
+                    int grown = (int) Math.min((long) limit, timestamps.length * 2L);
+                    timestamps = Arrays.copyOf(timestamps, grown);
+                    messages = Arrays.copyOf(messages, grown);
+                }
+                timestamps[count] = timestamp;
+                messages[count] = new String(bytes, StandardCharsets.UTF_8);
+                count++;
+                end = start;
+            }
+        } catch (IOException e) {
+            Logger.severe("Could not read chat log " + file.getName() + ": " + e.getMessage());
+        }
+
+        // Records were collected newest first
+        for (int i = 0, j = count - 1; i < j; i++, j--) {
+            long timestamp = timestamps[i];
+            timestamps[i] = timestamps[j];
+            timestamps[j] = timestamp;
+            String message = messages[i];
+            messages[i] = messages[j];
+            messages[j] = message;
+        }
+        return new Slice(timestamps, messages, count);
+    }
+
+    /**
+     * Writes a single record.
+     * Messages longer than the record limit are cut at the last whole
+     * character that fits, so the stored text is still valid UTF-8.
+     * @param out The output stream.
+     * @param timestamp The message timestamp.
+     * @param message The message.
+     * @return The number of bytes written.
+     * @throws IOException If the write fails.
+     */
+    private static int writeRecord(DataOutputStream out, long timestamp, String message) throws IOException {
+        byte[] bytes = message.getBytes(StandardCharsets.UTF_8);
+        int length = bytes.length;
+        if (length > MAX_MESSAGE_BYTES) {
+            length = MAX_MESSAGE_BYTES;
+            // Back up over continuation bytes (10xxxxxx) to the start of the split character
+            while (length > 0 && (bytes[length] & 0xC0) == 0x80) {
+                length--;
+            }
+        }
+        out.writeInt(length);
+        out.writeLong(timestamp);
+        out.write(bytes, 0, length);
+        out.writeInt(length);
+        return RECORD_OVERHEAD + length;
+    }
+
+    /**
+     * Gets the log file for a player.
+     * @param uuid The player's UUID.
+     * @return The log file.
+     */
+    private File getFile(UUID uuid) {
+        return new File(folder, uuid + EXTENSION);
+    }
+
+    /**
+     * A player's log held open for appending.
+     */
+    private static class Appender {
+        private final DataOutputStream out;
+        private long size;
+        private long lastUsed;
+
+        private Appender(File file) throws IOException {
+            this.out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file, true)));
+            this.size = file.length();
+        }
+    }
+
+    /**
+     * A run of chat messages held as parallel timestamp and message arrays, oldest first.
+     */
+    public static class Slice {
+        public static final Slice EMPTY = new Slice(new long[0], new String[0], 0);
+
+        private final long[] timestamps;
+        private final String[] messages;
+        private final int size;
+
+        /**
+         * Creates a new Slice instance.
+         * @param timestamps The message timestamps.
+         * @param messages The messages.
+         * @param size The number of valid entries.
+         */
+        public Slice(long[] timestamps, String[] messages, int size) {
+            this.timestamps = timestamps;
+            this.messages = messages;
+            this.size = size;
+        }
+
+        /**
+         * Gets the number of messages.
+         * @return The message count.
+         */
+        public int size() {
+            return size;
+        }
+
+        /**
+         * Gets a message's timestamp.
+         * @param index The message index.
+         * @return The timestamp.
+         */
+        public long getTimestamp(int index) {
+            return timestamps[index];
+        }
+
+        /**
+         * Gets a message.
+         * @param index The message index.
+         * @return The message.
+         */
+        public String getMessage(int index) {
+            return messages[index];
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package dev.aledlb.features.player.storage;
+
+import dev.aledlb.features.player.PlayerData;
+
+import java.util.Collection;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * Storage backend for persisted player data.
+ * Implementations must be safe to call from the main thread and from async tasks.
+ */
+public interface PlayerDataStore {
+
+    /**
+     * Gets the name used for this backend in the configuration.
+     * @return The backend name.
+     */
+    String getName();
+
+    /**
+     * Loads a player's data, or returns fresh data if none is stored.
+     * @param uuid The player's UUID.
+     * @return The player's data.
+     */
+    PlayerData load(UUID uuid);
+
+    /**
+     * Saves a single player's data.
+     * @param data The player data to save.
+     * @throws PlayerDataStoreException If the data could not be written.
+     */
+    void save(PlayerData data);
+
+    /**
+     * Saves several players' data in one batch.
+     * @param batch The player data to save.
+     * @throws PlayerDataStoreException If the batch could not be written.
+     */
+    void saveAll(Collection<PlayerData> batch);
+
+    /**
+     * Streams the UUID of every stored player without loading their data.
+     * @param action The action to run for each stored UUID.
+     */
+    void forEachPlayer(Consumer<UUID> action);
+
+    /**
+     * Releases any resources held by this backend.
+     */
+    void close();
+}
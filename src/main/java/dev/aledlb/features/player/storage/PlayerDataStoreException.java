@@ -0,0 +1,18 @@
+package dev.aledlb.features.player.storage;
+
+/**
+ * Thrown when a storage backend cannot write player data.
+ * Unchecked so callers that cannot recover simply propagate it, while the
+ * write-behind flusher catches it to queue the records again.
+ */
+public class PlayerDataStoreException extends RuntimeException {
+
+    /**
+     * Creates a new PlayerDataStoreException instance.
+     * @param message The error message.
+     * @param cause The underlying error.
+     */
+    public PlayerDataStoreException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
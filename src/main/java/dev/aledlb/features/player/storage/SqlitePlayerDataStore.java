@@ -0,0 +1,278 @@
+package dev.aledlb.features.player.storage;
+
+import dev.aledlb.features.player.HistoryLimits;
+import dev.aledlb.features.player.PlayerData;
+import dev.aledlb.utilities.Logger;
+import org.bukkit.Bukkit;
+import org.bukkit.Location;
+import org.bukkit.World;
+
+import java.io.File;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * Stores player data in a single embedded SQLite database file.
+ * Uses the SQLite JDBC driver that ships with the server.
+ */
+public class SqlitePlayerDataStore implements PlayerDataStore {
+    public static final String NAME = "sqlite";
+
+    private static final String CREATE_TABLE =
+            "CREATE TABLE IF NOT EXISTS player_data (" +
+            "uuid CHAR(36) PRIMARY KEY, " +
+            "playtime BIGINT NOT NULL DEFAULT 0, " +
+            "deaths INTEGER NOT NULL DEFAULT 0, " +
+            "kills INTEGER NOT NULL DEFAULT 0, " +
+            "last_seen BIGINT NOT NULL DEFAULT 0, " +
+            "last_location TEXT, " +
+            "chat_history TEXT, " +
+            "kit_usage TEXT)";
+    private static final String ADD_KIT_USAGE = "ALTER TABLE player_data ADD COLUMN kit_usage TEXT";
+    private static final String SELECT_PLAYER =
+            "SELECT playtime, deaths, kills, last_seen, last_location, chat_history, kit_usage FROM player_data WHERE uuid = ?";
+    private static final String SELECT_UUIDS = "SELECT uuid FROM player_data";
+    private static final String UPSERT_PLAYER =
+            "INSERT INTO player_data (uuid, playtime, deaths, kills, last_seen, last_location, kit_usage) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?) " +
+            "ON CONFLICT(uuid) DO UPDATE SET " +
+            "playtime = excluded.playtime, deaths = excluded.deaths, kills = excluded.kills, " +
+            "last_seen = excluded.last_seen, last_location = excluded.last_location, " +
+            "kit_usage = excluded.kit_usage, chat_history = NULL";
+
+    private static final char LOCATION_SEPARATOR = ';';
+    private static final String CHAT_SEPARATOR = "\n";
+
+    private final File databaseFile;
+    private final HistoryLimits limits;
+    private Connection connection;
+
+    /**
+     * Creates a new SqlitePlayerDataStore instance and opens the database.
+     * @param databaseFile The database file.
+     * @param limits The history buffer capacities for loaded players.
+     * @throws SQLException If the database could not be opened.
+     */
+    public SqlitePlayerDataStore(File databaseFile, HistoryLimits limits) throws SQLException {
+        this.databaseFile = databaseFile;
+        this.limits = limits;
+        open();
+    }
+
+    /**
+     * Opens the connection and creates the schema if needed.
+     * @throws SQLException If the database could not be opened.
+     */
+    private void open() throws SQLException {
+        try {
+            Class.forName("org.sqlite.JDBC");
+        } catch (ClassNotFoundException e) {
+            throw new SQLException("SQLite JDBC driver not found", e);
+        }
+
+        File parent = databaseFile.getParentFile();
+        if (parent != null && !parent.exists()) {
+            parent.mkdirs();
+        }
+
+        connection = DriverManager.getConnection("jdbc:sqlite:" + databaseFile.getAbsolutePath());
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("PRAGMA journal_mode=WAL");
+            statement.execute("PRAGMA synchronous=NORMAL");
+            statement.execute(CREATE_TABLE);
+            if (!hasColumn(statement, "kit_usage")) {
+                statement.execute(ADD_KIT_USAGE);
+            }
+        }
+    }
+
+    /**
+     * Checks whether the player_data table has a column, for upgrading older databases.
+     * @param statement A statement on the connection.
+     * @param column The column name.
+     * @return True if the column exists.
+     * @throws SQLException If the schema could not be read.
+     */
+    private static boolean hasColumn(Statement statement, String column) throws SQLException {
+        try (ResultSet result = statement.executeQuery("PRAGMA table_info(player_data)")) {
+            while (result.next()) {
+                if (column.equalsIgnoreCase(result.getString("name"))) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public synchronized PlayerData load(UUID uuid) {
+        PlayerData data = new PlayerData(uuid, limits);
+        try (PreparedStatement statement = connection.prepareStatement(SELECT_PLAYER)) {
+            statement.setString(1, uuid.toString());
+            try (ResultSet result = statement.executeQuery()) {
+                if (!result.next()) {
+                    return data;
+                }
+
+                data.setPlaytime(result.getLong("playtime"));
+                data.setDeaths(result.getInt("deaths"));
+                data.setKills(result.getInt("kills"));
+                data.setLastSeen(result.getLong("last_seen"));
+                data.setLastLocation(decodeLocation(result.getString("last_location")));
+                data.getKitUsage().decode(result.getString("kit_usage"));
+
+                // Chat history now lives in the chat log; legacy rows are migrated on load
+                String chatHistory = result.getString("chat_history");
+                if (chatHistory != null && !chatHistory.isEmpty()) {
+                    for (String message : chatHistory.split(CHAT_SEPARATOR)) {
+                        ChatLogStore.addLegacyMessage(data, message);
+                    }
+                }
+            }
+        } catch (SQLException e) {
+            Logger.severe("Could not load player data for " + uuid + ": " + e.getMessage());
+        }
+        return data;
+    }
+
+    @Override
+    public void save(PlayerData data) {
+        saveAll(Collections.singletonList(data));
+    }
+
+    @Override
+    public synchronized void saveAll(Collection<PlayerData> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        if (connection == null) {
+            throw new PlayerDataStoreException("Could not save player data batch of " + batch.size() + ": store is closed", null);
+        }
+
+        try {
+            connection.setAutoCommit(false);
+            try (PreparedStatement statement = connection.prepareStatement(UPSERT_PLAYER)) {
+                for (PlayerData data : batch) {
+                    synchronized (data) {
+                        statement.setString(1, data.getUuid().toString());
+                        statement.setLong(2, data.getPlaytime());
+                        statement.setInt(3, data.getDeaths());
+                        statement.setInt(4, data.getKills());
+                        statement.setLong(5, data.getLastSeen());
+                        statement.setString(6, encodeLocation(data.getLastLocation()));
+                        statement.setString(7, data.getKitUsage().encode());
+                    }
+                    statement.addBatch();
+                }
+                statement.executeBatch();
+            }
+            connection.commit();
+        } catch (SQLException e) {
+            try {
+                connection.rollback();
+            } catch (SQLException rollbackError) {
+                Logger.severe("Could not roll back player data batch: " + rollbackError.getMessage());
+            }
+            throw new PlayerDataStoreException("Could not save player data batch of " + batch.size() + ": " + e.getMessage(), e);
+        } finally {
+            try {
+                connection.setAutoCommit(true);
+            } catch (SQLException e) {
+                Logger.warning("Could not restore auto-commit: " + e.getMessage());
+            }
+        }
+    }
+
+    @Override
+    public synchronized void forEachPlayer(Consumer<UUID> action) {
+        try (Statement statement = connection.createStatement();
+             ResultSet result = statement.executeQuery(SELECT_UUIDS)) {
+            while (result.next()) {
+                try {
+                    action.accept(UUID.fromString(result.getString(1)));
+                } catch (IllegalArgumentException e) {
+                    Logger.warning("Skipping player data row with invalid UUID: " + result.getString(1));
+                }
+            }
+        } catch (SQLException e) {
+            Logger.severe("Could not list stored players: " + e.getMessage());
+        }
+    }
+
+    @Override
+    public synchronized void close() {
+        if (connection == null) {
+            return;
+        }
+
+        try {
+            connection.close();
+        } catch (SQLException e) {
+            Logger.warning("Could not close player database: " + e.getMessage());
+        }
+        connection = null;
+    }
+
+    /**
+     * Encodes a location as world;x;y;z;yaw;pitch.
+     * @param location The location to encode.
+     * @return The encoded location, or null if there is none.
+     */
+    private static String encodeLocation(Location location) {
+        if (location == null || location.getWorld() == null) {
+            return null;
+        }
+
+        return location.getWorld().getName() + LOCATION_SEPARATOR +
+                location.getX() + LOCATION_SEPARATOR +
+                location.getY() + LOCATION_SEPARATOR +
+                location.getZ() + LOCATION_SEPARATOR +
+                location.getYaw() + LOCATION_SEPARATOR +
+                location.getPitch();
+    }
+
+    /**
+     * Decodes a location written by {@link #encodeLocation(Location)}.
+     * @param encoded The encoded location.
+     * @return The location, or null if it is missing or its world is not loaded.
+     */
+    private static Location decodeLocation(String encoded) {
+        if (encoded == null || encoded.isEmpty()) {
+            return null;
+        }
+
+        String[] parts = encoded.split(String.valueOf(LOCATION_SEPARATOR));
+        if (parts.length != 6) {
+            return null;
+        }
+
+        World world = Bukkit.getWorld(parts[0]);
+        if (world == null) {
+            return null;
+        }
+
+        try {
+            return new Location(world,
+                    Double.parseDouble(parts[1]),
+                    Double.parseDouble(parts[2]),
+                    Double.parseDouble(parts[3]),
+                    Float.parseFloat(parts[4]),
+                    Float.parseFloat(parts[5]));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package dev.aledlb.features.player.storage;
+
+import dev.aledlb.features.player.HistoryLimits;
+import dev.aledlb.features.player.PlayerData;
+import dev.aledlb.utilities.Logger;
+import org.bukkit.configuration.file.FileConfiguration;
+import org.bukkit.configuration.file.YamlConfiguration;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Collection;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * Stores player data as one YAML file per UUID under the playerdata folder.
+ */
+public class YamlPlayerDataStore implements PlayerDataStore {
+    public static final String NAME = "yaml";
+
+    private final File dataFolder;
+    private final HistoryLimits limits;
+
+    /**
+     * Creates a new YamlPlayerDataStore instance.
+     * @param dataFolder The folder holding the player files.
+     * @param limits The history buffer capacities for loaded players.
+     */
+    public YamlPlayerDataStore(File dataFolder, HistoryLimits limits) {
+        this.dataFolder = dataFolder;
+        this.limits = limits;
+
+        if (!dataFolder.exists()) {
+            dataFolder.mkdirs();
+        }
+    }
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public PlayerData load(UUID uuid) {
+        File playerFile = new File(dataFolder, uuid.toString() + ".yml");
+        if (!playerFile.exists()) {
+            return new PlayerData(uuid, limits);
+        }
+
+        FileConfiguration playerConfig = YamlConfiguration.loadConfiguration(playerFile);
+        PlayerData data = new PlayerData(uuid, limits);
+
+        // Load statistics
+        data.setPlaytime(playerConfig.getLong("statistics.playtime", 0));
+        data.setDeaths(playerConfig.getInt("statistics.deaths", 0));
+        data.setKills(playerConfig.getInt("statistics.kills", 0));
+
+        // Load last seen
+        data.setLastSeen(playerConfig.getLong("lastSeen", System.currentTimeMillis()));
+
+        // Load location history
+        data.setLastLocation(playerConfig.getLocation("lastLocation"));
+
+        // Load kit usage
+        data.getKitUsage().decode(playerConfig.getString("kitUsage"));
+
+        // Chat history now lives in the chat log; legacy entries are migrated on load
+        for (String message : playerConfig.getStringList("chatHistory")) {
+            ChatLogStore.addLegacyMessage(data, message);
+        }
+
+        return data;
+    }
+
+    @Override
+    public void save(PlayerData data) {
+        File playerFile = new File(dataFolder, data.getUuid().toString() + ".yml");
+        FileConfiguration playerConfig = new YamlConfiguration();
+
+        synchronized (data) {
+            // Save statistics
+            playerConfig.set("statistics.playtime", data.getPlaytime());
+            playerConfig.set("statistics.deaths", data.getDeaths());
+            playerConfig.set("statistics.kills", data.getKills());
+
+            // Save last seen
+            playerConfig.set("lastSeen", data.getLastSeen());
+
+            // Save location history
+            if (data.getLastLocation() != null) {
+                playerConfig.set("lastLocation", data.getLastLocation());
+            }
+
+            // Save kit usage
+            playerConfig.set("kitUsage", data.getKitUsage().encode());
+
+            try {
+                playerConfig.save(playerFile);
+            } catch (IOException e) {
+                throw new PlayerDataStoreException("Could not save player data for " + data.getUuid() + ": " + e.getMessage(), e);
+            }
+        }
+    }
+
+    @Override
+    public void saveAll(Collection<PlayerData> batch) {
+        for (PlayerData data : batch) {
+            save(data);
+        }
+    }
+
+    @Override
+    public void forEachPlayer(Consumer<UUID> action) {
+        String[] fileNames = dataFolder.list();
+        if (fileNames == null) {
+            return;
+        }
+
+        for (String fileName : fileNames) {
+            if (!fileName.endsWith(".yml")) {
+                continue;
+            }
+
+            try {
+                action.accept(UUID.fromString(fileName.substring(0, fileName.length() - 4)));
+            } catch (IllegalArgumentException e) {
+                Logger.warning("Skipping player data file with invalid name: " + fileName);
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        // Nothing to release
+    }
+}
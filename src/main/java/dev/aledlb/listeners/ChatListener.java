@@ -1,5 +1,6 @@
 package dev.aledlb.listeners;
 
+import dev.aledlb.features.chat.ChatArchive;
 import dev.aledlb.features.player.PlayerData;
 import dev.aledlb.features.player.PlayerDataManager;
 import org.bukkit.entity.Player;
@@ -15,14 +16,16 @@ import java.util.UUID;
  */
 public class ChatListener implements Listener {
     private final PlayerDataManager dataManager;
-    private static final int MAX_HISTORY_SIZE = 100;
+    private final ChatArchive chatArchive;
 
     /**
      * Creates a new ChatListener instance.
      * @param dataManager The player data manager.
+     * @param chatArchive The server-wide chat archive.
      */
-    public ChatListener(PlayerDataManager dataManager) {
+    public ChatListener(PlayerDataManager dataManager, ChatArchive chatArchive) {
         this.dataManager = dataManager;
+        this.chatArchive = chatArchive;
     }
 
     @EventHandler(priority = EventPriority.MONITOR)
@@ -35,18 +38,9 @@ public class ChatListener implements Listener {
         UUID uuid = player.getUniqueId();
         String message = event.getMessage();
         
-        // Store message with timestamp
-        String formattedMessage = System.currentTimeMillis() + "|" + message;
-        
+        // Stamped in memory and appended to the player's chat log off-thread
         PlayerData data = dataManager.getPlayerData(uuid);
-        data.getChatHistory().add(formattedMessage);
-        
-        // Limit history size
-        while (data.getChatHistory().size() > MAX_HISTORY_SIZE) {
-            data.getChatHistory().remove(0);
-        }
-        
-        // Save data asynchronously
-        dataManager.savePlayerDataAsync(uuid);
+        dataManager.appendChatMessage(data, message);
+        chatArchive.record(uuid, message);
     }
 } 
\ No newline at end of file
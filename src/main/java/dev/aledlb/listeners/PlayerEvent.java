@@ -1,8 +1,8 @@
 package dev.aledlb.listeners;
 
 import dev.aledlb.Core;
+import dev.aledlb.features.chat.ChatFormatter;
 import dev.aledlb.utilities.Logger;
-import me.clip.placeholderapi.PlaceholderAPI;
 import org.bukkit.Bukkit;
 import org.bukkit.ChatColor;
 import org.bukkit.entity.Player;
@@ -14,9 +14,6 @@ import org.bukkit.event.player.AsyncPlayerChatEvent;
 import org.bukkit.event.player.PlayerJoinEvent;
 import org.bukkit.event.player.PlayerMoveEvent;
 import org.bukkit.event.player.PlayerQuitEvent;
-import org.bukkit.scoreboard.Scoreboard;
-import org.bukkit.scoreboard.ScoreboardManager;
-import org.bukkit.scoreboard.Team;
 
 import java.util.Arrays;
 import java.util.List;
@@ -28,7 +25,6 @@ import java.util.Random;
  * - Player join/quit messages
  * - Death messages
  * - Chat formatting
- * - Name tag updates
  * - Player freezing
  * - Player muting
  */
@@ -58,14 +54,17 @@ public class PlayerEvent implements Listener {
     );
 
     private final Core plugin;
+    private final ChatFormatter chatFormatter;
     private final Random random;
 
     /**
      * Creates a new PlayerEvent listener
      * @param plugin The Core plugin instance
+     * @param chatFormatter The formatter for chat messages
      */
-    public PlayerEvent(Core plugin) {
+    public PlayerEvent(Core plugin, ChatFormatter chatFormatter) {
         this.plugin = plugin;
+        this.chatFormatter = chatFormatter;
         this.random = new Random();
         Bukkit.getPluginManager().registerEvents(this, plugin);
     }
@@ -79,7 +78,6 @@ public class PlayerEvent implements Listener {
         try {
             event.setJoinMessage(null);
             Player player = event.getPlayer();
-            updateNameTag(player);
             broadcastMessage(String.format(JOIN_FORMAT, player.getDisplayName()));
         } catch (Exception e) {
             Logger.severe("Error handling player join event: " + e.getMessage());
@@ -158,46 +156,7 @@ public class PlayerEvent implements Listener {
         }
         
         // Apply chat format
-        String format = plugin.getConfig().getString("chat-format", "<%player%> %message%");
-        format = format.replace("%player%", player.getDisplayName());
-        format = format.replace("%message%", "%s");
-        event.setFormat(format);
-    }
-
-    /**
-     * Updates a player's name tag with their prefix
-     * @param player The player to update
-     */
-    public static void updateNameTag(Player player) {
-        try {
-            ScoreboardManager manager = Bukkit.getScoreboardManager();
-            if (manager == null) {
-                Logger.warning("Could not get scoreboard manager for player: " + player.getName());
-                return;
-            }
-
-            String prefix = PlaceholderAPI.setPlaceholders(player, "%core_prefix%");
-            if (prefix.isEmpty()) {
-                return;
-            }
-
-            Scoreboard scoreboard = manager.getNewScoreboard();
-            Team team = scoreboard.getTeam(player.getName());
-            if (team == null) {
-                team = scoreboard.registerNewTeam(player.getName());
-            }
-
-            prefix = colorize(prefix);
-            String formattedPlayerName = String.format("%s &f%s", prefix, player.getDisplayName());
-            player.setPlayerListName(colorize(formattedPlayerName));
-
-            team.setPrefix(colorize(prefix + " "));
-            team.addEntry(player.getName());
-
-            player.setScoreboard(scoreboard);
-        } catch (Exception e) {
-            Logger.severe("Error updating name tag for player " + player.getName() + ": " + e.getMessage());
-        }
+        event.setFormat(chatFormatter.getFormat(player));
     }
 
     /**
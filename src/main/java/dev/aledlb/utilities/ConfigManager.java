@@ -6,22 +6,56 @@ import org.bukkit.configuration.file.YamlConfiguration;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
 
 /**
  * Manages plugin configuration files.
  * Handles loading, saving, and accessing configuration data.
+ * Saves are debounced: edits within a second are coalesced, the configuration
+ * is serialized on the main thread and written on a background thread through
+ * a temporary file and an atomic rename.
+ * The main configuration is also parsed into an immutable {@link Settings}
+ * snapshot on every load; subscribers are notified when it is replaced.
  */
 public class ConfigManager {
+    private static final long SAVE_DELAY_TICKS = 20L;
+
     private final Core plugin;
     private final Map<String, FileConfiguration> configs;
     private final Map<String, File> configFiles;
+    private final Set<String> dirty;
+    private final AtomicBoolean saveScheduled;
+    private final ExecutorService writer;
+    private final List<Consumer<Settings>> subscribers;
+    private volatile Settings settings;
 
     public ConfigManager(Core plugin) {
         this.plugin = plugin;
         this.configs = new HashMap<>();
         this.configFiles = new HashMap<>();
+        this.dirty = ConcurrentHashMap.newKeySet();
+        this.saveScheduled = new AtomicBoolean();
+        this.writer = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "Core-Config-Writer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.subscribers = new CopyOnWriteArrayList<>();
         loadConfigs();
     }
 
@@ -49,6 +83,24 @@ public class ConfigManager {
         }
         configs.put("kits", YamlConfiguration.loadConfiguration(kitsFile));
         configFiles.put("kits", kitsFile);
+
+        settings = Settings.from(plugin.getConfig());
+    }
+
+    /**
+     * Gets the parsed main configuration
+     * @return The current settings snapshot
+     */
+    public Settings getSettings() {
+        return settings;
+    }
+
+    /**
+     * Registers a callback run on the main thread whenever the settings are reloaded
+     * @param subscriber The callback, given the new settings
+     */
+    public void subscribe(Consumer<Settings> subscriber) {
+        subscribers.add(subscriber);
     }
 
     /**
@@ -70,26 +122,95 @@ public class ConfigManager {
 
     /**
      * Saves a configuration by name
+     * The write happens shortly after, together with any other edits made in the meantime
      * @param name The name of the configuration to save
      */
     public void saveConfig(String name) {
-        try {
+        if (!configs.containsKey(name)) {
+            return;
+        }
+
+        dirty.add(name);
+        if (saveScheduled.compareAndSet(false, true)) {
+            plugin.getServer().getScheduler().runTaskLater(plugin, this::flushDirty, SAVE_DELAY_TICKS);
+        }
+    }
+
+    /**
+     * Serializes every changed configuration and queues it for writing
+     */
+    private void flushDirty() {
+        saveScheduled.set(false);
+        for (String name : new ArrayList<>(dirty)) {
+            dirty.remove(name);
             FileConfiguration config = configs.get(name);
             File configFile = configFiles.get(name);
-            if (config != null && configFile != null) {
-                config.save(configFile);
+            if (config == null || configFile == null) {
+                continue;
             }
-        } catch (IOException e) {
-            Logger.severe("Failed to save config " + name + ": " + e.getMessage());
+
+            String data = config.saveToString();
+            writer.execute(() -> write(name, configFile, data));
         }
     }
 
     /**
-     * Saves all configurations
+     * Saves all configurations immediately, after any queued writes
      */
     public void saveConfigs() {
+        dirty.clear();
+        awaitWrites();
+
         for (String name : configs.keySet()) {
-            saveConfig(name);
+            FileConfiguration config = configs.get(name);
+            File configFile = configFiles.get(name);
+            if (config != null && configFile != null) {
+                write(name, configFile, config.saveToString());
+            }
+        }
+    }
+
+    /**
+     * Blocks until every queued write has finished
+     */
+    private void awaitWrites() {
+        try {
+            writer.submit(() -> { }).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            Logger.warning("Failed to wait for queued config writes: " + e.getCause().getMessage());
+        }
+    }
+
+    /**
+     * Saves all configurations immediately and stops the background writer
+     */
+    public void shutdown() {
+        saveConfigs();
+        writer.shutdown();
+        try {
+            if (!writer.awaitTermination(5, TimeUnit.SECONDS)) {
+                Logger.warning("Timed out waiting for config writes to finish");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Writes serialized configuration through a temporary file
+     * @param name The name of the configuration
+     * @param configFile The destination file
+     * @param data The serialized configuration
+     */
+    private void write(String name, File configFile, String data) {
+        File temp = new File(configFile.getParentFile(), configFile.getName() + ".tmp");
+        try {
+            Files.write(temp.toPath(), data.getBytes(StandardCharsets.UTF_8));
+            Files.move(temp.toPath(), configFile.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            Logger.severe("Failed to save config " + name + ": " + e.getMessage());
         }
     }
 
@@ -105,17 +226,33 @@ public class ConfigManager {
     }
 
     /**
-     * Reloads all configurations
+     * Reloads all configurations and notifies settings subscribers
+     * Edits still waiting to be saved are written first so they are not lost
      */
     public void reloadConfigs() {
+        if (!dirty.isEmpty()) {
+            flushDirty();
+        }
+        awaitWrites();
+
         plugin.reloadConfig();
         configs.put("config", plugin.getConfig());
-        
+
         for (String name : configFiles.keySet()) {
             if (!name.equals("config")) {
                 reloadConfig(name);
             }
         }
+
+        Settings reloaded = Settings.from(plugin.getConfig());
+        settings = reloaded;
+        for (Consumer<Settings> subscriber : subscribers) {
+            try {
+                subscriber.accept(reloaded);
+            } catch (Exception e) {
+                Logger.severe("Error applying reloaded settings: " + e.getMessage());
+            }
+        }
     }
 
     /**
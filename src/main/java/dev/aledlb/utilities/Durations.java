@@ -0,0 +1,49 @@
+package dev.aledlb.utilities;
+
+import java.util.Locale;
+
+/**
+ * Parses the short durations staff type into commands, such as {@code 30s} or {@code 2w}.
+ */
+public final class Durations {
+
+    private Durations() {
+    }
+
+    /**
+     * Parses a duration string into milliseconds.
+     * @param duration A number followed by s, m, h, d or w (e.g., "30s", "10m", "1h", "1d", "1w").
+     * @return The duration in milliseconds.
+     * @throws IllegalArgumentException If the duration format is invalid.
+     */
+    public static long parse(String duration) {
+        if (duration == null || duration.length() < 2) {
+            throw new IllegalArgumentException("Invalid duration: " + duration);
+        }
+
+        String numberStr = duration.substring(0, duration.length() - 1);
+        String unit = duration.substring(duration.length() - 1).toLowerCase(Locale.ROOT);
+
+        long number;
+        try {
+            number = Long.parseLong(numberStr);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid number in duration: " + numberStr);
+        }
+
+        switch (unit) {
+            case "s":
+                return number * 1000L;
+            case "m":
+                return number * 60 * 1000L;
+            case "h":
+                return number * 60 * 60 * 1000L;
+            case "d":
+                return number * 24 * 60 * 60 * 1000L;
+            case "w":
+                return number * 7 * 24 * 60 * 60 * 1000L;
+            default:
+                throw new IllegalArgumentException("Invalid duration unit: " + unit);
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package dev.aledlb.utilities;
+
+import java.util.List;
+
+/**
+ * Read-only view of a bounded history, oldest value first.
+ * Iterating walks the underlying buffer in place without copying it.
+ * @param <T> The element type.
+ */
+public interface HistoryView<T> extends Iterable<T> {
+    /**
+     * Gets the number of values currently held.
+     * @return The history size.
+     */
+    int size();
+
+    /**
+     * Checks whether the history holds no values.
+     * @return true if empty.
+     */
+    boolean isEmpty();
+
+    /**
+     * Gets the maximum number of values kept.
+     * @return The capacity.
+     */
+    int capacity();
+
+    /**
+     * Gets the most recently appended value.
+     * @return The latest value, or null if the history is empty.
+     */
+    T latest();
+
+    /**
+     * Copies the current values, oldest first.
+     * @return A new list with the values.
+     */
+    List<T> toList();
+
+    /**
+     * Visits every value with its stamp, oldest first, without copying.
+     * @param action The visitor.
+     */
+    void forEachStamped(StampedConsumer<? super T> action);
+
+    /**
+     * Receives a value together with its stamp.
+     * @param <T> The element type.
+     */
+    @FunctionalInterface
+    interface StampedConsumer<T> {
+        /**
+         * Accepts a value.
+         * @param stamp The stamp stored with the value.
+         * @param value The value.
+         */
+        void accept(long stamp, T value);
+    }
+}
@@ -4,7 +4,6 @@ import dev.aledlb.Core;
 import org.bukkit.Bukkit;
 import org.bukkit.ChatColor;
 import org.bukkit.command.CommandSender;
-import org.bukkit.configuration.file.FileConfiguration;
 import org.bukkit.entity.Player;
 
 import java.io.File;
@@ -23,20 +22,28 @@ public class Logger {
     private static final String PREFIX = "&8[&6Core&8]&r ";
     private static final SimpleDateFormat DATE_FORMAT = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss");
     private static File logFile;
-    private static boolean debugMode;
+    private static volatile boolean debugMode;
+    private static volatile String messagePrefix = colorize(PREFIX);
     private static PrintWriter logWriter;
-    private static FileConfiguration config;
 
     /**
-     * Initializes the logger with the plugin configuration
-     * @param config The plugin configuration
+     * Initializes the logger with the plugin settings
+     * @param settings The parsed plugin configuration
      */
-    public Logger(FileConfiguration config) {
-        Logger.config = config;
-        debugMode = config.getBoolean("debug-mode", false);
+    public Logger(Settings settings) {
+        applySettings(settings);
         setupLogFile();
     }
 
+    /**
+     * Applies debug mode and the player message prefix from the settings
+     * @param settings The parsed plugin configuration
+     */
+    public static void applySettings(Settings settings) {
+        debugMode = settings.isDebugMode();
+        messagePrefix = settings.getMessagePrefix();
+    }
+
     /**
      * Sets up the log file
      */
@@ -152,7 +159,6 @@ public class Logger {
      * @param message The message to send
      */
     public static void player(CommandSender sender, String message) {
-        String prefix = config != null ? config.getString("prefix", "&8[&6Core&8]&r") : "&8[&6Core&8]&r";
-        sender.sendMessage(colorize(prefix + " " + message));
+        sender.sendMessage(messagePrefix + colorize(message));
     }
 }
@@ -1,12 +1,24 @@
 package dev.aledlb.utilities;
 
 import dev.aledlb.Core;
-import org.bukkit.configuration.file.FileConfiguration;
 import org.bukkit.entity.Player;
 import org.bukkit.permissions.PermissionAttachment;
+import org.bukkit.scheduler.BukkitTask;
 
+import java.io.File;
+import java.lang.reflect.Field;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
 
 /**
  * Manages player permissions for the Core plugin.
@@ -17,14 +29,47 @@ import java.util.concurrent.ConcurrentHashMap;
  * - User-specific permissions
  */
 public class PermissionManager {
+    private static final Field ATTACHMENT_PERMISSIONS = findAttachmentPermissions();
+    private static final int COMMAND_UPDATES_PER_TICK = 10;
+    private static final int DEFAULT_COMPACT_AFTER = 500;
+
     private final Core plugin;
-    private final FileConfiguration config;
+    private final PermissionStore store;
     private final ConcurrentHashMap<UUID, PermissionAttachment> permissions;
+    private final List<Consumer<UUID>> changeListeners;
+    private final Map<String, ResolvedGroup> resolvedGroups;
+    private final Map<UUID, Set<String>> applied;
+    private final Set<UUID> pendingCommandUpdates;
+    private BukkitTask commandUpdateTask;
 
     public PermissionManager(Core plugin) {
         this.plugin = plugin;
-        this.config = plugin.getConfig();
+        this.store = new PermissionStore(new File(plugin.getDataFolder(), "permissions"),
+                plugin.getConfig().getInt("permissions.compact-after", DEFAULT_COMPACT_AFTER));
+        store.load(plugin.getConfig());
         this.permissions = new ConcurrentHashMap<>();
+        this.changeListeners = new CopyOnWriteArrayList<>();
+        this.resolvedGroups = new ConcurrentHashMap<>();
+        this.applied = new ConcurrentHashMap<>();
+        this.pendingCommandUpdates = new LinkedHashSet<>();
+    }
+
+    /**
+     * Registers a callback run with a player's UUID whenever their permissions are applied or removed
+     * @param listener The callback
+     */
+    public void addChangeListener(Consumer<UUID> listener) {
+        changeListeners.add(listener);
+    }
+
+    /**
+     * Notifies change listeners about a player
+     * @param uuid The player's UUID
+     */
+    private void fireChange(UUID uuid) {
+        for (Consumer<UUID> listener : changeListeners) {
+            listener.accept(uuid);
+        }
     }
 
     /**
@@ -40,52 +85,251 @@ public class PermissionManager {
 
     /**
      * Adds permissions to a specific player
+     * Only the difference from what the player already has is applied, in one update
      * @param player The player to add permissions to
      */
     public void addPermissions(Player player) {
-        PermissionAttachment attachment = player.addAttachment(plugin);
+        long start = System.nanoTime();
+        UUID uuid = player.getUniqueId();
+        store.updateName(uuid, player.getName());
+        Set<String> effective = resolvePlayer(player);
+        Set<String> previous = applied.getOrDefault(uuid, Collections.emptySet());
+
+        PermissionAttachment attachment = permissions.get(uuid);
+        if (attachment != null && effective.equals(previous)) {
+            return;
+        }
+        if (attachment == null) {
+            attachment = player.addAttachment(plugin);
+            previous = Collections.emptySet();
+            permissions.put(uuid, attachment);
+        }
+
+        if (!applyBulk(player, attachment, previous, effective)) {
+            for (String permission : previous) {
+                if (!effective.contains(permission)) {
+                    removePermission(attachment, permission);
+                }
+            }
+            for (String permission : effective) {
+                if (!previous.contains(permission)) {
+                    addPermission(attachment, permission);
+                }
+            }
+        }
+
+        applied.put(uuid, effective);
+        fireChange(uuid);
+        queueCommandUpdate(uuid);
+        Logger.debug("Applied " + effective.size() + " permissions to " + player.getName()
+                + " in " + String.format("%.3f", (System.nanoTime() - start) / 1_000_000.0) + " ms");
+    }
+
+    /**
+     * Re-applies permissions for online players inheriting from a group, after the group changed
+     * @param group The group that changed
+     */
+    public void updateGroup(String group) {
+        invalidateGroup(group);
+        // Edits never change which groups inherit from the edited one, so the new lineage is enough
+        for (Player player : plugin.getServer().getOnlinePlayers()) {
+            for (String playerGroup : store.getUser(player.getUniqueId()).getGroups()) {
+                if (resolveGroup(playerGroup).lineage.contains(group)) {
+                    addPermissions(player);
+                    break;
+                }
+            }
+        }
+    }
+
+    /**
+     * Re-applies permissions for every online player, after the default permissions changed
+     */
+    public void updateDefaults() {
+        addPermissionsToOnlinePlayers();
+    }
 
-        // Add default permissions
-        for (String permission : config.getStringList("default.permissions")) {
-            addPermission(attachment, permission);
+    /**
+     * Queues a command tree refresh for a player on MC 1.13+
+     * Refreshes are spread over ticks so one edit does not resend every player's commands at once
+     * @param uuid The player's UUID
+     */
+    private void queueCommandUpdate(UUID uuid) {
+        if (Core.getMcVersion() < 13) {
+            return;
         }
 
-        // Add group permissions
-        addGroupPermissions(player, attachment);
+        pendingCommandUpdates.add(uuid);
+        if (commandUpdateTask == null) {
+            commandUpdateTask = plugin.getServer().getScheduler().runTaskTimer(plugin, this::processCommandUpdates, 1L, 1L);
+        }
+    }
 
-        // Add user-specific permissions
-        for (String perm : config.getStringList("users." + player.getName() + ".permissions")) {
-            addPermission(attachment, perm);
+    /**
+     * Sends queued command tree refreshes, up to the per-tick budget
+     */
+    private void processCommandUpdates() {
+        Iterator<UUID> iterator = pendingCommandUpdates.iterator();
+        for (int i = 0; i < COMMAND_UPDATES_PER_TICK && iterator.hasNext(); i++) {
+            Player player = plugin.getServer().getPlayer(iterator.next());
+            iterator.remove();
+            if (player != null) {
+                player.updateCommands();
+            }
         }
 
-        permissions.put(player.getUniqueId(), attachment);
-        
-        // Update commands if on MC 1.13+
-        if (Core.getMcVersion() >= 13) {
-            player.updateCommands();
+        if (pendingCommandUpdates.isEmpty()) {
+            commandUpdateTask.cancel();
+            commandUpdateTask = null;
         }
     }
 
     /**
-     * Adds group-based permissions to a player
-     * @param player The player to add group permissions to
-     * @param attachment The permission attachment to add permissions to
+     * Collects a player's effective permissions: defaults, every group with its ancestors, then user nodes
+     * @param player The player
+     * @return The permissions, in application order
      */
-    private void addGroupPermissions(Player player, PermissionAttachment attachment) {
-        for (String group : config.getStringList("users." + player.getName() + ".groups")) {
+    private Set<String> resolvePlayer(Player player) {
+        PermissionStore.User user = store.getUser(player.getUniqueId());
+        Set<String> effective = new LinkedHashSet<>(store.getDefaultPermissions());
+        for (String group : user.getGroups()) {
             Logger.debug("User " + player.getName() + " is in group " + group);
-            
-            // Add direct group permissions
-            for (String perm : config.getStringList("groups." + group + ".permissions")) {
-                addPermission(attachment, perm);
+            effective.addAll(resolveGroup(group).permissions);
+        }
+        effective.addAll(user.getPermissions());
+        return effective;
+    }
+
+    /**
+     * Gets a group's flattened permissions, including all ancestors, resolving them once
+     * @param group The group name
+     * @return The resolved group
+     */
+    private ResolvedGroup resolveGroup(String group) {
+        ResolvedGroup resolved = resolvedGroups.get(group);
+        if (resolved != null) {
+            return resolved;
+        }
+
+        Set<String> nodes = new LinkedHashSet<>();
+        Set<String> lineage = new HashSet<>();
+        collectGroup(group, nodes, lineage, new HashSet<>());
+        resolved = new ResolvedGroup(Collections.unmodifiableSet(nodes), Collections.unmodifiableSet(lineage));
+        resolvedGroups.put(group, resolved);
+        return resolved;
+    }
+
+    /**
+     * Walks a group and its parents depth-first, parents before children
+     * @param group The group name
+     * @param nodes The permissions collected so far
+     * @param visited Groups already collected
+     * @param path Groups on the current path, used to detect cycles
+     */
+    private void collectGroup(String group, Set<String> nodes, Set<String> visited, Set<String> path) {
+        if (!path.add(group)) {
+            Logger.warning("Circular inheritance detected at group " + group + " - ignoring the cycle");
+            return;
+        }
+        if (visited.add(group)) {
+            PermissionStore.Group entry = store.getGroup(group);
+            for (String parent : entry.getParents()) {
+                collectGroup(parent, nodes, visited, path);
+            }
+            nodes.addAll(entry.getPermissions());
+        }
+        path.remove(group);
+    }
+
+    /**
+     * Checks whether making one group a parent of another would create an inheritance cycle
+     * @param group The group name
+     * @param parent The prospective parent group
+     * @return true if the parent already inherits from the group
+     */
+    public boolean wouldCreateCycle(String group, String parent) {
+        return group.equals(parent) || inheritsFrom(parent, group, new HashSet<>());
+    }
+
+    /**
+     * Checks whether a group inherits from another, directly or indirectly
+     * @param group The group to start from
+     * @param ancestor The group to look for
+     * @param visited Groups already checked
+     * @return true if the ancestor is reachable through parents
+     */
+    private boolean inheritsFrom(String group, String ancestor, Set<String> visited) {
+        if (!visited.add(group)) {
+            return false;
+        }
+        for (String parent : store.getGroup(group).getParents()) {
+            if (parent.equals(ancestor) || inheritsFrom(parent, ancestor, visited)) {
+                return true;
             }
-            
-            // Add parent group permissions
-            for (String parent : config.getStringList("groups." + group + ".parents")) {
-                for (String perm : config.getStringList("groups." + parent + ".permissions")) {
-                    addPermission(attachment, perm);
+        }
+        return false;
+    }
+
+    /**
+     * Drops the resolved permissions of a group and of every group that inherits from it
+     * @param group The group that changed
+     */
+    private void invalidateGroup(String group) {
+        resolvedGroups.values().removeIf(resolved -> resolved.lineage.contains(group));
+        resolvedGroups.remove(group);
+    }
+
+    /**
+     * Drops every resolved group
+     */
+    public void invalidateAllGroups() {
+        resolvedGroups.clear();
+    }
+
+    /**
+     * Applies the difference between two permission sets with a single recalculation
+     * Writes the attachment's backing map directly; callers fall back to per-node updates when that fails
+     * @param player The player owning the attachment
+     * @param attachment The attachment
+     * @param previous The permissions currently granted by the attachment
+     * @param nodes The permissions to grant
+     * @return true if the permissions were applied
+     */
+    @SuppressWarnings("unchecked")
+    private boolean applyBulk(Player player, PermissionAttachment attachment, Set<String> previous, Set<String> nodes) {
+        if (ATTACHMENT_PERMISSIONS == null) {
+            return false;
+        }
+
+        try {
+            Map<String, Boolean> backing = (Map<String, Boolean>) ATTACHMENT_PERMISSIONS.get(attachment);
+            for (String node : previous) {
+                if (!nodes.contains(node)) {
+                    backing.remove(node.toLowerCase(Locale.ROOT));
                 }
             }
+            for (String node : nodes) {
+                backing.put(node.toLowerCase(Locale.ROOT), Boolean.TRUE);
+            }
+            player.recalculatePermissions();
+            return true;
+        } catch (Exception e) {
+            Logger.warning("Bulk permission update failed, falling back to per-node updates: " + e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Finds the backing permission map of {@link PermissionAttachment}
+     * @return The field, or null if it is not accessible on this server
+     */
+    private static Field findAttachmentPermissions() {
+        try {
+            Field field = PermissionAttachment.class.getDeclaredField("permissions");
+            field.setAccessible(true);
+            return Map.class.isAssignableFrom(field.getType()) ? field : null;
+        } catch (Exception e) {
+            return null;
         }
     }
 
@@ -102,18 +346,48 @@ public class PermissionManager {
         }
     }
 
+    /**
+     * Removes a single permission from a permission attachment
+     * @param attachment The permission attachment
+     * @param permission The permission to remove
+     */
+    private void removePermission(PermissionAttachment attachment, String permission) {
+        try {
+            attachment.unsetPermission(permission);
+        } catch (Exception e) {
+            Logger.warning("Failed to remove permission " + permission + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * Removes an attachment from a player, logging failures
+     * @param player The player
+     * @param attachment The attachment
+     */
+    private void removeAttachment(Player player, PermissionAttachment attachment) {
+        try {
+            player.removeAttachment(attachment);
+        } catch (Exception e) {
+            Logger.warning("Failed to remove permissions for " + player.getName() + ": " + e.getMessage());
+        }
+    }
+
     /**
      * Removes all permission attachments
      */
     public void removeAllPermissions() {
-        for (PermissionAttachment attachment : permissions.values()) {
+        for (UUID uuid : permissions.keySet()) {
+            PermissionAttachment attachment = permissions.remove(uuid);
+            applied.remove(uuid);
             try {
-                attachment.remove();
+                if (attachment != null) {
+                    attachment.remove();
+                }
             } catch (Exception e) {
                 Logger.warning("Failed to remove permission attachment: " + e.getMessage());
             }
+            fireChange(uuid);
         }
-        permissions.clear();
     }
 
     /**
@@ -122,30 +396,36 @@ public class PermissionManager {
      */
     public void removePermissions(Player player) {
         PermissionAttachment attachment = permissions.remove(player.getUniqueId());
+        applied.remove(player.getUniqueId());
+        pendingCommandUpdates.remove(player.getUniqueId());
         if (attachment != null) {
-            try {
-                player.removeAttachment(attachment);
-            } catch (Exception e) {
-                Logger.warning("Failed to remove permissions for " + player.getName() + ": " + e.getMessage());
-            }
+            removeAttachment(player, attachment);
         }
+        fireChange(player.getUniqueId());
     }
 
     /**
-     * Reloads all permissions
+     * Reloads all permissions from the permission store on disk
      */
     public void reloadPermissions() {
-        removeAllPermissions();
+        store.load(plugin.getConfig());
+        invalidateAllGroups();
         addPermissionsToOnlinePlayers();
-        plugin.saveConfig();
     }
 
     /**
-     * Reloads all permissions without saving the config
+     * Writes the permission store's final snapshot
      */
-    public void reloadPermissionsWithoutSaving() {
-        removeAllPermissions();
-        addPermissionsToOnlinePlayers();
+    public void shutdown() {
+        store.shutdown();
+    }
+
+    /**
+     * Gets the permission store
+     * @return The permission store
+     */
+    public PermissionStore getStore() {
+        return store;
     }
 
     /**
@@ -156,4 +436,17 @@ public class PermissionManager {
     public PermissionAttachment getPermissionAttachment(Player player) {
         return permissions.get(player.getUniqueId());
     }
-} 
\ No newline at end of file
+
+    /**
+     * A group's flattened permissions and the groups they were collected from
+     */
+    private static class ResolvedGroup {
+        private final Set<String> permissions;
+        private final Set<String> lineage;
+
+        private ResolvedGroup(Set<String> permissions, Set<String> lineage) {
+            this.permissions = permissions;
+            this.lineage = lineage;
+        }
+    }
+}
\ No newline at end of file
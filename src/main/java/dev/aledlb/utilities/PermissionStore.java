@@ -0,0 +1,926 @@
+package dev.aledlb.utilities;
+
+import org.bukkit.Bukkit;
+import org.bukkit.OfflinePlayer;
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.configuration.file.FileConfiguration;
+import org.bukkit.configuration.file.YamlConfiguration;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Stores default permissions, groups and users, with users keyed by UUID.
+ * State lives in permissions.yml plus an append-only journal of edits
+ * (permissions.journal). Loading replays the journal over the snapshot, and
+ * once the journal grows past a threshold the current state is written as a
+ * new snapshot and the journal is truncated. Entries are immutable and held in
+ * concurrent maps, so lookups are O(1) from any thread; edits come from the
+ * main thread and all file access runs on one background thread.
+ */
+public class PermissionStore {
+    private static final String SNAPSHOT_FILE = "permissions.yml";
+    private static final String JOURNAL_FILE = "permissions.journal";
+    private static final char FIELD_SEPARATOR = '\t';
+
+    private final File folder;
+    private final int compactAfter;
+    private final ExecutorService writer;
+    private final Map<String, Group> groups;
+    private final Map<UUID, User> users;
+    private final Map<String, Set<UUID>> membersByGroup;
+    private final Map<String, UUID> usersByName;
+    private volatile List<String> defaultPermissions;
+    private final AtomicInteger journalEntries;
+    private BufferedWriter journal;
+
+    /**
+     * Creates a new PermissionStore instance.
+     * @param folder The folder holding the snapshot and journal.
+     * @param compactAfter The number of journal entries after which the journal is compacted.
+     */
+    public PermissionStore(File folder, int compactAfter) {
+        this.folder = folder;
+        this.compactAfter = Math.max(1, compactAfter);
+        this.writer = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "Core-Permissions-Writer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.groups = new ConcurrentHashMap<>();
+        this.users = new ConcurrentHashMap<>();
+        this.membersByGroup = new ConcurrentHashMap<>();
+        this.usersByName = new ConcurrentHashMap<>();
+        this.defaultPermissions = Collections.emptyList();
+        this.journalEntries = new AtomicInteger();
+    }
+
+    /**
+     * Loads the snapshot and replays the journal, blocking until done.
+     * When neither file exists, imports the name-keyed sections of config.yml;
+     * their user names are resolved to UUIDs on the calling thread, which must
+     * be the main thread.
+     * @param legacy The main configuration to import from on first run.
+     */
+    public void load(FileConfiguration legacy) {
+        boolean firstRun = !new File(folder, SNAPSHOT_FILE).exists() && !new File(folder, JOURNAL_FILE).exists();
+        Map<String, UUID> legacyUsers = firstRun ? resolveLegacyUsers(legacy) : Collections.emptyMap();
+
+        runOnWriter(() -> {
+            closeJournal();
+            groups.clear();
+            users.clear();
+            membersByGroup.clear();
+            usersByName.clear();
+            defaultPermissions = Collections.emptyList();
+
+            File snapshot = new File(folder, SNAPSHOT_FILE);
+            File journalFile = new File(folder, JOURNAL_FILE);
+            if (!snapshot.exists() && !journalFile.exists()) {
+                importLegacy(legacy, legacyUsers);
+                writeSnapshot(capture());
+                return;
+            }
+
+            if (snapshot.exists()) {
+                readSnapshot(YamlConfiguration.loadConfiguration(snapshot));
+            }
+            journalEntries.set(replayJournal(journalFile));
+        });
+    }
+
+    /**
+     * Writes a final snapshot and stops the background thread.
+     */
+    public void shutdown() {
+        Snapshot snapshot = capture();
+        writer.execute(() -> {
+            writeSnapshot(snapshot);
+            closeJournal();
+        });
+        writer.shutdown();
+        try {
+            if (!writer.awaitTermination(5, TimeUnit.SECONDS)) {
+                Logger.warning("Timed out waiting for permission writes to finish");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Gets the permissions every player has.
+     * @return The default permissions.
+     */
+    public List<String> getDefaultPermissions() {
+        return defaultPermissions;
+    }
+
+    /**
+     * Checks if a group exists.
+     * @param name The group name.
+     * @return true if the group exists.
+     */
+    public boolean hasGroup(String name) {
+        return groups.containsKey(name);
+    }
+
+    /**
+     * Gets a group.
+     * @param name The group name.
+     * @return The group, or an empty group if it does not exist.
+     */
+    public Group getGroup(String name) {
+        return groups.getOrDefault(name, Group.EMPTY);
+    }
+
+    /**
+     * Gets the names of all groups.
+     * @return The group names.
+     */
+    public Set<String> getGroupNames() {
+        return Collections.unmodifiableSet(groups.keySet());
+    }
+
+    /**
+     * Gets a user.
+     * @param uuid The user's UUID.
+     * @return The user, or an empty user if they have no entry.
+     */
+    public User getUser(UUID uuid) {
+        return users.getOrDefault(uuid, User.EMPTY);
+    }
+
+    /**
+     * Gets the users in a group.
+     * @param group The group name.
+     * @return The members' UUIDs.
+     */
+    public Set<UUID> getMembers(String group) {
+        Set<UUID> members = membersByGroup.get(group);
+        return members != null ? Collections.unmodifiableSet(members) : Collections.emptySet();
+    }
+
+    /**
+     * Finds a user by the last name they were seen with.
+     * @param name The name, in any case.
+     * @return The user's UUID, or null if unknown.
+     */
+    public UUID findUser(String name) {
+        return usersByName.get(name.toLowerCase(Locale.ROOT));
+    }
+
+    /**
+     * Records a user's current name, so renamed players keep their entry.
+     * @param uuid The user's UUID.
+     * @param name The user's current name.
+     */
+    public void updateName(UUID uuid, String name) {
+        User user = users.get(uuid);
+        if (user != null && !name.equals(user.name)) {
+            record(Op.USER_NAME, uuid.toString(), name);
+        }
+    }
+
+    /**
+     * Adds a default permission.
+     * @param permission The permission.
+     * @return false if it was already a default permission.
+     */
+    public boolean addDefaultPermission(String permission) {
+        return !defaultPermissions.contains(permission) && record(Op.DEFAULT_ADD, permission);
+    }
+
+    /**
+     * Removes a default permission.
+     * @param permission The permission.
+     * @return false if it was not a default permission.
+     */
+    public boolean removeDefaultPermission(String permission) {
+        return defaultPermissions.contains(permission) && record(Op.DEFAULT_REMOVE, permission);
+    }
+
+    /**
+     * Creates an empty group.
+     * @param group The group name.
+     * @return false if the group already exists.
+     */
+    public boolean createGroup(String group) {
+        return !groups.containsKey(group) && record(Op.GROUP_CREATE, group);
+    }
+
+    /**
+     * Deletes a group, removing it from its members and from the groups that inherit it.
+     * @param group The group name.
+     * @return false if the group does not exist.
+     */
+    public boolean deleteGroup(String group) {
+        return groups.containsKey(group) && record(Op.GROUP_DELETE, group);
+    }
+
+    /**
+     * Adds a permission to a group.
+     * @param group The group name.
+     * @param permission The permission.
+     * @return false if the group already has it.
+     */
+    public boolean addGroupPermission(String group, String permission) {
+        return !getGroup(group).permissions.contains(permission) && record(Op.GROUP_PERMISSION_ADD, group, permission);
+    }
+
+    /**
+     * Removes a permission from a group.
+     * @param group The group name.
+     * @param permission The permission.
+     * @return false if the group does not have it.
+     */
+    public boolean removeGroupPermission(String group, String permission) {
+        return getGroup(group).permissions.contains(permission) && record(Op.GROUP_PERMISSION_REMOVE, group, permission);
+    }
+
+    /**
+     * Adds a parent to a group.
+     * @param group The group name.
+     * @param parent The parent group name.
+     * @return false if the group already has that parent.
+     */
+    public boolean addGroupParent(String group, String parent) {
+        return !getGroup(group).parents.contains(parent) && record(Op.GROUP_PARENT_ADD, group, parent);
+    }
+
+    /**
+     * Removes a parent from a group.
+     * @param group The group name.
+     * @param parent The parent group name.
+     * @return false if the group does not have that parent.
+     */
+    public boolean removeGroupParent(String group, String parent) {
+        return getGroup(group).parents.contains(parent) && record(Op.GROUP_PARENT_REMOVE, group, parent);
+    }
+
+    /**
+     * Sets a group's prefix.
+     * @param group The group name.
+     * @param prefix The prefix, with &amp; color codes.
+     */
+    public void setGroupPrefix(String group, String prefix) {
+        record(Op.GROUP_PREFIX, group, prefix);
+    }
+
+    /**
+     * Adds a user to a group.
+     * @param uuid The user's UUID.
+     * @param name The user's current name.
+     * @param group The group name.
+     * @return false if the user is already in the group.
+     */
+    public boolean addUserGroup(UUID uuid, String name, String group) {
+        return !getUser(uuid).groups.contains(group) && record(Op.USER_GROUP_ADD, uuid.toString(), name, group);
+    }
+
+    /**
+     * Removes a user from a group.
+     * @param uuid The user's UUID.
+     * @param name The user's current name.
+     * @param group The group name.
+     * @return false if the user is not in the group.
+     */
+    public boolean removeUserGroup(UUID uuid, String name, String group) {
+        return getUser(uuid).groups.contains(group) && record(Op.USER_GROUP_REMOVE, uuid.toString(), name, group);
+    }
+
+    /**
+     * Adds a permission to a user.
+     * @param uuid The user's UUID.
+     * @param name The user's current name.
+     * @param permission The permission.
+     * @return false if the user already has it.
+     */
+    public boolean addUserPermission(UUID uuid, String name, String permission) {
+        return !getUser(uuid).permissions.contains(permission) && record(Op.USER_PERMISSION_ADD, uuid.toString(), name, permission);
+    }
+
+    /**
+     * Removes a permission from a user.
+     * @param uuid The user's UUID.
+     * @param name The user's current name.
+     * @param permission The permission.
+     * @return false if the user does not have it.
+     */
+    public boolean removeUserPermission(UUID uuid, String name, String permission) {
+        return getUser(uuid).permissions.contains(permission) && record(Op.USER_PERMISSION_REMOVE, uuid.toString(), name, permission);
+    }
+
+    /**
+     * Applies an edit in memory and queues it for the journal.
+     * @param op The operation.
+     * @param args The operation's arguments.
+     * @return Always true, so callers can chain it after their checks.
+     */
+    private boolean record(Op op, String... args) {
+        apply(op, args);
+        String line = encode(op, args);
+        boolean compact = journalEntries.incrementAndGet() >= compactAfter;
+        Snapshot snapshot = compact ? capture() : null;
+        if (compact) {
+            journalEntries.set(0);
+        }
+
+        writer.execute(() -> {
+            appendJournal(line);
+            if (snapshot != null) {
+                writeSnapshot(snapshot);
+            }
+        });
+        return true;
+    }
+
+    /**
+     * Applies an operation to the in-memory state.
+     * @param op The operation.
+     * @param args The operation's arguments.
+     */
+    private void apply(Op op, String[] args) {
+        switch (op) {
+            case DEFAULT_ADD:
+                defaultPermissions = with(defaultPermissions, args[0]);
+                break;
+            case DEFAULT_REMOVE:
+                defaultPermissions = without(defaultPermissions, args[0]);
+                break;
+            case GROUP_CREATE:
+                groups.putIfAbsent(args[0], Group.EMPTY);
+                break;
+            case GROUP_DELETE:
+                removeGroup(args[0]);
+                break;
+            case GROUP_PERMISSION_ADD:
+                putGroup(args[0], getGroup(args[0]).withPermissions(with(getGroup(args[0]).permissions, args[1])));
+                break;
+            case GROUP_PERMISSION_REMOVE:
+                putGroup(args[0], getGroup(args[0]).withPermissions(without(getGroup(args[0]).permissions, args[1])));
+                break;
+            case GROUP_PARENT_ADD:
+                putGroup(args[0], getGroup(args[0]).withParents(with(getGroup(args[0]).parents, args[1])));
+                break;
+            case GROUP_PARENT_REMOVE:
+                putGroup(args[0], getGroup(args[0]).withParents(without(getGroup(args[0]).parents, args[1])));
+                break;
+            case GROUP_PREFIX:
+                putGroup(args[0], getGroup(args[0]).withPrefix(args[1]));
+                break;
+            case USER_NAME:
+                putUser(UUID.fromString(args[0]), getUser(UUID.fromString(args[0])).withName(args[1]));
+                break;
+            case USER_GROUP_ADD: {
+                UUID uuid = UUID.fromString(args[0]);
+                User user = getUser(uuid).withName(args[1]);
+                putUser(uuid, user.withGroups(with(user.groups, args[2])));
+                break;
+            }
+            case USER_GROUP_REMOVE: {
+                UUID uuid = UUID.fromString(args[0]);
+                User user = getUser(uuid).withName(args[1]);
+                putUser(uuid, user.withGroups(without(user.groups, args[2])));
+                break;
+            }
+            case USER_PERMISSION_ADD: {
+                UUID uuid = UUID.fromString(args[0]);
+                User user = getUser(uuid).withName(args[1]);
+                putUser(uuid, user.withPermissions(with(user.permissions, args[2])));
+                break;
+            }
+            case USER_PERMISSION_REMOVE: {
+                UUID uuid = UUID.fromString(args[0]);
+                User user = getUser(uuid).withName(args[1]);
+                putUser(uuid, user.withPermissions(without(user.permissions, args[2])));
+                break;
+            }
+        }
+    }
+
+    /**
+     * Stores a group entry.
+     * @param name The group name.
+     * @param group The group.
+     */
+    private void putGroup(String name, Group group) {
+        groups.put(name, group);
+    }
+
+    /**
+     * Removes a group and every reference to it from other groups and users.
+     * @param name The group name.
+     */
+    private void removeGroup(String name) {
+        groups.remove(name);
+        for (Map.Entry<String, Group> entry : groups.entrySet()) {
+            if (entry.getValue().parents.contains(name)) {
+                putGroup(entry.getKey(), entry.getValue().withParents(without(entry.getValue().parents, name)));
+            }
+        }
+        for (UUID uuid : new ArrayList<>(getMembers(name))) {
+            User user = getUser(uuid);
+            putUser(uuid, user.withGroups(without(user.groups, name)));
+        }
+        membersByGroup.remove(name);
+    }
+
+    /**
+     * Stores a user entry and keeps the group and name indexes in step.
+     * @param uuid The user's UUID.
+     * @param user The user.
+     */
+    private void putUser(UUID uuid, User user) {
+        User previous = users.put(uuid, user);
+        if (previous != null) {
+            for (String group : previous.groups) {
+                if (!user.groups.contains(group)) {
+                    Set<UUID> members = membersByGroup.get(group);
+                    if (members != null) {
+                        members.remove(uuid);
+                    }
+                }
+            }
+            if (previous.name != null && !previous.name.equalsIgnoreCase(String.valueOf(user.name))) {
+                usersByName.remove(previous.name.toLowerCase(Locale.ROOT), uuid);
+            }
+        }
+        for (String group : user.groups) {
+            membersByGroup.computeIfAbsent(group, key -> ConcurrentHashMap.newKeySet()).add(uuid);
+        }
+        if (user.name != null) {
+            usersByName.put(user.name.toLowerCase(Locale.ROOT), uuid);
+        }
+    }
+
+    /**
+     * Resolves the user names of config.yml's legacy users section to UUIDs.
+     * Players known to the server are looked up from its offline player cache;
+     * only unknown names fall back to a name lookup.
+     * @param legacy The main configuration.
+     * @return The UUIDs by legacy name.
+     */
+    @SuppressWarnings("deprecation")
+    private static Map<String, UUID> resolveLegacyUsers(FileConfiguration legacy) {
+        ConfigurationSection usersSection = legacy.getConfigurationSection("users");
+        if (usersSection == null) {
+            return Collections.emptyMap();
+        }
+
+        Map<String, UUID> known = new HashMap<>();
+        for (OfflinePlayer player : Bukkit.getOfflinePlayers()) {
+            if (player.getName() != null) {
+                known.put(player.getName().toLowerCase(Locale.ROOT), player.getUniqueId());
+            }
+        }
+
+        Map<String, UUID> resolved = new HashMap<>();
+        for (String name : usersSection.getKeys(false)) {
+            UUID uuid = known.get(name.toLowerCase(Locale.ROOT));
+            resolved.put(name, uuid != null ? uuid : Bukkit.getOfflinePlayer(name).getUniqueId());
+        }
+        return resolved;
+    }
+
+    /**
+     * Imports the name-keyed permission sections of config.yml.
+     * @param legacy The main configuration.
+     * @param legacyUsers The UUIDs of the legacy users, by name.
+     */
+    private void importLegacy(FileConfiguration legacy, Map<String, UUID> legacyUsers) {
+        defaultPermissions = Collections.unmodifiableList(new ArrayList<>(legacy.getStringList("default.permissions")));
+
+        ConfigurationSection groupsSection = legacy.getConfigurationSection("groups");
+        if (groupsSection != null) {
+            for (String name : groupsSection.getKeys(false)) {
+                putGroup(name, new Group(legacy.getStringList("groups." + name + ".permissions"),
+                        legacy.getStringList("groups." + name + ".parents"),
+                        legacy.getString("groups." + name + ".prefix", "")));
+            }
+        }
+
+        ConfigurationSection usersSection = legacy.getConfigurationSection("users");
+        if (usersSection != null) {
+            for (String name : usersSection.getKeys(false)) {
+                UUID uuid = legacyUsers.get(name);
+                if (uuid == null) {
+                    continue;
+                }
+                putUser(uuid, new User(name, legacy.getStringList("users." + name + ".groups"),
+                        legacy.getStringList("users." + name + ".permissions")));
+            }
+        }
+
+        Logger.console("Imported " + groups.size() + " groups and " + users.size()
+                + " users from config.yml into " + SNAPSHOT_FILE);
+    }
+
+    /**
+     * Reads a snapshot into memory.
+     * @param yaml The snapshot.
+     */
+    private void readSnapshot(YamlConfiguration yaml) {
+        defaultPermissions = Collections.unmodifiableList(new ArrayList<>(yaml.getStringList("default.permissions")));
+
+        ConfigurationSection groupsSection = yaml.getConfigurationSection("groups");
+        if (groupsSection != null) {
+            for (String name : groupsSection.getKeys(false)) {
+                putGroup(name, new Group(yaml.getStringList("groups." + name + ".permissions"),
+                        yaml.getStringList("groups." + name + ".parents"),
+                        yaml.getString("groups." + name + ".prefix", "")));
+            }
+        }
+
+        ConfigurationSection usersSection = yaml.getConfigurationSection("users");
+        if (usersSection != null) {
+            for (String key : usersSection.getKeys(false)) {
+                try {
+                    putUser(UUID.fromString(key), new User(yaml.getString("users." + key + ".name"),
+                            yaml.getStringList("users." + key + ".groups"),
+                            yaml.getStringList("users." + key + ".permissions")));
+                } catch (IllegalArgumentException e) {
+                    Logger.warning("Skipping permission entry with invalid UUID: " + key);
+                }
+            }
+        }
+    }
+
+    /**
+     * Replays the journal over the loaded snapshot.
+     * A torn or unreadable line is skipped.
+     * @param file The journal file.
+     * @return The number of entries replayed.
+     */
+    private int replayJournal(File file) {
+        if (!file.exists()) {
+            return 0;
+        }
+
+        int count = 0;
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(new FileInputStream(file), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                List<String> fields = decode(line);
+                if (fields.isEmpty()) {
+                    continue;
+                }
+                try {
+                    Op op = Op.valueOf(fields.get(0));
+                    apply(op, fields.subList(1, fields.size()).toArray(new String[0]));
+                    count++;
+                } catch (RuntimeException e) {
+                    Logger.warning("Skipping unreadable permission journal entry: " + line);
+                }
+            }
+        } catch (IOException e) {
+            Logger.severe("Could not read permission journal: " + e.getMessage());
+        }
+        return count;
+    }
+
+    /**
+     * Appends a line to the journal, opening it if needed.
+     * @param line The encoded entry.
+     */
+    private void appendJournal(String line) {
+        try {
+            if (journal == null) {
+                folder.mkdirs();
+                journal = new BufferedWriter(new OutputStreamWriter(
+                        new FileOutputStream(new File(folder, JOURNAL_FILE), true), StandardCharsets.UTF_8));
+            }
+            journal.write(line);
+            journal.newLine();
+            journal.flush();
+        } catch (IOException e) {
+            Logger.severe("Could not append to permission journal: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Closes the journal writer.
+     */
+    private void closeJournal() {
+        if (journal == null) {
+            return;
+        }
+        try {
+            journal.close();
+        } catch (IOException e) {
+            Logger.warning("Could not close permission journal: " + e.getMessage());
+        }
+        journal = null;
+    }
+
+    /**
+     * Copies the current state. Entries are immutable, so only the maps are copied.
+     * @return The snapshot.
+     */
+    private Snapshot capture() {
+        return new Snapshot(defaultPermissions, new HashMap<>(groups), new HashMap<>(users));
+    }
+
+    /**
+     * Writes a snapshot through a temporary file and truncates the journal it replaces.
+     * @param snapshot The snapshot.
+     */
+    private void writeSnapshot(Snapshot snapshot) {
+        YamlConfiguration yaml = new YamlConfiguration();
+        yaml.set("default.permissions", snapshot.defaultPermissions);
+        for (Map.Entry<String, Group> entry : snapshot.groups.entrySet()) {
+            String path = "groups." + entry.getKey();
+            yaml.set(path + ".permissions", entry.getValue().permissions);
+            yaml.set(path + ".parents", entry.getValue().parents);
+            yaml.set(path + ".prefix", entry.getValue().prefix);
+        }
+        for (Map.Entry<UUID, User> entry : snapshot.users.entrySet()) {
+            String path = "users." + entry.getKey();
+            yaml.set(path + ".name", entry.getValue().name);
+            yaml.set(path + ".groups", entry.getValue().groups);
+            yaml.set(path + ".permissions", entry.getValue().permissions);
+        }
+
+        File file = new File(folder, SNAPSHOT_FILE);
+        File temp = new File(folder, SNAPSHOT_FILE + ".tmp");
+        try {
+            folder.mkdirs();
+            Files.write(temp.toPath(), yaml.saveToString().getBytes(StandardCharsets.UTF_8));
+            Files.move(temp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+            closeJournal();
+            Files.deleteIfExists(new File(folder, JOURNAL_FILE).toPath());
+        } catch (IOException e) {
+            Logger.severe("Could not write permission snapshot: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Runs a task on the writer thread and waits for it.
+     * @param task The task.
+     */
+    private void runOnWriter(Runnable task) {
+        try {
+            writer.submit(task).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            Logger.severe("Could not load permissions: " + e.getCause().getMessage());
+        }
+    }
+
+    /**
+     * Encodes a journal entry as tab-separated fields, escaping tabs, newlines and backslashes.
+     * @param op The operation.
+     * @param args The arguments.
+     * @return The encoded line.
+     */
+    private static String encode(Op op, String[] args) {
+        StringBuilder line = new StringBuilder(op.name());
+        for (String arg : args) {
+            line.append(FIELD_SEPARATOR);
+            for (int i = 0; i < arg.length(); i++) {
+                char c = arg.charAt(i);
+                switch (c) {
+                    case '\\':
+                        line.append("\\\\");
+                        break;
+                    case '\t':
+                        line.append("\\t");
+                        break;
+                    case '\n':
+                        line.append("\\n");
+                        break;
+                    case '\r':
+                        line.append("\\r");
+                        break;
+                    default:
+                        line.append(c);
+                }
+            }
+        }
+        return line.toString();
+    }
+
+    /**
+     * Decodes a journal line into its fields.
+     * @param line The line.
+     * @return The fields, or an empty list for a blank line.
+     */
+    private static List<String> decode(String line) {
+        List<String> fields = new ArrayList<>();
+        if (line.isEmpty()) {
+            return fields;
+        }
+
+        StringBuilder field = new StringBuilder();
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (c == FIELD_SEPARATOR) {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (c == '\\' && i + 1 < line.length()) {
+                char next = line.charAt(++i);
+                field.append(next == 't' ? '\t' : next == 'n' ? '\n' : next == 'r' ? '\r' : next);
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    /**
+     * Returns an unmodifiable copy of a list with a value appended, or the list itself if it has the value.
+     * @param list The list.
+     * @param value The value.
+     * @return The resulting list.
+     */
+    private static List<String> with(List<String> list, String value) {
+        if (list.contains(value)) {
+            return list;
+        }
+        List<String> copy = new ArrayList<>(list);
+        copy.add(value);
+        return Collections.unmodifiableList(copy);
+    }
+
+    /**
+     * Returns an unmodifiable copy of a list without a value, or the list itself if it lacks the value.
+     * @param list The list.
+     * @param value The value.
+     * @return The resulting list.
+     */
+    private static List<String> without(List<String> list, String value) {
+        if (!list.contains(value)) {
+            return list;
+        }
+        List<String> copy = new ArrayList<>(list);
+        copy.remove(value);
+        return Collections.unmodifiableList(copy);
+    }
+
+    /**
+     * Journal operations.
+     */
+    private enum Op {
+        DEFAULT_ADD,
+        DEFAULT_REMOVE,
+        GROUP_CREATE,
+        GROUP_DELETE,
+        GROUP_PERMISSION_ADD,
+        GROUP_PERMISSION_REMOVE,
+        GROUP_PARENT_ADD,
+        GROUP_PARENT_REMOVE,
+        GROUP_PREFIX,
+        USER_NAME,
+        USER_GROUP_ADD,
+        USER_GROUP_REMOVE,
+        USER_PERMISSION_ADD,
+        USER_PERMISSION_REMOVE
+    }
+
+    /**
+     * An immutable group entry.
+     */
+    public static class Group {
+        private static final Group EMPTY = new Group(Collections.emptyList(), Collections.emptyList(), "");
+
+        private final List<String> permissions;
+        private final List<String> parents;
+        private final String prefix;
+
+        private Group(List<String> permissions, List<String> parents, String prefix) {
+            this.permissions = Collections.unmodifiableList(new ArrayList<>(permissions));
+            this.parents = Collections.unmodifiableList(new ArrayList<>(parents));
+            this.prefix = prefix;
+        }
+
+        /**
+         * Gets the group's own permissions.
+         * @return The permissions.
+         */
+        public List<String> getPermissions() {
+            return permissions;
+        }
+
+        /**
+         * Gets the group's direct parents.
+         * @return The parent group names.
+         */
+        public List<String> getParents() {
+            return parents;
+        }
+
+        /**
+         * Gets the group's prefix.
+         * @return The prefix, with &amp; color codes.
+         */
+        public String getPrefix() {
+            return prefix;
+        }
+
+        private Group withPermissions(List<String> permissions) {
+            return new Group(permissions, parents, prefix);
+        }
+
+        private Group withParents(List<String> parents) {
+            return new Group(permissions, parents, prefix);
+        }
+
+        private Group withPrefix(String prefix) {
+            return new Group(permissions, parents, prefix);
+        }
+    }
+
+    /**
+     * An immutable user entry.
+     */
+    public static class User {
+        private static final User EMPTY = new User(null, Collections.emptyList(), Collections.emptyList());
+
+        private final String name;
+        private final List<String> groups;
+        private final List<String> permissions;
+
+        private User(String name, List<String> groups, List<String> permissions) {
+            this.name = name;
+            this.groups = Collections.unmodifiableList(new ArrayList<>(groups));
+            this.permissions = Collections.unmodifiableList(new ArrayList<>(permissions));
+        }
+
+        /**
+         * Gets the name the user was last seen with.
+         * @return The name, or null if unknown.
+         */
+        public String getName() {
+            return name;
+        }
+
+        /**
+         * Gets the user's groups, in priority order.
+         * @return The group names.
+         */
+        public List<String> getGroups() {
+            return groups;
+        }
+
+        /**
+         * Gets the user's own permissions.
+         * @return The permissions.
+         */
+        public List<String> getPermissions() {
+            return permissions;
+        }
+
+        private User withName(String name) {
+            return name.equals(this.name) ? this : new User(name, groups, permissions);
+        }
+
+        private User withGroups(List<String> groups) {
+            return new User(name, groups, permissions);
+        }
+
+        private User withPermissions(List<String> permissions) {
+            return new User(name, groups, permissions);
+        }
+    }
+
+    /**
+     * A point-in-time copy of the store, matching the journal up to the entry queued with it.
+     */
+    private static class Snapshot {
+        private final List<String> defaultPermissions;
+        private final Map<String, Group> groups;
+        private final Map<UUID, User> users;
+
+        private Snapshot(List<String> defaultPermissions, Map<String, Group> groups, Map<UUID, User> users) {
+            this.defaultPermissions = defaultPermissions;
+            this.groups = groups;
+            this.users = users;
+        }
+    }
+}
@@ -0,0 +1,244 @@
+package dev.aledlb.utilities;
+
+import java.lang.invoke.VarHandle;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Fixed-capacity history buffer that keeps the most recent values.
+ * Appends are O(1) and never shift elements. Writers and readers on
+ * different threads do not lock: each slot carries a version number so
+ * readers skip slots that are mid-write or have already been overwritten.
+ * Every value is stored with a primitive stamp, typically a timestamp.
+ * @param <T> The element type.
+ */
+public class RingBuffer<T> implements HistoryView<T> {
+    private final int capacity;
+    private final AtomicLongArray versions;
+    private final long[] stamps;
+    private final Object[] values;
+    private final AtomicLong head;
+    private final AtomicLong floor;
+
+    /**
+     * Creates a new RingBuffer instance.
+     * @param capacity The maximum number of values kept.
+     */
+    public RingBuffer(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be positive: " + capacity);
+        }
+        this.capacity = capacity;
+        this.versions = new AtomicLongArray(capacity);
+        this.stamps = new long[capacity];
+        this.values = new Object[capacity];
+        this.head = new AtomicLong();
+        this.floor = new AtomicLong();
+    }
+
+    /**
+     * Appends a value stamped with the current time, evicting the oldest if full.
+     * @param value The value to append.
+     */
+    public void add(T value) {
+        add(System.currentTimeMillis(), value);
+    }
+
+    /**
+     * Appends a value with an explicit stamp, evicting the oldest if full.
+     * @param stamp The primitive stamp stored alongside the value.
+     * @param value The value to append.
+     */
+    public void add(long stamp, T value) {
+        long sequence = head.getAndIncrement();
+        int slot = (int) (sequence % capacity);
+        long published = publishedVersion(sequence);
+
+        // Claim the slot by making its version odd while writing
+        while (true) {
+            long version = versions.get(slot);
+            if (version >= published) {
+                // A writer that wrapped around already stored a newer value here
+                return;
+            }
+            if ((version & 1) == 1) {
+                Thread.onSpinWait();
+                continue;
+            }
+            if (versions.compareAndSet(slot, version, published - 1)) {
+                break;
+            }
+        }
+
+        stamps[slot] = stamp;
+        values[slot] = value;
+        versions.set(slot, published);
+    }
+
+    /**
+     * Copies the current values, oldest first.
+     * @return A new list with the buffered values.
+     */
+    @Override
+    public List<T> toList() {
+        long end = head.get();
+        long start = Math.max(floor.get(), end - capacity);
+        List<T> result = new ArrayList<>((int) Math.max(0, end - start));
+
+        for (long sequence = start; sequence < end; sequence++) {
+            T value = read(sequence);
+            if (value != null) {
+                result.add(value);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Gets the most recently appended value.
+     * @return The latest value, or null if the buffer is empty.
+     */
+    @Override
+    public T latest() {
+        long end = head.get();
+        long start = Math.max(floor.get(), end - capacity);
+        for (long sequence = end - 1; sequence >= start; sequence--) {
+            T value = read(sequence);
+            if (value != null) {
+                return value;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Gets the number of values currently held.
+     * @return The buffer size.
+     */
+    @Override
+    public int size() {
+        long end = head.get();
+        return (int) Math.min(capacity, Math.max(0, end - floor.get()));
+    }
+
+    /**
+     * Checks whether the buffer holds no values.
+     * @return true if empty.
+     */
+    @Override
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    /**
+     * Gets the maximum number of values kept.
+     * @return The capacity.
+     */
+    @Override
+    public int capacity() {
+        return capacity;
+    }
+
+    @Override
+    public void forEachStamped(StampedConsumer<? super T> action) {
+        long end = head.get();
+        long start = Math.max(floor.get(), end - capacity);
+
+        for (long sequence = start; sequence < end; sequence++) {
+            int slot = (int) (sequence % capacity);
+            long expected = publishedVersion(sequence);
+            if (versions.get(slot) != expected) {
+                continue;
+            }
+
+            long stamp = stamps[slot];
+            Object value = values[slot];
+            VarHandle.acquireFence();
+            if (versions.get(slot) != expected) {
+                continue;
+            }
+
+            @SuppressWarnings("unchecked")
+            T typed = (T) value;
+            action.accept(stamp, typed);
+        }
+    }
+
+    @Override
+    public Iterator<T> iterator() {
+        long end = head.get();
+        long start = Math.max(floor.get(), end - capacity);
+
+        return new Iterator<T>() {
+            private long sequence = start;
+            private T next = advance();
+
+            private T advance() {
+                while (sequence < end) {
+                    T value = read(sequence++);
+                    if (value != null) {
+                        return value;
+                    }
+                }
+                return null;
+            }
+
+            @Override
+            public boolean hasNext() {
+                return next != null;
+            }
+
+            @Override
+            public T next() {
+                if (next == null) {
+                    throw new NoSuchElementException();
+                }
+                T current = next;
+                next = advance();
+                return current;
+            }
+        };
+    }
+
+    /**
+     * Drops every value appended so far.
+     */
+    public void clear() {
+        long end = head.get();
+        floor.accumulateAndGet(end, Math::max);
+    }
+
+    /**
+     * Reads the value stored for a sequence number.
+     * @param sequence The sequence number.
+     * @return The value, or null if the slot is being written or was overwritten.
+     */
+    @SuppressWarnings("unchecked")
+    private T read(long sequence) {
+        int slot = (int) (sequence % capacity);
+        long expected = publishedVersion(sequence);
+        if (versions.get(slot) != expected) {
+            return null;
+        }
+
+        Object value = values[slot];
+        VarHandle.acquireFence();
+        if (versions.get(slot) != expected) {
+            return null;
+        }
+        return (T) value;
+    }
+
+    /**
+     * Gets the even version a slot holds once a sequence has been written to it.
+     * @param sequence The sequence number.
+     * @return The published version.
+     */
+    private static long publishedVersion(long sequence) {
+        return (sequence + 1) * 2;
+    }
+}
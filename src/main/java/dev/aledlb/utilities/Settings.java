@@ -0,0 +1,154 @@
+package dev.aledlb.utilities;
+
+import org.bukkit.ChatColor;
+import org.bukkit.configuration.file.FileConfiguration;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable, pre-parsed view of the main configuration.
+ * Built once each time config.yml is loaded and published by {@link ConfigManager},
+ * so hot paths read final fields instead of walking the YAML tree and
+ * translating colour codes on every call.
+ */
+public final class Settings {
+    private static final String DEFAULT_PREFIX = "&8[&6Core&8]&r";
+    private static final String DEFAULT_CHAT_FORMAT = "<%player%> %message%";
+    private static final long DEFAULT_MOTD_ROTATE_SECONDS = 30;
+    private static final long DEFAULT_MOTD_REFRESH_SECONDS = 5;
+    private static final int DEFAULT_PING_LIMIT = 20;
+    private static final long DEFAULT_PING_WINDOW_SECONDS = 10;
+
+    private final String messagePrefix;
+    private final boolean debugMode;
+    private final List<String> motds;
+    private final long motdRotateMillis;
+    private final long motdRefreshTicks;
+    private final String motdIconPath;
+    private final boolean motdIconRandom;
+    private final int pingLimit;
+    private final long pingWindowMillis;
+    private final String chatFormat;
+
+    private Settings(FileConfiguration config) {
+        this.messagePrefix = colorize(config.getString("prefix", DEFAULT_PREFIX)) + " ";
+        this.debugMode = config.getBoolean("debug-mode", false);
+
+        List<String> motdList = new ArrayList<>();
+        String firstLine = config.getString("motd.first-line");
+        String secondLine = config.getString("motd.second-line");
+        if (firstLine != null && secondLine != null) {
+            motdList.add(colorize(firstLine) + "\n" + colorize(secondLine));
+        }
+        for (Map<?, ?> entry : config.getMapList("motd.rotation")) {
+            Object first = entry.get("first-line");
+            Object second = entry.get("second-line");
+            motdList.add(colorize(first != null ? first.toString() : "") + "\n" + colorize(second != null ? second.toString() : ""));
+        }
+        this.motds = Collections.unmodifiableList(motdList);
+        this.motdRotateMillis = Math.max(1, config.getLong("motd.rotate-interval", DEFAULT_MOTD_ROTATE_SECONDS)) * 1000;
+        this.motdRefreshTicks = Math.max(1, config.getLong("motd.refresh-interval", DEFAULT_MOTD_REFRESH_SECONDS)) * 20;
+        this.motdIconPath = config.getString("motd.icon-path");
+        this.motdIconRandom = "random".equalsIgnoreCase(config.getString("motd.icon-selection"));
+        this.pingLimit = config.getInt("motd.ping-limit.max-pings", DEFAULT_PING_LIMIT);
+        this.pingWindowMillis = Math.max(1, config.getLong("motd.ping-limit.window", DEFAULT_PING_WINDOW_SECONDS)) * 1000;
+        this.chatFormat = config.getString("chat-format", DEFAULT_CHAT_FORMAT);
+    }
+
+    /**
+     * Parses the main configuration.
+     * @param config The main configuration.
+     * @return The parsed settings.
+     */
+    public static Settings from(FileConfiguration config) {
+        return new Settings(config);
+    }
+
+    /**
+     * Gets the colorized prefix for player messages, including the trailing space.
+     * @return The message prefix.
+     */
+    public String getMessagePrefix() {
+        return messagePrefix;
+    }
+
+    /**
+     * Gets whether debug logging is enabled.
+     * @return True if debug mode is on.
+     */
+    public boolean isDebugMode() {
+        return debugMode;
+    }
+
+    /**
+     * Gets the colorized two-line MOTDs, shown in turn.
+     * They may contain the %online% and %max% placeholders.
+     * @return The MOTD templates, empty if none are configured.
+     */
+    public List<String> getMotds() {
+        return motds;
+    }
+
+    /**
+     * Gets how long each MOTD is shown before the next one.
+     * @return The rotation interval in milliseconds.
+     */
+    public long getMotdRotateMillis() {
+        return motdRotateMillis;
+    }
+
+    /**
+     * Gets how often the MOTD is re-rendered.
+     * @return The refresh interval in ticks.
+     */
+    public long getMotdRefreshTicks() {
+        return motdRefreshTicks;
+    }
+
+    /**
+     * Gets the path of the server icon file or directory of icons.
+     * @return The icon path, or null if not configured.
+     */
+    public String getMotdIconPath() {
+        return motdIconPath;
+    }
+
+    /**
+     * Gets whether each ping gets a random icon instead of rotating through them.
+     * @return True for random selection.
+     */
+    public boolean isMotdIconRandom() {
+        return motdIconRandom;
+    }
+
+    /**
+     * Gets how many server list pings one address may send per window.
+     * @return The ping limit, or 0 or less for no limit.
+     */
+    public int getPingLimit() {
+        return pingLimit;
+    }
+
+    /**
+     * Gets the length of the ping counting window.
+     * @return The window in milliseconds.
+     */
+    public long getPingWindowMillis() {
+        return pingWindowMillis;
+    }
+
+    /**
+     * Gets the raw chat format template.
+     * @return The chat format.
+     */
+    public String getChatFormat() {
+        return chatFormat;
+    }
+
+    private static String colorize(String text) {
+        return ChatColor.translateAlternateColorCodes('&', text);
+    }
+}
@@ -0,0 +1,117 @@
+package dev.aledlb.utilities;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Hashed timing wheel for large numbers of timeouts driven by one ticking task.
+ * Scheduling is O(1); each tick only visits one bucket, and entries further
+ * away than one revolution stay in their bucket until their deadline comes
+ * round. Entries cannot be cancelled; the expiry callback should check that
+ * the timeout still applies. Not thread-safe: use from the main thread.
+ * @param <T> The entry type.
+ */
+public class TimingWheel<T> {
+    private final long tickMillis;
+    private final int mask;
+    private final List<Entry<T>>[] buckets;
+    private final Consumer<T> onExpire;
+    private long currentTick;
+    private int size;
+
+    /**
+     * Creates a new TimingWheel instance.
+     * @param tickMillis The length of one tick in milliseconds.
+     * @param bucketCount The number of buckets; rounded up to a power of two.
+     * @param now The current time in milliseconds.
+     * @param onExpire Called with each entry once its deadline has passed.
+     */
+    @SuppressWarnings("unchecked")
+    public TimingWheel(long tickMillis, int bucketCount, long now, Consumer<T> onExpire) {
+        int capacity = Integer.highestOneBit(Math.max(1, bucketCount - 1)) << 1;
+        this.tickMillis = tickMillis;
+        this.mask = capacity - 1;
+        this.buckets = new List[capacity];
+        for (int i = 0; i < capacity; i++) {
+            buckets[i] = new ArrayList<>();
+        }
+        this.onExpire = onExpire;
+        this.currentTick = now / tickMillis;
+    }
+
+    /**
+     * Schedules an entry to expire at a deadline. Past deadlines expire on the next tick.
+     * @param value The entry.
+     * @param deadline The deadline in milliseconds.
+     */
+    public void schedule(T value, long deadline) {
+        long tick = Math.max(currentTick + 1, (deadline + tickMillis - 1) / tickMillis);
+        buckets[(int) (tick & mask)].add(new Entry<>(value, tick));
+        size++;
+    }
+
+    /**
+     * Expires every entry whose deadline is at or before the given time.
+     * @param now The current time in milliseconds.
+     */
+    public void advance(long now) {
+        long target = now / tickMillis;
+        long steps = Math.min(target - currentTick, buckets.length);
+        for (long step = 1; step <= steps; step++) {
+            expire(buckets[(int) ((currentTick + step) & mask)], target);
+        }
+        currentTick = Math.max(currentTick, target);
+    }
+
+    /**
+     * Gets the number of scheduled entries.
+     * @return The entry count.
+     */
+    public int size() {
+        return size;
+    }
+
+    private void expire(List<Entry<T>> bucket, long target) {
+        List<T> expired = null;
+        for (int i = bucket.size() - 1; i >= 0; i--) {
+            Entry<T> entry = bucket.get(i);
+            if (entry.tick > target) {
+                continue;
+            }
+
+            // Swap-remove: order within a bucket does not matter
+            bucket.set(i, bucket.get(bucket.size() - 1));
+            bucket.remove(bucket.size() - 1);
+            size--;
+            if (expired == null) {
+                expired = new ArrayList<>();
+            }
+            expired.add(entry.value);
+        }
+
+        if (expired == null) {
+            return;
+        }
+        for (T value : expired) {
+            try {
+                onExpire.accept(value);
+            } catch (Exception e) {
+                Logger.severe("Error handling timeout: " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * A scheduled entry and the tick it expires on.
+     */
+    private static class Entry<T> {
+        private final T value;
+        private final long tick;
+
+        private Entry(T value, long tick) {
+            this.value = value;
+            this.tick = tick;
+        }
+    }
+}
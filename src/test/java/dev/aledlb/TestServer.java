@@ -0,0 +1,31 @@
+package dev.aledlb;
+
+import org.bukkit.Bukkit;
+import org.bukkit.Server;
+import org.bukkit.scheduler.BukkitScheduler;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Installs a mocked server so code that logs through Bukkit can run in tests.
+ */
+public final class TestServer {
+
+    private TestServer() {
+    }
+
+    /**
+     * Installs the mocked server once per JVM.
+     * @return The server.
+     */
+    public static synchronized Server install() {
+        if (Bukkit.getServer() == null) {
+            Server server = mock(Server.class);
+            when(server.getLogger()).thenReturn(java.util.logging.Logger.getLogger("Core"));
+            when(server.getScheduler()).thenReturn(mock(BukkitScheduler.class));
+            Bukkit.setServer(server);
+        }
+        return Bukkit.getServer();
+    }
+}
@@ -0,0 +1,127 @@
+package dev.aledlb.features.moderation;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class FilterEngineTest {
+    private static final String[] WORDS = {"bad", "ass", "foo", "bar", "spam", "ab", "a", "x1"};
+    private static final String[] FILLERS = {" ", " ", ".", "!", "-", "_", "7", "\n", "\u00e9"};
+
+    @Test
+    void unparenthesizedAlternationKeepsRegexMeaning() {
+        FilterEngine engine = new FilterEngine(List.of("(?i).*\\bfoo|bar\\b.*"), false);
+
+        assertEquals(0, engine.match("bar x"));
+        assertEquals(0, engine.match("x foo"));
+        assertEquals(-1, engine.match("x bar"));
+        assertEquals(-1, engine.match("foo x"));
+    }
+
+    @Test
+    void lineTerminatorsAreNotCrossedByWrappers() {
+        FilterEngine engine = new FilterEngine(List.of("(?i).*\\b(bad)\\b.*", ".*worse.*"), false);
+
+        assertEquals(0, engine.match("a bad b"));
+        assertEquals(1, engine.match("worse"));
+        assertEquals(-1, engine.match("hi\nbad"));
+        assertEquals(-1, engine.match("hi\nworse"));
+    }
+
+    @Test
+    void normalizedWordsMatchObfuscatedShortWords() {
+        FilterEngine engine = new FilterEngine(List.of("(?i).*\\b(ass)\\b.*"), true);
+
+        assertEquals(0, engine.match("a$$"));
+        assertEquals(0, engine.match("you a.s.s"));
+        assertEquals(-1, engine.match("as"));
+        assertEquals(-1, engine.match("class"));
+    }
+
+    @Test
+    void messagesAndWordsCollapseTheSameWay() {
+        assertEquals(TextNormalizer.normalizeWord("ass"), TextNormalizer.normalize("a$$").toString());
+        assertEquals(TextNormalizer.normalizeWord("ass"), TextNormalizer.normalize("a.s.s").toString());
+        assertEquals(TextNormalizer.normalizeWord("hello"), TextNormalizer.normalize("heeellooo").toString());
+    }
+
+    @Test
+    void randomRuleSetsMatchTheSequentialLoop() {
+        Random random = new Random(0x5EED);
+        for (int round = 0; round < 500; round++) {
+            List<String> patterns = new ArrayList<>();
+            int count = 1 + random.nextInt(8);
+            for (int i = 0; i < count; i++) {
+                patterns.add(randomPattern(random));
+            }
+            FilterEngine engine = new FilterEngine(patterns, false);
+            List<Pattern> compiled = new ArrayList<>();
+            for (String pattern : patterns) {
+                compiled.add(Pattern.compile(pattern));
+            }
+
+            for (int message = 0; message < 200; message++) {
+                String text = randomMessage(random);
+                assertEquals(sequentialMatch(compiled, text), engine.match(text),
+                        () -> "patterns " + patterns + " on \"" + text + "\"");
+            }
+        }
+    }
+
+    /**
+     * The behaviour FilterEngine replaces: matches() on each pattern in order.
+     */
+    private static int sequentialMatch(List<Pattern> patterns, String message) {
+        for (int i = 0; i < patterns.size(); i++) {
+            if (patterns.get(i).matcher(message).matches()) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static String randomPattern(Random random) {
+        String word = randomWord(random);
+        String other = randomWord(random);
+        switch (random.nextInt(10)) {
+            case 0:
+            case 1:
+                return "(?i).*\\b(" + word + "|" + other + ")\\b.*";
+            case 2:
+                return "(?i).*\\b(" + word + " " + other + ")\\b.*";
+            case 3:
+                return ".*\\b(" + word + ")\\b.*";
+            case 4:
+                return ".*" + word + ".*";
+            case 5:
+                return "(?i)" + word + ".*";
+            case 6:
+                return ".*" + word + "|" + other + ".*";
+            case 7:
+                return ".*([a-z])\\1.*";
+            case 8:
+                return ".*\\d{2,}.*";
+            default:
+                return "(?i).*\\b" + word + "\\b.*";
+        }
+    }
+
+    private static String randomMessage(Random random) {
+        StringBuilder message = new StringBuilder();
+        int parts = random.nextInt(6);
+        for (int i = 0; i < parts; i++) {
+            String part = random.nextBoolean() ? randomWord(random) : FILLERS[random.nextInt(FILLERS.length)];
+            message.append(random.nextInt(4) == 0 ? part.toUpperCase() : part);
+        }
+        return message.toString();
+    }
+
+    private static String randomWord(Random random) {
+        return WORDS[random.nextInt(WORDS.length)];
+    }
+}
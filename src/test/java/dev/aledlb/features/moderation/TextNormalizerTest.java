@@ -0,0 +1,69 @@
+package dev.aledlb.features.moderation;
+
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TextNormalizerTest {
+    private static final String[] MESSAGES = {
+            "hey does anyone want to trade diamonds for iron",
+            "y0u 4r3 b.a.d",
+            "ÁccÉnted ｆｕｌｌ wiiiidth",
+            "heeellooo   world!!"
+    };
+
+    @Test
+    void normalizingAllocatesNothingOnceTheBufferExists() {
+        com.sun.management.ThreadMXBean threads = threadBean();
+        int sink = normalizeAll(10_000);
+
+        long before = threads.getCurrentThreadAllocatedBytes();
+        sink += normalizeAll(100_000);
+        long allocated = threads.getCurrentThreadAllocatedBytes() - before;
+
+        // Class loading or JIT bookkeeping may allocate a few bytes; a single object per call would be 1.6 MB
+        assertTrue(allocated < 100_000, allocated + " bytes allocated by 100000 normalize calls");
+        assertTrue(sink > 0);
+    }
+
+    @Test
+    void longMessagesGrowTheBufferOnlyOnce() throws Exception {
+        // A fresh thread starts with the default buffer, whatever earlier tests normalized
+        long[] allocated = new long[2];
+        Thread thread = new Thread(() -> {
+            com.sun.management.ThreadMXBean threads = threadBean();
+            String longMessage = "b.a.d w0rd ".repeat(1_000);
+            normalizeAll(10_000);
+
+            long before = threads.getCurrentThreadAllocatedBytes();
+            TextNormalizer.normalize(longMessage);
+            long grown = threads.getCurrentThreadAllocatedBytes();
+            for (int i = 0; i < 1_000; i++) {
+                TextNormalizer.normalize(longMessage);
+            }
+            allocated[0] = grown - before;
+            allocated[1] = threads.getCurrentThreadAllocatedBytes() - grown;
+        });
+        thread.start();
+        thread.join();
+
+        assertTrue(allocated[0] >= 11_000 * 2L, "buffer should grow for the long message");
+        assertTrue(allocated[1] < 1_000, allocated[1] + " bytes allocated by 1000 calls after the buffer grew");
+    }
+
+    private static int normalizeAll(int calls) {
+        int sink = 0;
+        for (int i = 0; i < calls; i++) {
+            sink += TextNormalizer.normalize(MESSAGES[i & 3]).length();
+        }
+        return sink;
+    }
+
+    private static com.sun.management.ThreadMXBean threadBean() {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        threads.setThreadAllocatedMemoryEnabled(true);
+        return threads;
+    }
+}
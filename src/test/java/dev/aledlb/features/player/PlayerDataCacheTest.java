@@ -0,0 +1,62 @@
+package dev.aledlb.features.player;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PlayerDataCacheTest {
+    private static final UUID PLAYER = UUID.fromString("00000000-0000-0000-0000-000000000003");
+
+    @Test
+    void writtenEntriesAreEvicted() {
+        PlayerDataCache cache = new PlayerDataCache(1, 0);
+        cache.get(PLAYER, PlayerDataCacheTest::load);
+
+        assertEquals(1, cache.evict((uuid, data) -> true));
+        assertFalse(cache.contains(PLAYER));
+        assertEquals(1, cache.getEvictions());
+    }
+
+    @Test
+    void failedWritesKeepTheEntry() {
+        PlayerDataCache cache = new PlayerDataCache(1, 0);
+        PlayerData data = cache.get(PLAYER, PlayerDataCacheTest::load);
+
+        assertEquals(0, cache.evict((uuid, evicted) -> false));
+        assertSame(data, cache.getIfPresent(PLAYER));
+
+        assertThrows(IllegalStateException.class, () -> cache.evict((uuid, evicted) -> {
+            throw new IllegalStateException("disk full");
+        }));
+        assertSame(data, cache.getIfPresent(PLAYER));
+        assertEquals(0, cache.getEvictions());
+    }
+
+    @Test
+    void lookupsDuringTheWriteGetTheEvictedData() {
+        PlayerDataCache cache = new PlayerDataCache(1, 0);
+        PlayerData data = cache.get(PLAYER, PlayerDataCacheTest::load);
+        PlayerData[] seen = new PlayerData[1];
+
+        // The write runs outside the map's lock, so it can look the player up again
+        cache.evict((uuid, evicted) -> {
+            seen[0] = cache.get(uuid, key -> {
+                throw new AssertionError("reloaded from storage during the write");
+            });
+            return true;
+        });
+
+        assertSame(data, seen[0]);
+        assertTrue(cache.contains(PLAYER));
+    }
+
+    private static PlayerData load(UUID uuid) {
+        return new PlayerData(uuid, HistoryLimits.DEFAULT);
+    }
+}
@@ -0,0 +1,210 @@
+package dev.aledlb.features.player;
+
+import dev.aledlb.TestServer;
+import dev.aledlb.utilities.RingBuffer;
+import org.bukkit.Bukkit;
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.bukkit.plugin.java.JavaPlugin;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class PlayerDataConcurrencyTest {
+    private static final int THREADS = 8;
+    private static final int ITERATIONS = 20_000;
+
+    @TempDir
+    File folder;
+
+    @BeforeAll
+    static void setUpServer() {
+        TestServer.install();
+    }
+
+    @Test
+    void countersKeepEveryUpdate() throws Exception {
+        PlayerData data = new PlayerData(UUID.randomUUID(), HistoryLimits.DEFAULT);
+
+        runConcurrently(thread -> {
+            for (int i = 0; i < ITERATIONS; i++) {
+                data.incrementKills();
+                data.incrementDeaths();
+                data.addPlaytime(3);
+            }
+        });
+
+        assertEquals(THREADS * ITERATIONS, data.getKills());
+        assertEquals(THREADS * ITERATIONS, data.getDeaths());
+        assertEquals(3L * THREADS * ITERATIONS, data.getPlaytime());
+    }
+
+    @Test
+    void ringBufferKeepsEveryAppendBelowCapacity() throws Exception {
+        RingBuffer<String> buffer = new RingBuffer<>(THREADS * ITERATIONS);
+        AtomicBoolean torn = new AtomicBoolean();
+        AtomicBoolean writing = new AtomicBoolean(true);
+
+        Thread reader = new Thread(() -> {
+            while (writing.get()) {
+                checkStamps(buffer, torn);
+            }
+        });
+        reader.start();
+        try {
+            runConcurrently(thread -> {
+                for (int i = 0; i < ITERATIONS; i++) {
+                    long stamp = (long) thread * ITERATIONS + i;
+                    buffer.add(stamp, Long.toString(stamp));
+                }
+            });
+        } finally {
+            writing.set(false);
+            reader.join();
+        }
+
+        assertFalse(torn.get(), "reader saw a value that does not match its stamp");
+        assertEquals(THREADS * ITERATIONS, buffer.size());
+        Set<String> seen = new HashSet<>(buffer.toList());
+        assertEquals(THREADS * ITERATIONS, seen.size());
+        for (long stamp = 0; stamp < (long) THREADS * ITERATIONS; stamp++) {
+            assertTrue(seen.contains(Long.toString(stamp)), "missing " + stamp);
+        }
+    }
+
+    @Test
+    void ringBufferStaysConsistentWhileWrapping() throws Exception {
+        int capacity = 64;
+        RingBuffer<String> buffer = new RingBuffer<>(capacity);
+        AtomicBoolean torn = new AtomicBoolean();
+
+        runConcurrently(thread -> {
+            for (int i = 0; i < ITERATIONS; i++) {
+                long stamp = (long) thread * ITERATIONS + i;
+                buffer.add(stamp, Long.toString(stamp));
+                if (i % 16 == 0) {
+                    checkStamps(buffer, torn);
+                }
+            }
+        });
+
+        assertFalse(torn.get(), "reader saw a value that does not match its stamp");
+        assertEquals(capacity, buffer.size());
+        List<String> values = buffer.toList();
+        assertEquals(values.size(), new HashSet<>(values).size());
+        assertTrue(values.size() <= capacity);
+    }
+
+    @Test
+    void managerHandsOutOneInstancePerPlayer() throws Exception {
+        PlayerDataManager manager = createManager();
+        List<UUID> players = new ArrayList<>();
+        for (int i = 0; i < 32; i++) {
+            players.add(UUID.randomUUID());
+        }
+
+        try {
+            runConcurrently(thread -> {
+                for (int i = 0; i < ITERATIONS; i++) {
+                    UUID uuid = players.get((i + thread) % players.size());
+                    PlayerData data = manager.getPlayerData(uuid);
+                    data.incrementKills();
+                    manager.markDirty(data);
+                }
+            });
+
+            assertEquals(players.size(), manager.getCache().size());
+            int total = 0;
+            for (UUID uuid : players) {
+                PlayerData data = manager.getCachedPlayerData(uuid);
+                assertSame(data, manager.getPlayerData(uuid));
+                total += data.getKills();
+            }
+            assertEquals(THREADS * ITERATIONS, total);
+            assertEquals(players.size(), manager.getFlusher().getQueueDepth());
+        } finally {
+            manager.shutdown();
+        }
+
+        PlayerDataManager reloaded = createManager();
+        try {
+            int total = 0;
+            for (UUID uuid : players) {
+                total += reloaded.loadPlayerData(uuid).getKills();
+            }
+            assertEquals(THREADS * ITERATIONS, total);
+        } finally {
+            reloaded.shutdown();
+        }
+    }
+
+    /**
+     * Walks the buffer and flags any value whose stamp does not match it.
+     */
+    private static void checkStamps(RingBuffer<String> buffer, AtomicBoolean torn) {
+        buffer.forEachStamped((stamp, value) -> {
+            if (value == null || !value.equals(Long.toString(stamp))) {
+                torn.set(true);
+            }
+        });
+    }
+
+    /**
+     * Runs the task on every worker thread at once and rethrows the first failure.
+     */
+    private static void runConcurrently(Worker worker) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Void>> futures = new ArrayList<>();
+        try {
+            for (int t = 0; t < THREADS; t++) {
+                int thread = t;
+                Callable<Void> task = () -> {
+                    start.await();
+                    worker.run(thread);
+                    return null;
+                };
+                futures.add(executor.submit(task));
+            }
+            start.countDown();
+            for (Future<Void> future : futures) {
+                future.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private PlayerDataManager createManager() {
+        JavaPlugin plugin = mock(JavaPlugin.class);
+        when(plugin.getDataFolder()).thenReturn(folder);
+        when(plugin.getConfig()).thenReturn(new YamlConfiguration());
+        when(plugin.getServer()).thenReturn(Bukkit.getServer());
+        return new PlayerDataManager(plugin);
+    }
+
+    @FunctionalInterface
+    private interface Worker {
+        void run(int thread) throws Exception;
+    }
+}
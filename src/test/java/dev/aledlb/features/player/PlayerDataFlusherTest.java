@@ -0,0 +1,100 @@
+package dev.aledlb.features.player;
+
+import dev.aledlb.TestServer;
+import dev.aledlb.features.player.storage.PlayerDataStore;
+import dev.aledlb.features.player.storage.PlayerDataStoreException;
+import dev.aledlb.features.player.storage.YamlPlayerDataStore;
+import org.bukkit.plugin.java.JavaPlugin;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.Collection;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+class PlayerDataFlusherTest {
+    private static final UUID PLAYER = UUID.fromString("00000000-0000-0000-0000-000000000002");
+
+    @TempDir
+    File folder;
+
+    @BeforeAll
+    static void setUpServer() {
+        TestServer.install();
+    }
+
+    @Test
+    void failingStoreThrows() throws Exception {
+        PlayerDataStore store = failingStore();
+        assertThrows(PlayerDataStoreException.class, () -> store.save(newData()));
+    }
+
+    @Test
+    void failedBatchIsQueuedAgain() throws Exception {
+        PlayerDataStore[] store = {failingStore()};
+        PlayerDataFlusher flusher = new PlayerDataFlusher(mock(JavaPlugin.class), managerSavingTo(store));
+        PlayerData data = newData();
+
+        flusher.markDirty(data);
+        flusher.flush();
+        assertEquals(1, flusher.getQueueDepth());
+        assertEquals(0, flusher.getWriteCount());
+
+        store[0] = new YamlPlayerDataStore(new File(folder, "working"), HistoryLimits.DEFAULT);
+        flusher.flush();
+        assertEquals(0, flusher.getQueueDepth());
+        assertEquals(1, flusher.getWriteCount());
+        assertTrue(new File(folder, "working/" + PLAYER + ".yml").exists());
+    }
+
+    @Test
+    void failedSingleWriteIsQueuedAgain() throws Exception {
+        PlayerDataStore[] store = {failingStore()};
+        PlayerDataFlusher flusher = new PlayerDataFlusher(mock(JavaPlugin.class), managerSavingTo(store));
+        PlayerData data = newData();
+
+        flusher.markDirty(data);
+        assertFalse(flusher.flush(PLAYER, data));
+        assertEquals(1, flusher.getQueueDepth());
+    }
+
+    /**
+     * Creates a YAML store whose folder is a regular file, so every write fails.
+     */
+    private PlayerDataStore failingStore() throws Exception {
+        File blocker = new File(folder, "blocker");
+        if (!blocker.exists()) {
+            Files.createFile(blocker.toPath());
+        }
+        return new YamlPlayerDataStore(blocker, HistoryLimits.DEFAULT);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static PlayerDataManager managerSavingTo(PlayerDataStore[] store) {
+        PlayerDataManager manager = mock(PlayerDataManager.class);
+        doAnswer(invocation -> {
+            store[0].saveAll((Collection<PlayerData>) invocation.getArgument(0));
+            return null;
+        }).when(manager).savePlayerData(anyCollection());
+        doAnswer(invocation -> {
+            store[0].save(invocation.getArgument(0));
+            return null;
+        }).when(manager).savePlayerData(any(PlayerData.class));
+        return manager;
+    }
+
+    private static PlayerData newData() {
+        return new PlayerData(PLAYER, HistoryLimits.DEFAULT);
+    }
+}
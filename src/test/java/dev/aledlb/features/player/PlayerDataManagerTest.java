@@ -0,0 +1,68 @@
+package dev.aledlb.features.player;
+
+import dev.aledlb.TestServer;
+import org.bukkit.Bukkit;
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.bukkit.plugin.java.JavaPlugin;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class PlayerDataManagerTest {
+    private static final UUID PLAYER = UUID.fromString("00000000-0000-0000-0000-000000000001");
+
+    @TempDir
+    File folder;
+
+    @BeforeAll
+    static void setUpServer() {
+        TestServer.install();
+    }
+
+    @Test
+    void preloadKeepsLegacyChatHistoryAcrossSave() throws Exception {
+        File playerFolder = new File(folder, "playerdata");
+        playerFolder.mkdirs();
+        YamlConfiguration legacy = new YamlConfiguration();
+        legacy.set("chatHistory", Arrays.asList("1000|hello", "2000|world"));
+        legacy.save(new File(playerFolder, PLAYER + ".yml"));
+
+        PlayerDataManager manager = createManager();
+        assertTrue(manager.preloadPlayerData(PLAYER));
+        PlayerData data = manager.claimPreloadedData(PLAYER);
+        assertEquals(Arrays.asList("hello", "world"), messages(data));
+
+        manager.markDirty(data);
+        manager.releasePlayerData(PLAYER);
+        manager.shutdown();
+
+        PlayerDataManager reloaded = createManager();
+        assertEquals(Arrays.asList("hello", "world"), messages(reloaded.loadPlayerData(PLAYER)));
+        reloaded.shutdown();
+    }
+
+    private PlayerDataManager createManager() {
+        JavaPlugin plugin = mock(JavaPlugin.class);
+        when(plugin.getDataFolder()).thenReturn(folder);
+        when(plugin.getConfig()).thenReturn(new YamlConfiguration());
+        when(plugin.getServer()).thenReturn(Bukkit.getServer());
+        return new PlayerDataManager(plugin);
+    }
+
+    private static List<String> messages(PlayerData data) {
+        List<String> messages = new ArrayList<>();
+        data.getChatHistory().forEachStamped((timestamp, message) -> messages.add(message));
+        return messages;
+    }
+}
@@ -0,0 +1,73 @@
+package dev.aledlb.features.player.storage;
+
+import dev.aledlb.TestServer;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ChatLogStoreTest {
+    private static final UUID PLAYER = UUID.fromString("00000000-0000-0000-0000-000000000004");
+
+    @TempDir
+    File folder;
+
+    @BeforeAll
+    static void setUpServer() {
+        TestServer.install();
+    }
+
+    @Test
+    void appendsAreReadBackInOrder() throws Exception {
+        ChatLogStore store = new ChatLogStore(folder, 1024 * 1024);
+        for (int i = 0; i < 100; i++) {
+            store.append(PLAYER, i, "message " + i);
+        }
+
+        ChatLogStore.Slice slice = store.readSince(PLAYER, 0, 1000).get();
+        assertEquals(100, slice.size());
+        for (int i = 0; i < 100; i++) {
+            assertEquals(i, slice.getTimestamp(i));
+            assertEquals("message " + i, slice.getMessage(i));
+        }
+        store.shutdown();
+    }
+
+    @Test
+    void appendsContinueAfterCloseAndCompaction() throws Exception {
+        ChatLogStore store = new ChatLogStore(folder, 4096);
+        for (int i = 0; i < 500; i++) {
+            store.append(PLAYER, i, "message " + i);
+            if (i == 250) {
+                store.close(PLAYER);
+            }
+        }
+
+        ChatLogStore.Slice slice = store.readSince(PLAYER, 0, 1000).get();
+        assertTrue(slice.size() > 0);
+        assertEquals(499, slice.getTimestamp(slice.size() - 1));
+        assertEquals("message 499", slice.getMessage(slice.size() - 1));
+        assertTrue(new File(folder, PLAYER + ".log").length() <= 4096);
+        store.shutdown();
+    }
+
+    @Test
+    void longMessagesAreCutOnACharacterBoundary() throws Exception {
+        ChatLogStore store = new ChatLogStore(folder, 1024 * 1024);
+        // 3-byte characters after two ASCII bytes, so the 64 KiB limit falls inside a character
+        String message = "ab" + "\u20ac".repeat(30_000);
+        store.append(PLAYER, 1, message);
+
+        String stored = store.readSince(PLAYER, 0, 10).get().getMessage(0);
+        assertFalse(stored.contains("\ufffd"));
+        assertTrue(message.startsWith(stored));
+        assertEquals(2 + (64 * 1024 - 2) / 3, stored.length());
+        store.shutdown();
+    }
+}